@@ -0,0 +1,506 @@
+package flag;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates RawFlag.java (the flag codecs) from a declarative list of flag layouts (see codegen/flags.spec).
+ *
+ * Every shift, mask, and width in the output is a literal constant, and op-codes are dispatched with a
+ * switch; nothing is computed (or allocated) by the generated class's static initializer except
+ * the RobotType.values() array.
+ *
+ * Usage: FlagCodecGenerator <spec file> <output RawFlag.java>
+ */
+public class FlagCodecGenerator {
+
+	// Battlecode-imposed limit per flag
+	private static final int MAX_NUM_BITS = 24;
+	private static final String TYPES_PACKAGE = "player.util.battlecode.flag.types";
+
+	private enum FieldType { INT, BOOLEAN, ROBOT_TYPE, MAP_LOCATION, MAP_OFFSET }
+
+	private static class Field {
+		final String name;
+		final FieldType type;
+		final int numBits;
+		int shift;
+
+		Field(final String name, final FieldType type, final int numBits) {
+			this.name = name;
+			this.type = type;
+			this.numBits = numBits;
+			this.shift = 0;
+		}
+
+		/**
+		 * Returns the name in UPPER_SNAKE_CASE (e.g. "mapLoc" --> "MAP_LOC").
+		 */
+		String constantName() {
+			return this.name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+		}
+
+		String capitalizedName() {
+			return Character.toUpperCase(this.name.charAt(0)) + this.name.substring(1);
+		}
+
+		String getterName() {
+			return ((this.type == FieldType.BOOLEAN) ? "is" : "get") + this.capitalizedName();
+		}
+
+		boolean isPerDim() {
+			return (this.type == FieldType.MAP_LOCATION) || (this.type == FieldType.MAP_OFFSET);
+		}
+
+		String javaType() {
+			switch (this.type) {
+				case INT: return "int";
+				case BOOLEAN: return "boolean";
+				case ROBOT_TYPE: return "RobotType";
+				case MAP_LOCATION: return "MapLocation";
+				case MAP_OFFSET: return "MapLocation";
+				default: throw new IllegalArgumentException("unrecognized FieldType: " + this.type);
+			}
+		}
+	}
+
+	private static class Layout {
+		final String opCode;
+		final String name;
+		final List<Field> fields;
+		final int opCodeValue;
+		int numBits;
+
+		Layout(final String opCode, final String name, final List<Field> fields, final int opCodeValue) {
+			this.opCode = opCode;
+			this.name = name;
+			this.fields = fields;
+			this.opCodeValue = opCodeValue;
+			this.numBits = 0;
+		}
+
+		String flagClassName() {
+			return this.name + "Flag";
+		}
+	}
+
+	/**
+	 * Returns the number of bits needed to represent `numValues` values.
+	 */
+	private static int log2Ceil(final int numValues) {
+		int numBits = 0;
+		while ((1 << numBits) < numValues) {
+			numBits++;
+		}
+		return numBits;
+	}
+
+	/**
+	 * Returns a noun prefixed with "a" or "an".
+	 */
+	private static String article(final String noun) {
+		return ("AEIOU".indexOf(noun.charAt(0)) >= 0 ? "an " : "a ") + noun;
+	}
+
+	private static String hexMask(final int numBits) {
+		return "0x" + Integer.toHexString((1 << numBits) - 1);
+	}
+
+	/**
+	 * Parses the spec; assigns op-codes, shifts, and widths.
+	 */
+	static List<Layout> parseSpec(final List<String> lines) {
+		final List<Layout> layouts = new ArrayList<>();
+		for (final String rawLine : lines) {
+			final String line = rawLine.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			final String[] tokens = line.split("\\s+");
+			if (tokens.length < 2) {
+				throw new IllegalArgumentException("expected <FlagOpCode> <layout> [fields...]: " + line);
+			}
+			final List<Field> fields = new ArrayList<>();
+			for (int i = 2; i < tokens.length; ++i) {
+				final String[] parts = tokens[i].split(":");
+				if (parts.length != 3) {
+					throw new IllegalArgumentException("expected <field>:<type>:<bits>: " + tokens[i]);
+				}
+				final FieldType type;
+				switch (parts[1]) {
+					case "int": type = FieldType.INT; break;
+					case "boolean": type = FieldType.BOOLEAN; break;
+					case "RobotType": type = FieldType.ROBOT_TYPE; break;
+					case "MapLocation": type = FieldType.MAP_LOCATION; break;
+					case "MapOffset": type = FieldType.MAP_OFFSET; break;
+					default: throw new IllegalArgumentException("unrecognized field type: " + parts[1]);
+				}
+				final int numBits = Integer.parseInt(parts[2]);
+				if ((numBits <= 0) || (((type == FieldType.MAP_LOCATION) || (type == FieldType.MAP_OFFSET)) && ((numBits % 2) != 0))
+						|| ((type == FieldType.BOOLEAN) && (numBits != 1))) {
+					throw new IllegalArgumentException("illegal width: " + tokens[i]);
+				}
+				fields.add(new Field(parts[0], type, numBits));
+			}
+			layouts.add(new Layout(tokens[0], tokens[1], fields, layouts.size()));
+		}
+
+		final int numOpCodeBits = FlagCodecGenerator.log2Ceil(layouts.size());
+		for (final Layout layout : layouts) {
+			int shift = numOpCodeBits;
+			for (final Field field : layout.fields) {
+				field.shift = shift;
+				shift += field.numBits;
+			}
+			if (shift > FlagCodecGenerator.MAX_NUM_BITS) {
+				throw new IllegalArgumentException(layout.name + " needs " + shift + " bits; the limit is " + FlagCodecGenerator.MAX_NUM_BITS);
+			}
+			layout.numBits = shift;
+		}
+		return layouts;
+	}
+
+	private static void line(final StringBuilder out, final int indent, final String text) {
+		for (int i = 0; i < indent; ++i) {
+			out.append('\t');
+		}
+		out.append(text).append('\n');
+	}
+
+	private static String layoutDiagram(final int numOpCodeBits, final Layout layout) {
+		final StringBuilder diagram = new StringBuilder("[op-code:" + numOpCodeBits + "]");
+		for (final Field field : layout.fields) {
+			diagram.append("[").append(field.name).append(":").append(field.numBits).append("]");
+		}
+		return diagram.toString();
+	}
+
+	private static void generateLayout(final StringBuilder out, final int numOpCodeBits, final Layout layout) {
+		final String cls = layout.name;
+		line(out, 1, "/**");
+		line(out, 1, " * Layout of an encoded " + layout.flagClassName() + ": " + layoutDiagram(numOpCodeBits, layout));
+		line(out, 1, " */");
+		line(out, 1, "public static class " + cls + " {");
+		line(out, 2, "public static final int OP_CODE = " + layout.opCodeValue + ";");
+		line(out, 2, "public static final int NUM_BITS = " + layout.numBits + ";");
+		for (final Field field : layout.fields) {
+			final int maskBits = field.isPerDim() ? field.numBits / 2 : field.numBits;
+			line(out, 2, "public static final int " + field.constantName() + "_SHIFT = " + field.shift + ";");
+			line(out, 2, "public static final int " + field.constantName() + (field.isPerDim() ? "_DIM_MASK = " : "_MASK = ")
+					+ hexMask(maskBits) + ";");
+			if (field.type == FieldType.MAP_OFFSET) {
+				// two's complement
+				line(out, 2, "public static final int " + field.constantName() + "_MIN_OFFSET = " + -(1 << (maskBits - 1)) + ";");
+				line(out, 2, "public static final int " + field.constantName() + "_MAX_OFFSET = " + ((1 << (maskBits - 1)) - 1) + ";");
+			}
+		}
+		final boolean hasOffset = layout.fields.stream().anyMatch(field -> field.type == FieldType.MAP_OFFSET);
+
+		// encode()
+		final List<String> params = new ArrayList<>();
+		for (final Field field : layout.fields) {
+			params.add("final " + field.javaType() + " " + field.name);
+		}
+		if (hasOffset) {
+			params.add("final MapLocation originMapLoc");
+		}
+		out.append('\n');
+		line(out, 2, "/**");
+		line(out, 2, " * Returns the raw flag that encodes " + article(layout.flagClassName()) + ".");
+		if (!layout.fields.isEmpty()) {
+			line(out, 2, " *");
+		}
+		for (final Field field : layout.fields) {
+			if (field.type == FieldType.INT) {
+				line(out, 2, " * @param " + field.name + " must lie on [0, 2**" + field.numBits + ").");
+			} else if (field.type == FieldType.MAP_LOCATION) {
+				line(out, 2, " * @param " + field.name + " must be valid (i.e. lie on the map).");
+			} else if (field.type == FieldType.MAP_OFFSET) {
+				line(out, 2, " * @param " + field.name + " must lie in range of originMapLoc (see is" + field.capitalizedName() + "InRange()).");
+			}
+		}
+		if (hasOffset) {
+			line(out, 2, " * @param originMapLoc the location from which offsets are measured (e.g. the sender's location");
+			line(out, 2, " *     at the end of its turn, as readers will sense it).");
+		}
+		line(out, 2, " */");
+		line(out, 2, "public static int encode(" + String.join(", ", params) + ") {");
+		for (final Field field : layout.fields) {
+			if (field.type == FieldType.INT) {
+				line(out, 3, "assert (" + field.name + " >= 0) && (" + field.name + " <= " + cls + "." + field.constantName() + "_MASK) : \""
+						+ field.name + ": \" + " + field.name + ";");
+			} else if (field.type == FieldType.MAP_OFFSET) {
+				line(out, 3, "assert " + cls + ".is" + field.capitalizedName() + "InRange(" + field.name + ", originMapLoc) : \""
+						+ field.name + ": \" + " + field.name + " + \", originMapLoc: \" + originMapLoc;");
+			}
+		}
+		if (layout.fields.isEmpty()) {
+			line(out, 3, "return " + cls + ".OP_CODE;");
+		} else {
+			line(out, 3, "return " + cls + ".OP_CODE");
+			for (int i = 0; i < layout.fields.size(); ++i) {
+				final Field field = layout.fields.get(i);
+				final String shift = cls + "." + field.constantName() + "_SHIFT";
+				final String value;
+				switch (field.type) {
+					case INT: value = field.name; break;
+					case BOOLEAN: value = "(" + field.name + " ? 1 : 0)"; break;
+					case ROBOT_TYPE: value = field.name + ".ordinal()"; break;
+					case MAP_LOCATION: value = "RawFlag.encodeMapLoc(" + field.name + ", " + cls + "." + field.constantName() + "_DIM_MASK, "
+							+ (field.numBits / 2) + ")"; break;
+					case MAP_OFFSET: value = "RawFlag.encodeMapOffset(" + field.name + ", originMapLoc, " + cls + "." + field.constantName()
+							+ "_DIM_MASK, " + (field.numBits / 2) + ")"; break;
+					default: throw new IllegalArgumentException("unrecognized FieldType: " + field.type);
+				}
+				line(out, 5, "| (" + value + " << " + shift + ")" + ((i == (layout.fields.size() - 1)) ? ";" : ""));
+			}
+		}
+		line(out, 2, "}");
+
+		// range checks
+		for (final Field field : layout.fields) {
+			if (field.type == FieldType.MAP_OFFSET) {
+				out.append('\n');
+				line(out, 2, "/**");
+				line(out, 2, " * Returns true iff `" + field.name + "` lies within [" + field.constantName() + "_MIN_OFFSET, "
+						+ field.constantName() + "_MAX_OFFSET] of originMapLoc in both dimensions.");
+				line(out, 2, " */");
+				line(out, 2, "public static boolean is" + field.capitalizedName() + "InRange(final MapLocation " + field.name
+						+ ", final MapLocation originMapLoc) {");
+				line(out, 3, "return RawFlag.isOffsetInRange(" + field.name + ", originMapLoc, " + cls + "." + field.constantName()
+						+ "_MIN_OFFSET, " + cls + "." + field.constantName() + "_MAX_OFFSET);");
+				line(out, 2, "}");
+			}
+		}
+
+		// getters
+		for (final Field field : layout.fields) {
+			final String shift = cls + "." + field.constantName() + "_SHIFT";
+			out.append('\n');
+			line(out, 2, "/**");
+			line(out, 2, " * @param rawFlag must encode " + article(layout.flagClassName()) + ".");
+			if (field.type == FieldType.MAP_LOCATION) {
+				line(out, 2, " * @param referenceMapLoc *any* valid (i.e. on the map) MapLocation.");
+			} else if (field.type == FieldType.MAP_OFFSET) {
+				line(out, 2, " * @param originMapLoc the location the offset was encoded against (e.g. the sender's sensed location).");
+			}
+			line(out, 2, " */");
+			final String assertion = "assert (rawFlag & RawFlag.OP_CODE_MASK) == " + cls + ".OP_CODE : \"rawFlag: \" + rawFlag;";
+			switch (field.type) {
+				case INT:
+					line(out, 2, "public static int " + field.getterName() + "(final int rawFlag) {");
+					line(out, 3, assertion);
+					line(out, 3, "return (rawFlag >>> " + shift + ") & " + cls + "." + field.constantName() + "_MASK;");
+					break;
+				case BOOLEAN:
+					line(out, 2, "public static boolean " + field.getterName() + "(final int rawFlag) {");
+					line(out, 3, assertion);
+					line(out, 3, "return ((rawFlag >>> " + shift + ") & " + cls + "." + field.constantName() + "_MASK) != 0;");
+					break;
+				case ROBOT_TYPE:
+					line(out, 2, "public static RobotType " + field.getterName() + "(final int rawFlag) {");
+					line(out, 3, assertion);
+					line(out, 3, "return RawFlag.ROBOT_TYPE_ARRAY[(rawFlag >>> " + shift + ") & " + cls + "." + field.constantName() + "_MASK];");
+					break;
+				case MAP_LOCATION:
+					line(out, 2, "public static MapLocation " + field.getterName() + "(final int rawFlag, final MapLocation referenceMapLoc) {");
+					line(out, 3, assertion);
+					line(out, 3, "return RawFlag.decodeMapLoc(rawFlag >>> " + shift + ", " + cls + "." + field.constantName() + "_DIM_MASK, "
+							+ (field.numBits / 2) + ", referenceMapLoc);");
+					break;
+				case MAP_OFFSET:
+					line(out, 2, "public static MapLocation " + field.getterName() + "(final int rawFlag, final MapLocation originMapLoc) {");
+					line(out, 3, assertion);
+					line(out, 3, "return RawFlag.decodeMapOffset(rawFlag >>> " + shift + ", " + (field.numBits / 2) + ", originMapLoc);");
+					break;
+				default:
+					throw new IllegalArgumentException("unrecognized FieldType: " + field.type);
+			}
+			line(out, 2, "}");
+		}
+		line(out, 1, "}");
+	}
+
+	/**
+	 * Returns the source of RawFlag.java.
+	 */
+	static String generate(final List<Layout> layouts) {
+		final int numOpCodeBits = FlagCodecGenerator.log2Ceil(layouts.size());
+		final StringBuilder out = new StringBuilder();
+		line(out, 0, "// GENERATED by codegen/flag/FlagCodecGenerator.java from codegen/flags.spec; DO NOT EDIT.");
+		line(out, 0, "// Regenerate with `./gradlew generateFlagCodecs`.");
+		line(out, 0, "package player.util.battlecode.flag;");
+		out.append('\n');
+		line(out, 0, "import battlecode.common.MapLocation;");
+		line(out, 0, "import battlecode.common.RobotType;");
+		for (final Layout layout : layouts) {
+			line(out, 0, "import " + FlagCodecGenerator.TYPES_PACKAGE + "." + layout.flagClassName() + ";");
+		}
+		line(out, 0, "import player.util.battlecode.flag.util.UtilFlag.FlagOpCode;");
+		line(out, 0, "import player.util.math.UtilMath;");
+		out.append('\n');
+		line(out, 0, "/**");
+		line(out, 0, " * Reads/writes the fields of encoded (i.e. \"raw\") flags directly, without allocating IFlag instances.");
+		line(out, 0, " *");
+		line(out, 0, " * Each flag type has a fixed layout of shifts/masks; fields are packed from the least-significant bit,");
+		line(out, 0, " * beginning with the op-code:");
+		line(out, 0, " *");
+		for (final Layout layout : layouts) {
+			line(out, 0, " *     " + layout.name + ": " + layoutDiagram(numOpCodeBits, layout));
+		}
+		line(out, 0, " */");
+		line(out, 0, "public class RawFlag {");
+		out.append('\n');
+		line(out, 1, "public static final int NUM_OP_CODE_BITS = " + numOpCodeBits + ";");
+		line(out, 1, "public static final int OP_CODE_MASK = " + hexMask(numOpCodeBits) + ";");
+		out.append('\n');
+		line(out, 1, "private static final FlagOpCode[] FLAG_OP_CODE_ARRAY = FlagOpCode.values();");
+		line(out, 1, "private static final RobotType[] ROBOT_TYPE_ARRAY = RobotType.values();");
+		out.append('\n');
+		line(out, 1, "static {");
+		line(out, 2, "// op-codes must match FlagOpCode ordinals");
+		for (final Layout layout : layouts) {
+			line(out, 2, "assert FlagOpCode." + layout.opCode + ".ordinal() == " + layout.name + ".OP_CODE : \"" + layout.opCode + "\";");
+		}
+		line(out, 2, "assert RawFlag.FLAG_OP_CODE_ARRAY.length == " + layouts.size() + " : \"FlagOpCode count\";");
+		line(out, 1, "}");
+		out.append('\n');
+		line(out, 1, "/**");
+		line(out, 1, " * Returns the bits of the FlagOpCode of a raw flag.");
+		line(out, 1, " */");
+		line(out, 1, "public static int getOpCodeBits(final int rawFlag) {");
+		line(out, 2, "return rawFlag & RawFlag.OP_CODE_MASK;");
+		line(out, 1, "}");
+		out.append('\n');
+		line(out, 1, "/**");
+		line(out, 1, " * Returns the FlagOpCode of a raw flag.");
+		line(out, 1, " *");
+		line(out, 1, " * @param rawFlag must lie on [0, 2**Flag.MAX_NUM_BITS)");
+		line(out, 1, " */");
+		line(out, 1, "public static FlagOpCode getOpCode(final int rawFlag) {");
+		line(out, 2, "return RawFlag.FLAG_OP_CODE_ARRAY[rawFlag & RawFlag.OP_CODE_MASK];");
+		line(out, 1, "}");
+		out.append('\n');
+		line(out, 1, "/**");
+		line(out, 1, " * Decodes a raw flag into an IFlag instance.");
+		line(out, 1, " *");
+		line(out, 1, " * @param rawFlag must lie on [0, 2**Flag.MAX_NUM_BITS)");
+		line(out, 1, " */");
+		line(out, 1, "public static Flag.IFlag decode(final int rawFlag) {");
+		line(out, 2, "switch (rawFlag & RawFlag.OP_CODE_MASK) {");
+		for (final Layout layout : layouts) {
+			line(out, 3, "case " + layout.name + ".OP_CODE: return " + layout.flagClassName() + ".fromRawFlag(rawFlag);");
+		}
+		line(out, 3, "default: throw new IllegalArgumentException(\"unrecognized op-code: \" + (rawFlag & RawFlag.OP_CODE_MASK));");
+		line(out, 2, "}");
+		line(out, 1, "}");
+		out.append('\n');
+		line(out, 1, "/**");
+		line(out, 1, " * Returns true iff a raw flag has a field located relative to its sender (i.e. a MapOffset);");
+		line(out, 1, " * it then decodes correctly only while the sender stays where it posted the flag.");
+		line(out, 1, " *");
+		line(out, 1, " * @param rawFlag must lie on [0, 2**Flag.MAX_NUM_BITS)");
+		line(out, 1, " */");
+		line(out, 1, "public static boolean isSenderRelative(final int rawFlag) {");
+		final List<Layout> relativeLayouts = new ArrayList<>();
+		for (final Layout layout : layouts) {
+			if (layout.fields.stream().anyMatch(field -> field.type == FieldType.MAP_OFFSET)) {
+				relativeLayouts.add(layout);
+			}
+		}
+		if (relativeLayouts.isEmpty()) {
+			line(out, 2, "return false;");
+		} else {
+			line(out, 2, "switch (rawFlag & RawFlag.OP_CODE_MASK) {");
+			for (final Layout layout : relativeLayouts) {
+				line(out, 3, "case " + layout.name + ".OP_CODE:");
+			}
+			line(out, 4, "return true;");
+			line(out, 3, "default:");
+			line(out, 4, "return false;");
+			line(out, 2, "}");
+		}
+		line(out, 1, "}");
+		if (FlagCodecGenerator.usesType(layouts, FieldType.MAP_LOCATION)) {
+			FlagCodecGenerator.generateMapLocHelpers(out);
+		}
+		if (FlagCodecGenerator.usesType(layouts, FieldType.MAP_OFFSET)) {
+			FlagCodecGenerator.generateMapOffsetHelpers(out);
+		}
+		for (final Layout layout : layouts) {
+			out.append('\n');
+			FlagCodecGenerator.generateLayout(out, numOpCodeBits, layout);
+		}
+		line(out, 0, "}");
+		return out.toString();
+	}
+
+	private static boolean usesType(final List<Layout> layouts, final FieldType type) {
+		return layouts.stream().anyMatch(layout -> layout.fields.stream().anyMatch(field -> field.type == type));
+	}
+
+	private static void generateMapLocHelpers(final StringBuilder out) {
+		out.append('\n');
+		line(out, 1, "/**");
+		line(out, 1, " * Returns the final `numDimBits` bits of each MapLocation dimension (x, then y).");
+		line(out, 1, " */");
+		line(out, 1, "private static int encodeMapLoc(final MapLocation mapLoc, final int dimMask, final int numDimBits) {");
+		line(out, 2, "return (mapLoc.x & dimMask) | ((mapLoc.y & dimMask) << numDimBits);");
+		line(out, 1, "}");
+		out.append('\n');
+		line(out, 1, "/**");
+		line(out, 1, " * Returns the MapLocation nearest to referenceMapLoc whose dimensions end in the (x, then y) bits");
+		line(out, 1, " * at the bottom of `bits`.");
+		line(out, 1, " */");
+		line(out, 1, "private static MapLocation decodeMapLoc(final int bits, final int dimMask, final int numDimBits,");
+		line(out, 3, "final MapLocation referenceMapLoc) {");
+		line(out, 2, "final int xDiff = UtilMath.diffMod(bits & dimMask, referenceMapLoc.x & dimMask, dimMask + 1);");
+		line(out, 2, "final int yDiff = UtilMath.diffMod((bits >>> numDimBits) & dimMask, referenceMapLoc.y & dimMask, dimMask + 1);");
+		line(out, 2, "return new MapLocation(referenceMapLoc.x + xDiff, referenceMapLoc.y + yDiff);");
+		line(out, 1, "}");
+	}
+
+	private static void generateMapOffsetHelpers(final StringBuilder out) {
+		out.append('\n');
+		line(out, 1, "private static boolean isOffsetInRange(final MapLocation mapLoc, final MapLocation originMapLoc,");
+		line(out, 3, "final int minOffset, final int maxOffset) {");
+		line(out, 2, "final int dx = mapLoc.x - originMapLoc.x;");
+		line(out, 2, "final int dy = mapLoc.y - originMapLoc.y;");
+		line(out, 2, "return (dx >= minOffset) && (dx <= maxOffset) && (dy >= minOffset) && (dy <= maxOffset);");
+		line(out, 1, "}");
+		out.append('\n');
+		line(out, 1, "/**");
+		line(out, 1, " * Returns the (two's complement) offset from originMapLoc to mapLoc in each dimension (x, then y).");
+		line(out, 1, " */");
+		line(out, 1, "private static int encodeMapOffset(final MapLocation mapLoc, final MapLocation originMapLoc, final int dimMask,");
+		line(out, 3, "final int numDimBits) {");
+		line(out, 2, "return ((mapLoc.x - originMapLoc.x) & dimMask) | (((mapLoc.y - originMapLoc.y) & dimMask) << numDimBits);");
+		line(out, 1, "}");
+		out.append('\n');
+		line(out, 1, "/**");
+		line(out, 1, " * Returns originMapLoc plus the (x, then y) offsets at the bottom of `bits`.");
+		line(out, 1, " */");
+		line(out, 1, "private static MapLocation decodeMapOffset(final int bits, final int numDimBits, final MapLocation originMapLoc) {");
+		line(out, 2, "// shift each offset's sign bit into bit 31, then sign-extend it back down");
+		line(out, 2, "final int signShift = 32 - numDimBits;");
+		line(out, 2, "final int dx = (bits << signShift) >> signShift;");
+		line(out, 2, "final int dy = ((bits >>> numDimBits) << signShift) >> signShift;");
+		line(out, 2, "return new MapLocation(originMapLoc.x + dx, originMapLoc.y + dy);");
+		line(out, 1, "}");
+	}
+
+	public static void main(final String[] args) throws IOException {
+		if (args.length != 2) {
+			throw new IllegalArgumentException("usage: FlagCodecGenerator <spec file> <output RawFlag.java>");
+		}
+		final List<Layout> layouts = FlagCodecGenerator.parseSpec(Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8));
+		final Path outPath = Paths.get(args[1]);
+		Files.write(outPath, FlagCodecGenerator.generate(layouts).getBytes(StandardCharsets.UTF_8));
+		System.out.println("Generated " + outPath + " (" + layouts.size() + " flag layouts)");
+	}
+}
@@ -0,0 +1,39 @@
+# Flag layouts; the input to FlagCodecGenerator (see the `generateFlagCodecs` Gradle task).
+#
+# One flag type per line, in op-code order (the first line has op-code 0):
+#
+#     <FlagOpCode> <layout> [<field>:<type>:<bits> ...]
+#
+# The IFlag class of each layout is player.util.battlecode.flag.types.<layout>Flag.
+# Fields are packed from the least-significant bit, after the op-code.
+#
+# Field types:
+#     int          an unsigned value on [0, 2**bits).
+#     boolean      a single bit.
+#     RobotType    a RobotType, by ordinal.
+#     MapLocation  the final bits/2 bits of each dimension (x, then y).
+#     MapOffset    the signed (two's complement) offset of a MapLocation from an origin the reader already
+#                  knows (e.g. the sender's sensed location); bits/2 bits per dimension (x, then y).
+#
+# MapLocation widths: every dimension of a MapLocation lies on [origin, origin + MAX_WORLD_WIDTH), but the
+# origin is unknown. log2(MAX_WORLD_WIDTH) final bits identify a dimension only relative to the origin;
+# one additional bit lets the dimension be recovered relative to *any* on-map reference dimension (one of
+# the two candidate differences always exceeds MAX_WORLD_WIDTH). Hence 2 * (log2(64) + 1) = 14 bits.
+#
+# MapOffset widths: every sensor radius is at most sqrt(40) < 7, so a sensed robot lies within [-6, 6] of the
+# sender in each dimension, or [-7, 7] if the sender moves after sensing; 4 signed bits ([-8, 7]) suffice.
+# Hence 8 bits (vs. 14 for a MapLocation), leaving room in a flag for more fields.
+#
+# EnemiesSightedNearby carries two sightings: 3 + 2 * (2 + 8) = 23 bits. A third would need 33 bits; fitting
+# three into 24 would leave 7 bits per sighting, i.e. a 1-bit type and 3-bit offsets ([-4, 3]), which can
+# neither tell Enlightenment Centers from other types nor reach the edge of any sensor radius.
+# Note: 8 layouts fill the 3-bit op-code; another layout needs a fourth op-code bit.
+
+EMPTY           Empty
+ASSIGN_PATROL   PatrolAssignment   outboundDegrees:int:9
+TARGET_MISSING  TargetMissing      mapLoc:MapLocation:14
+ENEMY_SIGHTED   EnemySighted       robotType:RobotType:2  mapLoc:MapLocation:14
+ASSIGN_ATTACK   AttackAssignment   mapLoc:MapLocation:14
+FRAGMENT        Fragment           seqNum:int:4  last:boolean:1  payload:int:16
+ENEMY_SIGHTED_NEARBY  EnemySightedNearby  robotType:RobotType:2  mapLoc:MapOffset:8
+ENEMIES_SIGHTED_NEARBY  EnemiesSightedNearby  firstRobotType:RobotType:2  firstMapLoc:MapOffset:8  secondRobotType:RobotType:2  secondMapLoc:MapOffset:8
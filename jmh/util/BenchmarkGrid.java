@@ -0,0 +1,117 @@
+package util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import player.util.search.SearchGrid;
+
+/**
+ * Synthetic passability grids (and the start/goal tiles to search between) used by the benchmarks.
+ */
+public class BenchmarkGrid {
+
+	// fixed so every run benchmarks the exact same mazes
+	private static final long MAZE_SEED = 2021;
+
+	public enum Layout {
+		// every tile is passable.
+		OPEN,
+		// a perfect maze with one-tile-wide corridors.
+		MAZE,
+		// a wall splits the grid in half; the only gap lies at the far end of the wall.
+		WALL_GAP,
+		// the goal lies inside a pocket whose only opening faces away from the start.
+		POCKET
+	}
+
+	public final SearchGrid grid;
+	public final int startIndex;
+	public final int goalIndex;
+
+	private BenchmarkGrid(final SearchGrid grid, final int startIndex, final int goalIndex) {
+		assert grid.isPassable(startIndex) && grid.isPassable(goalIndex) : "start and goal must be passable";
+		this.grid = grid;
+		this.startIndex = startIndex;
+		this.goalIndex = goalIndex;
+	}
+
+	/**
+	 * Builds a size x size grid.
+	 *
+	 * @param size must be even and at least 4.
+	 */
+	public static BenchmarkGrid make(final Layout layout, final int size) {
+		assert (size >= 4) && ((size % 2) == 0) : "size: " + size;
+		final SearchGrid grid = new SearchGrid(size, size);
+		switch (layout) {
+			case OPEN:
+				return new BenchmarkGrid(grid, grid.pack(0, 0), grid.pack(size - 1, size - 1));
+			case MAZE:
+				BenchmarkGrid.carveMaze(grid);
+				// maze cells lie at even coordinates.
+				return new BenchmarkGrid(grid, grid.pack(0, 0), grid.pack(size - 2, size - 2));
+			case WALL_GAP: {
+				final int wallX = size / 2;
+				for (int y = 0; y < (size - 1); ++y) {
+					grid.setCost(wallX, y, SearchGrid.IMPASSABLE);
+				}
+				return new BenchmarkGrid(grid, grid.pack(0, 0), grid.pack(size - 1, 0));
+			}
+			case POCKET: {
+				// walls along the two sides of the pocket that face the start
+				final int pocketMin = size / 2;
+				final int pocketMax = size - 3;
+				for (int i = pocketMin; i <= pocketMax; ++i) {
+					grid.setCost(pocketMin, i, SearchGrid.IMPASSABLE);
+					grid.setCost(i, pocketMin, SearchGrid.IMPASSABLE);
+				}
+				final int goalCoord = (pocketMin + pocketMax) / 2;
+				return new BenchmarkGrid(grid, grid.pack(0, 0), grid.pack(goalCoord, goalCoord));
+			}
+			default: throw new IllegalArgumentException("unrecognized enum value: " + layout);
+		}
+	}
+
+	/**
+	 * Makes every tile impassable, then carves a perfect maze (randomized depth-first search) between
+	 * the tiles at even coordinates.
+	 * Note: diagonal moves only ever cut the corners of a maze cell; they never pass through a wall.
+	 */
+	private static void carveMaze(final SearchGrid grid) {
+		for (int i = 0; i < grid.numTiles; ++i) {
+			grid.setCost(i, SearchGrid.IMPASSABLE);
+		}
+		final int[] cellDx = {0, 2, 0, -2};
+		final int[] cellDy = {2, 0, -2, 0};
+		final Random random = new Random(BenchmarkGrid.MAZE_SEED);
+		final Deque<Integer> stack = new ArrayDeque<>();
+		grid.setCost(0, 0, 1.0);
+		stack.push(grid.pack(0, 0));
+		while (!stack.isEmpty()) {
+			final int cell = stack.peek();
+			final int x = grid.getX(cell);
+			final int y = grid.getY(cell);
+			// pick a random unvisited neighboring cell
+			final int firstDir = random.nextInt(cellDx.length);
+			int nextCell = -1;
+			for (int i = 0; (i < cellDx.length) && (nextCell == -1); ++i) {
+				final int dir = (firstDir + i) % cellDx.length;
+				final int nx = x + cellDx[dir];
+				final int ny = y + cellDy[dir];
+				if (grid.inBounds(nx, ny) && !grid.isPassable(grid.pack(nx, ny))) {
+					// knock down the wall between the two cells
+					grid.setCost(x + (cellDx[dir] / 2), y + (cellDy[dir] / 2), 1.0);
+					grid.setCost(nx, ny, 1.0);
+					nextCell = grid.pack(nx, ny);
+				}
+			}
+			if (nextCell == -1) {
+				// dead end; backtrack.
+				stack.pop();
+			} else {
+				stack.push(nextCell);
+			}
+		}
+	}
+}
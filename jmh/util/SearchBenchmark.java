@@ -0,0 +1,279 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToDoubleFunction;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import player.util.math.IntVec2D;
+import player.util.search.AStar;
+import player.util.search.BfsGenerator;
+import player.util.search.DStarLite;
+import player.util.search.FlowField;
+import player.util.search.GridAStar;
+import player.util.search.GridDialSearch;
+import player.util.search.GridJumpPointSearch;
+import player.util.search.HierarchicalAStar;
+import player.util.search.SearchGrid;
+
+/**
+ * Benchmarks each search over the synthetic BenchmarkGrids.
+ *
+ * Reports:
+ *     - searches per second (the primary score).
+ *     - nodes expanded per search (the "nodesPerSearch" secondary score).
+ *     - open-set heap operations per search, for the grid searches (the "heapOperationsPerSearch" secondary score).
+ *     - bytes allocated per search (gc.alloc.rate.norm; requires `-prof gc`, which `gradlew jmh` passes).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+	@Param({"32", "64"})
+	public int size;
+
+	@Param({"OPEN", "MAZE", "WALL_GAP", "POCKET"})
+	public BenchmarkGrid.Layout layout;
+
+	private BenchmarkGrid benchmarkGrid;
+	private GridAStar gridAStar;
+	private GridJumpPointSearch gridJumpPointSearch;
+	private GridDialSearch gridDialSearch;
+	private BfsGenerator bfsGenerator;
+	private HierarchicalAStar hierarchicalAStar;
+	private FlowField flowField;
+	// owns a separate copy of the grid (DStarLite changes tile costs)
+	private DStarLite dStarLite;
+	// tile along the initial path that dStarLiteRepair blocks/unblocks
+	private int toggledIndex;
+	private boolean isToggledBlocked;
+
+	// AStar arguments
+	private IntVec2D startCoord;
+	private Predicate<IntVec2D> isEndgameCheck;
+	private Function<IntVec2D, Set<IntVec2D>> expand;
+	private BiFunction<IntVec2D, IntVec2D, Double> cost;
+	private Function<IntVec2D, Double> heuristic;
+	private IntVec2D goalCoord;
+	private BiFunction<IntVec2D, IntVec2D, Double> pairHeuristic;
+	// unboxed AStar arguments
+	private ToDoubleBiFunction<IntVec2D, IntVec2D> primitiveCost;
+	private ToDoubleFunction<IntVec2D> primitiveHeuristic;
+	private final List<IntVec2D> pathOut = new ArrayList<>();
+
+	/**
+	 * Counts nodes expanded during each measurement iteration.
+	 */
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Counters {
+		public long searches;
+		public long nodesExpanded;
+		public long heapOperations;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.searches = 0;
+			this.nodesExpanded = 0;
+			this.heapOperations = 0;
+		}
+
+		public double nodesPerSearch() {
+			return (this.searches == 0) ? 0 : ((double)this.nodesExpanded / this.searches);
+		}
+
+		public double heapOperationsPerSearch() {
+			return (this.searches == 0) ? 0 : ((double)this.heapOperations / this.searches);
+		}
+	}
+
+	// counts calls to `expand` (i.e. nodes expanded by AStar)
+	private long numExpandCalls;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.benchmarkGrid = BenchmarkGrid.make(this.layout, this.size);
+		this.gridAStar = new GridAStar(this.benchmarkGrid.grid);
+		this.gridJumpPointSearch = new GridJumpPointSearch(this.benchmarkGrid.grid);
+		// every passable BenchmarkGrid tile costs 1.0
+		this.gridDialSearch = new GridDialSearch(this.benchmarkGrid.grid, 10, 1.0);
+		this.bfsGenerator = new BfsGenerator(this.benchmarkGrid.grid);
+		this.hierarchicalAStar = new HierarchicalAStar(this.benchmarkGrid.grid);
+		this.flowField = new FlowField(this.benchmarkGrid.grid);
+		this.hierarchicalAStar.rebuildDirtyClusters(Integer.MAX_VALUE);
+		this.dStarLite = new DStarLite(BenchmarkGrid.make(this.layout, this.size).grid);
+		this.dStarLite.start(this.benchmarkGrid.startIndex, this.benchmarkGrid.goalIndex);
+		this.dStarLite.replan();
+		final int[] dStarLitePath = this.dStarLite.getPath();
+		this.toggledIndex = dStarLitePath[Math.min(2, dStarLitePath.length - 1)];
+		this.isToggledBlocked = false;
+
+		final SearchGrid grid = this.benchmarkGrid.grid;
+		final int goalIndex = this.benchmarkGrid.goalIndex;
+		final IntVec2D goalCoord = new IntVec2D(grid.getX(goalIndex), grid.getY(goalIndex));
+		this.startCoord = new IntVec2D(grid.getX(this.benchmarkGrid.startIndex), grid.getY(this.benchmarkGrid.startIndex));
+		this.isEndgameCheck = coord -> goalCoord.equals(coord);
+		this.expand = new Function<IntVec2D, Set<IntVec2D>>() {
+			@Override
+			public Set<IntVec2D> apply(final IntVec2D coord) {
+				SearchBenchmark.this.numExpandCalls++;
+				final Set<IntVec2D> expandedSet = new HashSet<>();
+				for (int i = 0; i < SearchGrid.NUM_NEIGHBORS; ++i) {
+					final int x = coord.x + SearchGrid.NEIGHBOR_DX[i];
+					final int y = coord.y + SearchGrid.NEIGHBOR_DY[i];
+					if (grid.inBounds(x, y) && grid.isPassable(grid.pack(x, y))) {
+						expandedSet.add(new IntVec2D(x, y));
+					}
+				}
+				return expandedSet;
+			}
+		};
+		// same costs/heuristic as GridAStar; the results are directly comparable.
+		this.cost = (coordA, coordB) -> {
+			final int neighborNum = ((coordA.x != coordB.x) && (coordA.y != coordB.y)) ? 1 : 0;
+			return grid.stepCost(neighborNum, grid.pack(coordB.x, coordB.y));
+		};
+		this.heuristic = coord -> grid.heuristic(grid.pack(coord.x, coord.y), goalIndex);
+		this.primitiveCost = (coordA, coordB) -> {
+			final int neighborNum = ((coordA.x != coordB.x) && (coordA.y != coordB.y)) ? 1 : 0;
+			return grid.stepCost(neighborNum, grid.pack(coordB.x, coordB.y));
+		};
+		this.primitiveHeuristic = coord -> grid.heuristic(grid.pack(coord.x, coord.y), goalIndex);
+		this.goalCoord = goalCoord;
+		this.pairHeuristic = (coordA, coordB) -> grid.heuristic(grid.pack(coordA.x, coordA.y), grid.pack(coordB.x, coordB.y));
+	}
+
+	@Benchmark
+	public List<IntVec2D> aStar(final Counters counters) {
+		this.numExpandCalls = 0;
+		final List<IntVec2D> path = AStar.aStarSearch(this.startCoord, this.isEndgameCheck, this.expand, this.cost, this.heuristic);
+		counters.searches++;
+		counters.nodesExpanded += this.numExpandCalls;
+		return path;
+	}
+
+	@Benchmark
+	public List<IntVec2D> aStarPrimitive(final Counters counters) {
+		this.numExpandCalls = 0;
+		AStar.aStarSearch(this.startCoord, this.isEndgameCheck, this.expand, this.primitiveCost, this.primitiveHeuristic, this.pathOut);
+		counters.searches++;
+		counters.nodesExpanded += this.numExpandCalls;
+		return this.pathOut;
+	}
+
+	/**
+	 * Note: every BenchmarkGrid route runs (roughly) corner-to-corner; compare against aStar.
+	 */
+	@Benchmark
+	public List<IntVec2D> bidirectionalSearch(final Counters counters) {
+		this.numExpandCalls = 0;
+		final List<IntVec2D> path = AStar.bidirectionalSearch(this.startCoord, this.goalCoord, this.expand, this.cost, this.pairHeuristic);
+		counters.searches++;
+		counters.nodesExpanded += this.numExpandCalls;
+		return path;
+	}
+
+	@Benchmark
+	public int[] gridAStar(final Counters counters) {
+		final int[] path = this.gridAStar.search(this.benchmarkGrid.startIndex, this.benchmarkGrid.goalIndex);
+		counters.searches++;
+		counters.nodesExpanded += this.gridAStar.getNumExpanded();
+		counters.heapOperations += this.gridAStar.getNumHeapOperations();
+		return path;
+	}
+
+	@Benchmark
+	public int[] gridDialSearch(final Counters counters) {
+		final int[] path = this.gridDialSearch.search(this.benchmarkGrid.startIndex, this.benchmarkGrid.goalIndex);
+		counters.searches++;
+		counters.nodesExpanded += this.gridDialSearch.getNumExpanded();
+		return path;
+	}
+
+	@Benchmark
+	public int[] gridJumpPointSearch(final Counters counters) {
+		final int[] path = this.gridJumpPointSearch.search(this.benchmarkGrid.startIndex, this.benchmarkGrid.goalIndex);
+		counters.searches++;
+		counters.nodesExpanded += this.gridJumpPointSearch.getNumExpanded();
+		counters.heapOperations += this.gridJumpPointSearch.getNumHeapOperations();
+		return path;
+	}
+
+	/**
+	 * Plans over the (prebuilt) cluster graph, then refines only the first leg; nodes are abstract nodes.
+	 */
+	@Benchmark
+	public int[] hierarchicalAStar(final Counters counters) {
+		final int[] waypoints = this.hierarchicalAStar.search(this.benchmarkGrid.startIndex, this.benchmarkGrid.goalIndex);
+		final int[] leg = this.hierarchicalAStar.refineNext(this.gridAStar, waypoints);
+		counters.searches++;
+		counters.nodesExpanded += this.hierarchicalAStar.getNumExpanded() + this.gridAStar.getNumExpanded();
+		return leg;
+	}
+
+	/**
+	 * Repairs the D* Lite path after a tile near the start becomes impassable (or passable again).
+	 * Compare against gridAStar, which would have to search from scratch.
+	 */
+	@Benchmark
+	public double dStarLiteRepair(final Counters counters) {
+		this.isToggledBlocked = !this.isToggledBlocked;
+		this.dStarLite.updateTileCost(this.toggledIndex, this.isToggledBlocked ? SearchGrid.IMPASSABLE : 1.0);
+		this.dStarLite.replan();
+		counters.searches++;
+		counters.nodesExpanded += this.dStarLite.getNumExpanded();
+		counters.heapOperations += this.dStarLite.getNumHeapOperations();
+		return this.dStarLite.getPathCost();
+	}
+
+	/**
+	 * Builds the entire field toward the goal tile (after which every unit's lookup is O(8)).
+	 */
+	@Benchmark
+	public int flowField(final Counters counters) {
+		this.flowField.start(this.benchmarkGrid.goalIndex);
+		this.flowField.step(Integer.MAX_VALUE);
+		counters.searches++;
+		counters.nodesExpanded += this.flowField.getNumExpanded();
+		return this.flowField.getNextNeighborNum(this.benchmarkGrid.startIndex);
+	}
+
+	/**
+	 * Flood-fills every tile reachable from the start tile; returns the greatest depth.
+	 */
+	@Benchmark
+	public int bfsGenerator(final Counters counters) {
+		final BfsGenerator generator = this.bfsGenerator;
+		generator.start(this.benchmarkGrid.startIndex);
+		while (generator.hasNext()) {
+			generator.next();
+		}
+		counters.searches++;
+		counters.nodesExpanded += generator.getNumPopped();
+		return generator.getDepth();
+	}
+}
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -15,8 +16,13 @@ import battlecode.common.RobotController;
 import battlecode.common.RobotInfo;
 import player.util.battlecode.UtilBattlecode;
 import player.util.battlecode.flag.Flag;
+import player.util.battlecode.flag.FlagOutbox;
+import player.util.battlecode.flag.RawFlag;
 import player.util.battlecode.flag.Flag.IFlag;
+import player.util.battlecode.flag.types.EnemiesSightedNearbyFlag;
 import player.util.battlecode.flag.types.EnemySightedFlag;
+import player.util.battlecode.flag.types.EnemySightedNearbyFlag;
+import player.util.battlecode.flag.util.RecentReportCache;
 import player.util.general.UtilGeneral;
 
 /*
@@ -39,6 +45,9 @@ import player.util.general.UtilGeneral;
  */
 public class HandlerCommon {
 
+	// added to the cost of an enemy reported recently; more than the spread of the RobotType costs.
+	private static final double RECENT_REPORT_COST = 4.0;
+
 	/**
 	 * Attempts to move the robot into the adjacent space as specified by the argument Direction.
 	 *
@@ -69,7 +78,16 @@ public class HandlerCommon {
 	 * @param rc the RobotController for the current round.
 	 */
 	public static void setFlag(final RobotController rc, final IFlag flag) {
-		final int rawFlag = Flag.encode(flag);
+		HandlerCommon.setRawFlag(rc, Flag.encode(flag));
+	}
+
+	/**
+	 * Sets the robot's flag to an already-encoded flag.
+	 *
+	 * @param rc the RobotController for the current round.
+	 * @param rawFlag must be a valid encoded flag.
+	 */
+	private static void setRawFlag(final RobotController rc, final int rawFlag) {
 		assert rc.canSetFlag(rawFlag);
 		try {
 			rc.setFlag(rawFlag);
@@ -79,6 +97,56 @@ public class HandlerCommon {
 		}
 	}
 
+	/**
+	 * Sets the robot's flag to the outbox's pick for the current round.
+	 * Leaves the flag unchanged if the outbox holds no message, unless the flag is located relative to
+	 * the robot (it is then cleared; see FlagOutbox).
+	 * Every enemy in a posted sighting flag is marked reported.
+	 * Should be called once per round, after the robot's last post to the outbox (and its last move).
+	 *
+	 * @param rc the RobotController for the current round.
+	 * @param recentReportCache the robot's recent reports.
+	 * @return true iff the flag is set; else false.
+	 */
+	public static boolean setFlagFromOutbox(final RobotController rc, final FlagOutbox flagOutbox,
+			                                final RecentReportCache recentReportCache) {
+		final OptionalInt rawFlagOpt = flagOutbox.nextRawFlag(rc.getRoundNum());
+		if (rawFlagOpt.isPresent()) {
+			HandlerCommon.setRawFlag(rc, rawFlagOpt.getAsInt());
+			HandlerCommon.markReported(rc, recentReportCache, rawFlagOpt.getAsInt());
+		}
+		return rawFlagOpt.isPresent();
+	}
+
+	/**
+	 * Marks every enemy in a sighting flag reported; does nothing for any other flag.
+	 *
+	 * @param rc the RobotController for the current round.
+	 * @param rawFlag must have been posted by the robot during the current round.
+	 */
+	private static void markReported(final RobotController rc, final RecentReportCache recentReportCache, final int rawFlag) {
+		final MapLocation currentMapLoc = rc.getLocation();
+		final int roundNum = rc.getRoundNum();
+		switch (RawFlag.getOpCode(rawFlag)) {
+			case ENEMY_SIGHTED:
+				recentReportCache.markReported(RawFlag.EnemySighted.getRobotType(rawFlag),
+						RawFlag.EnemySighted.getMapLoc(rawFlag, currentMapLoc), roundNum);
+				break;
+			case ENEMY_SIGHTED_NEARBY:
+				recentReportCache.markReported(RawFlag.EnemySightedNearby.getRobotType(rawFlag),
+						RawFlag.EnemySightedNearby.getMapLoc(rawFlag, currentMapLoc), roundNum);
+				break;
+			case ENEMIES_SIGHTED_NEARBY:
+				recentReportCache.markReported(RawFlag.EnemiesSightedNearby.getFirstRobotType(rawFlag),
+						RawFlag.EnemiesSightedNearby.getFirstMapLoc(rawFlag, currentMapLoc), roundNum);
+				recentReportCache.markReported(RawFlag.EnemiesSightedNearby.getSecondRobotType(rawFlag),
+						RawFlag.EnemiesSightedNearby.getSecondMapLoc(rawFlag, currentMapLoc), roundNum);
+				break;
+			default:
+				break;
+		}
+	}
+
 	/**
 	 * Returns a stream of RobotInfo/IFlag pairs such that each RobotInfo
 	 * robot is on the same Team as the RobotController robot.
@@ -153,8 +221,17 @@ public class HandlerCommon {
 	 * Performs three actions:
 	 *
 	 * (1) Finds the non-teammate robots in a collection.
-	 * (2) Assigns each a 'priority'.
-	 * (3) Sets an EnemySightedFlag to signal the non-teammate robot of highest priority.
+	 * (2) Assigns each a 'priority'; enemies not reported recently (see RecentReportCache) come
+	 *     before any that were, so each flag is more likely to carry news.
+	 * (3) Posts an EnemySightedNearbyFlag (or, if it lies out of offset range, an EnemySightedFlag)
+	 *     to signal the non-teammate robot of highest priority. If another non-teammate robot also lies
+	 *     in range, posts an EnemiesSightedNearbyFlag to signal both (highest priority first).
+	 *
+	 * The flag is posted to the outbox at LOW priority, for the current round only (so it never
+	 * displaces a more important message, e.g. a TargetMissingFlag).
+	 *
+	 * Should be called after the robot's last move of the round; the nearby flag is located relative to
+	 * the robot's current location, which is where readers will sense it.
 	 *
 	 * If no non-teammate robot is found, (2) and (3) do not execute.
 	 *
@@ -162,22 +239,32 @@ public class HandlerCommon {
 	 * @param robotCollection the collection of robots to search through.
 	 *     Must have been sensed during the current round (i.e. the RobotInfos are up-to-date).
 	 *     Note that teammate robots are automatically ignored.
-	 * @return true iff a flag is set; else false.
+	 * @param flagOutbox the robot's outbox.
+	 * @param recentReportCache the robot's recent reports. Enemies are marked reported only once their
+	 *     flag is actually posted (see setFlagFromOutbox()).
+	 * @return true iff a flag is posted; else false.
 	 */
-	public static boolean setHighestPriorityEnemySightedFlag(final RobotController rc, final Collection<RobotInfo> robotCollection) {
+	public static boolean setHighestPriorityEnemySightedFlag(final RobotController rc, final FlagOutbox flagOutbox,
+			                                                 final RecentReportCache recentReportCache,
+			                                                 final Collection<RobotInfo> robotCollection) {
 
 		/* The three steps of this function occur verbatim in all non-Enlightenment-Center handlers. */
 
+		final int roundNum = rc.getRoundNum();
 		// TODO(theimer): improve this cost Function; make unique to the controller?
 		final Function<RobotInfo, Double> costFunc = new Function<RobotInfo, Double>(){
 			@Override
 			public Double apply(final RobotInfo robotInfo) {
+				// outweighs any difference in type, so all news comes first
+				final double recentCost = recentReportCache.isRecent(robotInfo.getType(), robotInfo.getLocation(), roundNum)
+						? HandlerCommon.RECENT_REPORT_COST
+						: 0.0;
 				switch(robotInfo.getType()) {
 					// costs are negated since we use a least-cost utility function.
-					case POLITICIAN: return -1.0;
-					case MUCKRAKER: return -2.0;
-					case SLANDERER: return -3.0;
-					case ENLIGHTENMENT_CENTER: return -4.0;
+					case POLITICIAN: return -1.0 + recentCost;
+					case MUCKRAKER: return -2.0 + recentCost;
+					case SLANDERER: return -3.0 + recentCost;
+					case ENLIGHTENMENT_CENTER: return -4.0 + recentCost;
 					default: throw new IllegalArgumentException("unrecognized RobotInfo: " + robotInfo.getType());
 				}
 			}
@@ -196,9 +283,30 @@ public class HandlerCommon {
 		if (nonTeamRobotList.size() > 0) {
 			// find the one of highest priority
 			final RobotInfo highestPriorityRobot = UtilGeneral.getLeastCostLinear(nonTeamRobotList, costFunc);
+			final MapLocation currentMapLoc = rc.getLocation();
+			final MapLocation enemyMapLoc = highestPriorityRobot.getLocation();
+
+			final IFlag flag;
+			if (EnemySightedNearbyFlag.isInRange(enemyMapLoc, currentMapLoc)) {
+				// find the next-highest priority robot that can share the flag
+				final List<RobotInfo> otherNearbyRobotList = new ArrayList<>();
+				for (final RobotInfo robotInfo : nonTeamRobotList) {
+					if ((robotInfo != highestPriorityRobot) && EnemiesSightedNearbyFlag.isInRange(robotInfo.getLocation(), currentMapLoc)) {
+						otherNearbyRobotList.add(robotInfo);
+					}
+				}
+				if (otherNearbyRobotList.size() > 0) {
+					final RobotInfo secondRobot = UtilGeneral.getLeastCostLinear(otherNearbyRobotList, costFunc);
+					flag = new EnemiesSightedNearbyFlag(highestPriorityRobot.getType(), enemyMapLoc,
+							secondRobot.getType(), secondRobot.getLocation(), currentMapLoc);
+				} else {
+					flag = new EnemySightedNearbyFlag(highestPriorityRobot.getType(), enemyMapLoc, currentMapLoc);
+				}
+			} else {
+				flag = new EnemySightedFlag(highestPriorityRobot.getType(), enemyMapLoc);
+			}
 			// post the flag!
-			final EnemySightedFlag flag = new EnemySightedFlag(highestPriorityRobot.getType(), highestPriorityRobot.getLocation());
-			HandlerCommon.setFlag(rc, flag);
+			flagOutbox.post(flag, FlagOutbox.Priority.LOW, roundNum);
 			flagSet = true;
 		}
 
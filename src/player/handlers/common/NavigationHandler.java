@@ -0,0 +1,218 @@
+package player.handlers.common;
+
+import java.util.Optional;
+
+import battlecode.common.Clock;
+import battlecode.common.Direction;
+import battlecode.common.GameActionException;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+import player.util.battlecode.UtilBattlecode;
+import player.util.search.SearchStatus;
+
+/**
+ * Moves the robot toward a target MapLocation using the best navigation "tier" that fits in the
+ * bytecodes left this round:
+ *
+ *     A_STAR: follows (and, when needed, plans) a passability-weighted path; see PathMoverHandler.
+ *     BUG: moves straight toward the target; follows the edge of any obstacle until it can again.
+ *     GREEDY: moves into the most passable adjacent location that is closer to the target.
+ *
+ * A_STAR plans only while more than BUG_BYTECODES remain; if the plan does not finish within that
+ * budget (it resumes next round) or no path exists, the robot moves by BUG instead.
+ * If even GREEDY does not fit, the robot does not move this round.
+ */
+public class NavigationHandler {
+
+	public static enum Tier {
+		GREEDY,
+		BUG,
+		A_STAR
+	}
+
+	// Worst-case bytecodes of one step of each tier, rounded up; measured as PathMoverHandler's costs are.
+	public static final int BUG_STEP_BYTECODES = 450;
+	public static final int GREEDY_STEP_BYTECODES = 650;
+	// selecting a tier and dispatching to it (see attemptStep()).
+	public static final int DISPATCH_BYTECODES = 100;
+
+	// The bytecodes each tier needs for one round; a tier is used only if this many are left.
+	// BUG is also A_STAR's reserve while planning: a planned step or a bug step follows the plan.
+	// A_STAR needs that reserve plus enough for planning to make progress (see PathMoverHandler.plan()).
+	public static final int GREEDY_BYTECODES = NavigationHandler.DISPATCH_BYTECODES + NavigationHandler.GREEDY_STEP_BYTECODES;
+	public static final int BUG_BYTECODES = NavigationHandler.DISPATCH_BYTECODES
+			+ Math.max(NavigationHandler.BUG_STEP_BYTECODES, PathMoverHandler.PLANNED_STEP_BYTECODES);
+	public static final int A_STAR_BYTECODES = NavigationHandler.BUG_BYTECODES + PathMoverHandler.MIN_PLAN_BYTECODES;
+
+	// bug: the maximum number of moves spent following one edge before heading straight for the target again.
+	public static final int MAX_EDGE_FOLLOW_MOVES = 16;
+
+	// greedy: weight of passability against distance squared (i.e. always prefer passability).
+	private static final double PASSABILITY_WEIGHT = 100000;
+
+	private final MapLocation targetMapLoc;
+	private final PathMoverHandler pathMoverHandler;
+	// bug: true iff following the edge of an obstacle.
+	private boolean isFollowingEdge;
+	// bug: the Direction of the most recent move while following an edge.
+	private Direction edgeDir;
+	// bug: the squared distance to the target when edge-following began.
+	private int edgeStartDistSquared;
+	// bug: the number of moves made while following the current edge.
+	private int edgeFollowMoves;
+	// the number of rounds each tier was used; indexed by Tier.ordinal()
+	private final int[] tierUseCounts;
+
+	/**
+	 * Handles robot movement toward a target MapLocation.
+	 *
+	 * @param targetMapLoc the MapLocation to move toward.
+	 * @param arrivalRadiusSquared the robot has arrived once it lies within this squared distance of
+	 *     targetMapLoc. Must be non-negative.
+	 */
+	public NavigationHandler(final MapLocation targetMapLoc, final int arrivalRadiusSquared) {
+		this.targetMapLoc = targetMapLoc;
+		this.pathMoverHandler = new PathMoverHandler(targetMapLoc, arrivalRadiusSquared);
+		this.isFollowingEdge = false;
+		this.edgeDir = Direction.CENTER;
+		this.edgeStartDistSquared = 0;
+		this.edgeFollowMoves = 0;
+		this.tierUseCounts = new int[Tier.values().length];
+	}
+
+	/**
+	 * Returns the number of rounds a tier was used to attempt a move.
+	 * A round in which A_STAR fell back to BUG counts as BUG.
+	 */
+	public int getNumUses(final Tier tier) {
+		return this.tierUseCounts[tier.ordinal()];
+	}
+
+	public PathMoverHandler getPathMoverHandler() {
+		return this.pathMoverHandler;
+	}
+
+	/**
+	 * Returns the best tier whose cost fits in the bytecodes left this round; else an empty Optional.
+	 */
+	private Optional<Tier> selectTier(final int bytecodesLeft) {
+		Optional<Tier> tierOpt;
+		if (bytecodesLeft >= NavigationHandler.A_STAR_BYTECODES) {
+			tierOpt = Optional.of(Tier.A_STAR);
+		} else if (bytecodesLeft >= NavigationHandler.BUG_BYTECODES) {
+			tierOpt = Optional.of(Tier.BUG);
+		} else if (bytecodesLeft >= NavigationHandler.GREEDY_BYTECODES) {
+			tierOpt = Optional.of(Tier.GREEDY);
+		} else {
+			tierOpt = Optional.empty();
+		}
+		return tierOpt;
+	}
+
+	/**
+	 * Attempts to move the robot one step toward the target using the best tier that fits in the
+	 * bytecodes left this round.
+	 * Does nothing if the robot has arrived or cannot move this round.
+	 *
+	 * @param rc the RobotController for the current round.
+	 * @return true iff a move completes successfully; else false.
+	 */
+	public boolean attemptStep(final RobotController rc) {
+		if (!rc.isReady() || this.pathMoverHandler.isArrived(rc.getLocation())) {
+			return false;
+		}
+		final Optional<Tier> tierOpt = this.selectTier(Clock.getBytecodesLeft());
+		if (!tierOpt.isPresent()) {
+			UtilBattlecode.log("Too few bytecodes left to navigate");
+			return false;
+		}
+		Tier tier = tierOpt.get();
+		if ((tier == Tier.A_STAR)
+				&& (this.pathMoverHandler.plan(rc, NavigationHandler.BUG_BYTECODES) != SearchStatus.FOUND)) {
+			// the plan did not finish within the budget (or there is none); degrade
+			tier = Tier.BUG;
+		}
+		this.tierUseCounts[tier.ordinal()]++;
+		switch (tier) {
+			case A_STAR: return this.pathMoverHandler.attemptPlannedStep(rc);
+			case BUG: return this.attemptBugStep(rc);
+			case GREEDY: return this.attemptGreedyStep(rc);
+			default: throw new IllegalArgumentException("unrecognized Tier: " + tier);
+		}
+	}
+
+	/**
+	 * Attempts to move the robot into the adjacent location that is closer to the target and, of those,
+	 * most passable.
+	 *
+	 * @param rc the RobotController for the current round.
+	 * @return true iff a move completes successfully; else false.
+	 */
+	private boolean attemptGreedyStep(final RobotController rc) {
+		final MapLocation currentMapLoc = rc.getLocation();
+		final int currentDistSquared = currentMapLoc.distanceSquaredTo(this.targetMapLoc);
+		Direction bestDir = null;
+		double bestCost = Double.POSITIVE_INFINITY;
+		for (final Direction dir : UtilBattlecode.OFF_CENTER_DIRECTIONS) {
+			final MapLocation mapLoc = currentMapLoc.add(dir);
+			final int distSquared = mapLoc.distanceSquaredTo(this.targetMapLoc);
+			if ((distSquared < currentDistSquared) && rc.canMove(dir)) {
+				final double cost;
+				try {
+					// higher passability, lower distance ----> lower cost
+					cost = -(rc.sensePassability(mapLoc) * NavigationHandler.PASSABILITY_WEIGHT) + distSquared;
+				} catch (final GameActionException e) {
+					// should never happen; rc.canMove is a precondition (the location is adjacent and on the map).
+					throw new UtilBattlecode.IllegalGameActionException(e);
+				}
+				if (cost < bestCost) {
+					bestDir = dir;
+					bestCost = cost;
+				}
+			}
+		}
+		return (bestDir != null) && HandlerCommon.attemptMove(rc, bestDir);
+	}
+
+	/**
+	 * Attempts to move the robot straight toward the target; when blocked, keeps the obstacle on its
+	 * left and follows its edge until the robot is closer than where it began following and the
+	 * straight move is open again.
+	 *
+	 * @param rc the RobotController for the current round.
+	 * @return true iff a move completes successfully; else false.
+	 */
+	private boolean attemptBugStep(final RobotController rc) {
+		final MapLocation currentMapLoc = rc.getLocation();
+		final Direction targetDir = currentMapLoc.directionTo(this.targetMapLoc);
+		if (this.isFollowingEdge
+				&& (((currentMapLoc.distanceSquaredTo(this.targetMapLoc) < this.edgeStartDistSquared) && rc.canMove(targetDir))
+						|| (this.edgeFollowMoves >= NavigationHandler.MAX_EDGE_FOLLOW_MOVES))) {
+			// cleared the obstacle (or gave up circling it; robots move, so the way may since have opened)
+			this.isFollowingEdge = false;
+		}
+		if (!this.isFollowingEdge) {
+			if (rc.canMove(targetDir)) {
+				return HandlerCommon.attemptMove(rc, targetDir);
+			}
+			// blocked; begin following the obstacle's edge
+			this.isFollowingEdge = true;
+			this.edgeDir = targetDir;
+			this.edgeStartDistSquared = currentMapLoc.distanceSquaredTo(this.targetMapLoc);
+			this.edgeFollowMoves = 0;
+		}
+
+		// start just left of the previous move (i.e. back toward the obstacle), then turn right until open
+		Direction dir = this.edgeDir.rotateLeft().rotateLeft();
+		for (int i = 0; i < UtilBattlecode.OFF_CENTER_DIRECTIONS.length; ++i) {
+			if (rc.canMove(dir)) {
+				this.edgeDir = dir;
+				this.edgeFollowMoves++;
+				return HandlerCommon.attemptMove(rc, dir);
+			}
+			dir = dir.rotateRight();
+		}
+		// surrounded
+		return false;
+	}
+}
@@ -0,0 +1,586 @@
+package player.handlers.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import battlecode.common.Clock;
+import battlecode.common.Direction;
+import battlecode.common.GameActionException;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+import player.util.battlecode.UtilBattlecode;
+import player.util.search.GridAStar;
+import player.util.search.SearchGrid;
+import player.util.search.SearchStatus;
+
+/**
+ * Moves the robot along a planned (least-cooldown) path toward a target MapLocation.
+ *
+ * The path is planned once, then followed; each round only the next few steps are checked.
+ * A step blocked by another robot is repaired with a one-tile detour that rejoins the path.
+ * The path is replanned only when it is no longer valid:
+ *     (1) the robot is no longer on it, or
+ *     (2) an upcoming step is sensed to lie off the map, or
+ *     (3) no detour has existed for MAX_BLOCKED_ROUNDS consecutive rounds, or
+ *     (4) the robot reached the end of a partial path (see below).
+ *
+ * Planning is bounded. The search covers only a WINDOW_WIDTH x WINDOW_WIDTH window that contains the
+ * robot and, if it fits, the target; a farther target is approached through the window tile nearest
+ * it (i.e. the path is partial). Unsensed tiles inside the window are assumed free; tiles outside it
+ * do not exist, so a target walled off by sensed obstacles is reported unreachable.
+ *
+ * Planning is also spread across rounds: beginning a search, sensing each window tile, expanding each
+ * tile (at most MAX_EXPANSIONS_PER_ROUND per round), and building the found path each happen only if
+ * their measured cost (the *_BYTECODES constants) fits above the caller's reserve of bytecodes; the
+ * rest resumes next round (see plan()). At most one search begins per round.
+ */
+public class PathMoverHandler {
+
+	// the number of upcoming steps checked for validity each round.
+	public static final int LOOKAHEAD_STEPS = 3;
+	// the number of consecutive rounds a step can be blocked (with no detour) before the path is replanned.
+	public static final int MAX_BLOCKED_ROUNDS = 3;
+	// cost of moving into a location whose passability has not been sensed.
+	// Optimistic (passability 1.0), so the heuristic remains admissible.
+	private static final double UNSENSED_COST = 1.0;
+	// the width of the (square) search window; a few sensor radii.
+	public static final int WINDOW_WIDTH = 16;
+	// the number of tiles kept between the robot and the window edge facing away from a far target.
+	public static final int WINDOW_MARGIN = 3;
+	// the most tiles a search expands in a single round.
+	public static final int MAX_EXPANSIONS_PER_ROUND = 64;
+	// bytecodes attemptStep(rc) leaves for the rest of the round while planning.
+	public static final int DEFAULT_BYTECODE_RESERVE = 2000;
+	// the number of rounds to wait after a failed search before searching again.
+	public static final int NO_PATH_WAIT_ROUNDS = 5;
+
+	// Worst-case bytecodes of each part of planning, rounded up. Measured by counting the bytecodes executed
+	// over 3000 random maps (every robot type that moves; robots in the open, crowded, and at map edges),
+	// with each engine or library call counted as 10.
+	// checking that the path is still valid (needsReplan()), with the robot where expected on the path.
+	public static final int CHECK_PATH_BYTECODES = 300;
+	// beginning a search: placing and refilling the window (incl. allocating it, the first time).
+	public static final int START_SEARCH_BYTECODES = 750;
+	// sensing one window tile; also covers beginning the search once the last tile is sensed.
+	public static final int SENSE_TILE_BYTECODES = 500;
+	// expanding one tile (i.e. popping it and pushing up to eight neighbors).
+	public static final int EXPANSION_BYTECODES = 3750;
+	// replacing the path with the found one: a fixed part, plus a part per tile of the path.
+	public static final int SET_PATH_BYTECODES = 400;
+	public static final int SET_PATH_TILE_BYTECODES = 90;
+	// one planned step, incl. a detour around an occupied next step (see attemptPlannedStep()).
+	public static final int PLANNED_STEP_BYTECODES = 950;
+	// the number of tiles sensed or expanded by a round given MIN_PLAN_BYTECODES (above its reserve).
+	public static final int MIN_PLAN_STEPS = 1;
+	// the least bytecodes (above the caller's reserve) with which plan() makes progress: checks the path,
+	// begins a search, and senses or expands MIN_PLAN_STEPS tiles.
+	public static final int MIN_PLAN_BYTECODES = PathMoverHandler.CHECK_PATH_BYTECODES + PathMoverHandler.START_SEARCH_BYTECODES
+			+ (PathMoverHandler.MIN_PLAN_STEPS * Math.max(PathMoverHandler.SENSE_TILE_BYTECODES, PathMoverHandler.EXPANSION_BYTECODES));
+
+	// the MapLocation to move toward.
+	private final MapLocation targetMapLoc;
+	// the robot has arrived once it lies within this squared distance of targetMapLoc.
+	private final int arrivalRadiusSquared;
+	// the greatest number of (diagonal) steps between targetMapLoc and any arrival location.
+	private final int arrivalSteps;
+	// the planned path; path.get(pathIndex) is the robot's location.
+	private final List<MapLocation> path;
+	private int pathIndex;
+	// the number of consecutive rounds the next step has been blocked with no detour.
+	private int blockedRounds;
+	// tile costs of the search window, and its search; allocated by the first plan.
+	private SearchGrid windowGrid;
+	private GridAStar windowSearch;
+	// the map coordinates of window tile (0, 0).
+	private int windowOriginX;
+	private int windowOriginY;
+	// the packed window tiles the search begins and ends at.
+	private int startIndex;
+	private int goalIndex;
+	// true iff a search is in progress (i.e. resumes next round).
+	private boolean isPlanning;
+	// true iff the window is still being sensed (i.e. the search has not begun expanding).
+	private boolean isSensing;
+	// the square of window tiles (map coordinates) to sense, and the next tile to sense in it.
+	private int senseMinY;
+	private int senseMaxX;
+	private int senseMaxY;
+	private int senseX;
+	private int senseY;
+	// rounds left to wait before searching again.
+	private int noPathWaitRounds;
+	private int numSteps;
+	private int numRepairs;
+	private int numReplans;
+
+	private void assertRepCheck() {
+		assert (this.path.isEmpty() || (this.pathIndex < this.path.size())) :
+			"pathIndex must index the path; pathIndex: " + this.pathIndex + ", size: " + this.path.size();
+		assert this.blockedRounds <= PathMoverHandler.MAX_BLOCKED_ROUNDS : "blockedRounds: " + this.blockedRounds;
+	}
+
+	/**
+	 * Handles robot movement toward a target MapLocation.
+	 * No path is planned until the first call to attemptStep().
+	 *
+	 * @param targetMapLoc the MapLocation to move toward.
+	 * @param arrivalRadiusSquared the robot has arrived once it lies within this squared distance of
+	 *     targetMapLoc (e.g. an action radius). Must be non-negative.
+	 */
+	public PathMoverHandler(final MapLocation targetMapLoc, final int arrivalRadiusSquared) {
+		assert arrivalRadiusSquared >= 0 : "arrivalRadiusSquared: " + arrivalRadiusSquared;
+		this.targetMapLoc = targetMapLoc;
+		this.arrivalRadiusSquared = arrivalRadiusSquared;
+		this.arrivalSteps = (int)Math.sqrt(arrivalRadiusSquared);
+		this.path = new ArrayList<>();
+		this.pathIndex = 0;
+		this.blockedRounds = 0;
+		this.windowGrid = null;
+		this.windowSearch = null;
+		this.windowOriginX = 0;
+		this.windowOriginY = 0;
+		this.startIndex = 0;
+		this.goalIndex = 0;
+		this.isPlanning = false;
+		this.isSensing = false;
+		this.senseMinY = 0;
+		this.senseMaxX = 0;
+		this.senseMaxY = 0;
+		this.senseX = 0;
+		this.senseY = 0;
+		this.noPathWaitRounds = 0;
+		this.numSteps = 0;
+		this.numRepairs = 0;
+		this.numReplans = 0;
+		this.assertRepCheck();
+	}
+
+	public MapLocation getTargetMapLoc() {
+		return this.targetMapLoc;
+	}
+
+	/**
+	 * Returns the number of steps completed along the path (including detours).
+	 */
+	public int getNumSteps() {
+		return this.numSteps;
+	}
+
+	/**
+	 * Returns the number of blocked steps that were repaired with a detour.
+	 */
+	public int getNumRepairs() {
+		return this.numRepairs;
+	}
+
+	/**
+	 * Returns the number of searches begun (including the first).
+	 */
+	public int getNumReplans() {
+		return this.numReplans;
+	}
+
+	/**
+	 * Returns true iff a MapLocation lies within the arrival radius of the target.
+	 */
+	public boolean isArrived(final MapLocation mapLoc) {
+		return mapLoc.distanceSquaredTo(this.targetMapLoc) <= this.arrivalRadiusSquared;
+	}
+
+	/**
+	 * Returns the cost (i.e. cooldown multiplier) of moving into a MapLocation.
+	 *
+	 * @param rc the RobotController for the current round.
+	 */
+	private double getMoveCost(final RobotController rc, final MapLocation mapLoc) {
+		if (!rc.canSenseLocation(mapLoc)) {
+			return PathMoverHandler.UNSENSED_COST;
+		}
+		try {
+			return 1.0 / rc.sensePassability(mapLoc);
+		} catch (final GameActionException e) {
+			// should never happen; canSenseLocation is a precondition.
+			throw new UtilBattlecode.IllegalGameActionException(e);
+		}
+	}
+
+	/**
+	 * Returns true iff a MapLocation is known to be off the map.
+	 *
+	 * @param rc the RobotController for the current round.
+	 */
+	private boolean isOffMap(final RobotController rc, final MapLocation mapLoc) {
+		try {
+			return rc.canSenseLocation(mapLoc) && !rc.onTheMap(mapLoc);
+		} catch (final GameActionException e) {
+			// should never happen; canSenseLocation is a precondition.
+			throw new UtilBattlecode.IllegalGameActionException(e);
+		}
+	}
+
+	/**
+	 * Returns the coordinate of the first window tile along one axis.
+	 * If the span between `from` and `to` fits, it is centered; else `from` lies WINDOW_MARGIN tiles
+	 * from the edge facing away from `to`.
+	 */
+	private static int getWindowOrigin(final int from, final int to) {
+		final int span = Math.abs(to - from) + 1;
+		if (span <= PathMoverHandler.WINDOW_WIDTH) {
+			return Math.min(from, to) - ((PathMoverHandler.WINDOW_WIDTH - span) / 2);
+		}
+		return (to > from)
+				? (from - PathMoverHandler.WINDOW_MARGIN)
+				: ((from + PathMoverHandler.WINDOW_MARGIN) - (PathMoverHandler.WINDOW_WIDTH - 1));
+	}
+
+	/**
+	 * Returns the coordinate nearest `val` that lies within the window along one axis.
+	 */
+	private static int clampToWindow(final int val, final int origin) {
+		return Math.max(origin, Math.min(val, (origin + PathMoverHandler.WINDOW_WIDTH) - 1));
+	}
+
+	/**
+	 * Begins a search from the robot's current location toward the target (or the window tile nearest it).
+	 * Places the window and readies it to be sensed (see senseWindow()); costs at most START_SEARCH_BYTECODES.
+	 *
+	 * @param rc the RobotController for the current round.
+	 */
+	private void startSearch(final RobotController rc) {
+		this.numReplans++;
+		this.isPlanning = true;
+		this.isSensing = true;
+		if (this.windowGrid == null) {
+			this.windowGrid = new SearchGrid(PathMoverHandler.WINDOW_WIDTH, PathMoverHandler.WINDOW_WIDTH,
+					PathMoverHandler.UNSENSED_COST, SearchGrid.BATTLECODE_DIAGONAL_WEIGHT);
+			this.windowSearch = new GridAStar(this.windowGrid);
+		} else {
+			this.windowGrid.fill(PathMoverHandler.UNSENSED_COST);
+		}
+		final MapLocation currentMapLoc = rc.getLocation();
+		this.windowOriginX = PathMoverHandler.getWindowOrigin(currentMapLoc.x, this.targetMapLoc.x);
+		this.windowOriginY = PathMoverHandler.getWindowOrigin(currentMapLoc.y, this.targetMapLoc.y);
+		final int goalX = PathMoverHandler.clampToWindow(this.targetMapLoc.x, this.windowOriginX) - this.windowOriginX;
+		final int goalY = PathMoverHandler.clampToWindow(this.targetMapLoc.y, this.windowOriginY) - this.windowOriginY;
+		this.startIndex = this.windowGrid.pack(currentMapLoc.x - this.windowOriginX, currentMapLoc.y - this.windowOriginY);
+		this.goalIndex = this.windowGrid.pack(goalX, goalY);
+
+		// the tiles in range: a square around the robot, clipped to the window
+		final int sensorSteps = (int)Math.sqrt(rc.getType().sensorRadiusSquared);
+		this.senseX = Math.max(currentMapLoc.x - sensorSteps, this.windowOriginX);
+		this.senseMaxX = Math.min(currentMapLoc.x + sensorSteps, (this.windowOriginX + PathMoverHandler.WINDOW_WIDTH) - 1);
+		this.senseMinY = Math.max(currentMapLoc.y - sensorSteps, this.windowOriginY);
+		this.senseMaxY = Math.min(currentMapLoc.y + sensorSteps, (this.windowOriginY + PathMoverHandler.WINDOW_WIDTH) - 1);
+		this.senseY = this.senseMinY;
+	}
+
+	/**
+	 * Senses the window tiles left to sense, one at a time while more than `bytecodeReserve` bytecodes
+	 * (plus SENSE_TILE_BYTECODES) are left this round; once none are left, begins the search.
+	 *
+	 * Only tiles within sensor range are sensed: those off the map or occupied are impassable (except
+	 * the search's start tile and goal tile, which the target itself may occupy); the rest cost their
+	 * cooldown multiplier. Every other window tile costs UNSENSED_COST.
+	 * Tiles are sensed in the round they are reached, so a robot that moves meanwhile may sense some
+	 * tiles from its new location (and skip others); either way, the path is checked before it is followed.
+	 *
+	 * @param rc the RobotController for the current round.
+	 * @return true iff every tile has been sensed (and the search has begun).
+	 */
+	private boolean senseWindow(final RobotController rc, final int bytecodeReserve) {
+		final int reserve = bytecodeReserve + PathMoverHandler.SENSE_TILE_BYTECODES;
+		while (this.senseX <= this.senseMaxX) {
+			if (Clock.getBytecodesLeft() <= reserve) {
+				return false;
+			}
+			this.senseTile(rc, new MapLocation(this.senseX, this.senseY));
+			if (this.senseY < this.senseMaxY) {
+				this.senseY++;
+			} else {
+				this.senseY = this.senseMinY;
+				this.senseX++;
+			}
+		}
+		this.isSensing = false;
+		this.windowSearch.start(this.startIndex, this.goalIndex);
+		return true;
+	}
+
+	/**
+	 * Sets the cost of a window tile from what the robot senses of it; see senseWindow().
+	 *
+	 * @param rc the RobotController for the current round.
+	 * @param mapLoc must lie in the window.
+	 */
+	private void senseTile(final RobotController rc, final MapLocation mapLoc) {
+		if (!rc.canSenseLocation(mapLoc)) {
+			return;
+		}
+		final int index = this.windowGrid.pack(mapLoc.x - this.windowOriginX, mapLoc.y - this.windowOriginY);
+		try {
+			if (!rc.onTheMap(mapLoc)) {
+				this.windowGrid.setCost(index, SearchGrid.IMPASSABLE);
+			} else if ((index != this.startIndex) && (index != this.goalIndex) && rc.isLocationOccupied(mapLoc)) {
+				this.windowGrid.setCost(index, SearchGrid.IMPASSABLE);
+			} else {
+				this.windowGrid.setCost(index, 1.0 / rc.sensePassability(mapLoc));
+			}
+		} catch (final GameActionException e) {
+			// should never happen; canSenseLocation is a precondition.
+			throw new UtilBattlecode.IllegalGameActionException(e);
+		}
+	}
+
+	/**
+	 * Replaces the path with the one found by the finished search; the path ends at its first arrival
+	 * location (or, if it has none, at the window tile nearest the target).
+	 */
+	private void setPathFromSearch() {
+		this.path.clear();
+		this.pathIndex = 0;
+		this.blockedRounds = 0;
+		for (final int index : this.windowSearch.getPath()) {
+			final MapLocation mapLoc = new MapLocation(this.windowGrid.getX(index) + this.windowOriginX,
+					this.windowGrid.getY(index) + this.windowOriginY);
+			this.path.add(mapLoc);
+			if (this.isArrived(mapLoc)) {
+				break;
+			}
+		}
+		UtilBattlecode.log("Planned path of length: " + this.path.size());
+	}
+
+	/**
+	 * Attempts to put the robot back on the path after it moved while the path was planned:
+	 * finds the latest step adjacent to the robot and prefixes the robot's location to the path from there.
+	 *
+	 * @param rc the RobotController for the current round.
+	 * @return true iff the robot now lies on the path.
+	 */
+	private boolean rejoinPath(final RobotController rc) {
+		final MapLocation currentMapLoc = rc.getLocation();
+		for (int i = this.path.size() - 1; i >= 0; --i) {
+			if (this.path.get(i).isAdjacentTo(currentMapLoc)) {
+				final List<MapLocation> rest = new ArrayList<>(this.path.subList(i, this.path.size()));
+				this.path.clear();
+				this.path.add(currentMapLoc);
+				this.path.addAll(rest);
+				this.pathIndex = 0;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Brings the path up to date: keeps a valid path; else begins (or continues) a search for a new one.
+	 * Each part of the search is taken only while its cost fits above `bytecodeReserve` bytecodes, and
+	 * at most MAX_EXPANSIONS_PER_ROUND tiles are expanded; the search then resumes on the next call.
+	 * Given at least MIN_PLAN_BYTECODES above the reserve, every call makes progress.
+	 *
+	 * @param rc the RobotController for the current round.
+	 * @param bytecodeReserve the number of bytecodes to leave for the rest of the round.
+	 * @return FOUND iff the path can be followed this round; IN_PROGRESS iff no path is ready yet (the search
+	 *     continues, or a new one begins, on the next call); NO_PATH iff no path (or no step along one)
+	 *     exists within the window (no search is begun for NO_PATH_WAIT_ROUNDS rounds).
+	 */
+	public SearchStatus plan(final RobotController rc, final int bytecodeReserve) {
+		if (!this.isPlanning) {
+			if (!this.needsReplan(rc)) {
+				return SearchStatus.FOUND;
+			}
+			if (this.noPathWaitRounds > 0) {
+				this.noPathWaitRounds--;
+				return SearchStatus.NO_PATH;
+			}
+			if (Clock.getBytecodesLeft() <= (bytecodeReserve + PathMoverHandler.START_SEARCH_BYTECODES)) {
+				return SearchStatus.IN_PROGRESS;
+			}
+			this.startSearch(rc);
+		}
+		if (this.isSensing && !this.senseWindow(rc, bytecodeReserve)) {
+			return SearchStatus.IN_PROGRESS;
+		}
+		final int expansionReserve = bytecodeReserve + PathMoverHandler.EXPANSION_BYTECODES;
+		SearchStatus status = this.windowSearch.getStatus();
+		for (int i = 0; (i < PathMoverHandler.MAX_EXPANSIONS_PER_ROUND) && (status == SearchStatus.IN_PROGRESS)
+				&& (Clock.getBytecodesLeft() > expansionReserve); ++i) {
+			status = this.windowSearch.step(1);
+		}
+		if (status == SearchStatus.IN_PROGRESS) {
+			return status;
+		}
+		if (status == SearchStatus.NO_PATH) {
+			this.isPlanning = false;
+			UtilBattlecode.log("No path within the window");
+			return this.waitAfterNoPath();
+		}
+		final int setPathBytecodes = PathMoverHandler.SET_PATH_BYTECODES
+				+ (PathMoverHandler.SET_PATH_TILE_BYTECODES * this.windowSearch.getPathLength());
+		if (Clock.getBytecodesLeft() <= (bytecodeReserve + setPathBytecodes)) {
+			// the search stays finished; build the path on the next call
+			return SearchStatus.IN_PROGRESS;
+		}
+		this.isPlanning = false;
+		this.setPathFromSearch();
+		if (!this.locateOnPath(rc) && !this.rejoinPath(rc)) {
+			// moved too far while planning; search again from here on the next call
+			this.path.clear();
+			this.pathIndex = 0;
+			return SearchStatus.IN_PROGRESS;
+		}
+		if (this.pathIndex == (this.path.size() - 1)) {
+			// no step to take (e.g. the goal is the robot's own tile); searching again next round would find the same
+			UtilBattlecode.log("No step within the window");
+			return this.waitAfterNoPath();
+		}
+		this.assertRepCheck();
+		return SearchStatus.FOUND;
+	}
+
+	/**
+	 * Drops the path, and holds off searching again for NO_PATH_WAIT_ROUNDS rounds.
+	 *
+	 * @return NO_PATH.
+	 */
+	private SearchStatus waitAfterNoPath() {
+		this.path.clear();
+		this.pathIndex = 0;
+		this.noPathWaitRounds = PathMoverHandler.NO_PATH_WAIT_ROUNDS;
+		return SearchStatus.NO_PATH;
+	}
+
+	/**
+	 * Returns true iff the robot's current location lies on the path; updates pathIndex to match.
+	 *
+	 * @param rc the RobotController for the current round.
+	 */
+	private boolean locateOnPath(final RobotController rc) {
+		final MapLocation currentMapLoc = rc.getLocation();
+		if ((this.pathIndex < this.path.size()) && this.path.get(this.pathIndex).equals(currentMapLoc)) {
+			// the common case; no need to search the path.
+			return true;
+		}
+		final int index = this.path.indexOf(currentMapLoc);
+		if (index >= 0) {
+			this.pathIndex = index;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true iff none of the next LOOKAHEAD_STEPS steps of the path is known to be off the map.
+	 *
+	 * @param rc the RobotController for the current round.
+	 */
+	private boolean isLookaheadValid(final RobotController rc) {
+		final int lastIndex = Math.min(this.pathIndex + PathMoverHandler.LOOKAHEAD_STEPS, this.path.size() - 1);
+		for (int i = this.pathIndex + 1; i <= lastIndex; ++i) {
+			if (this.isOffMap(rc, this.path.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Attempts to move the robot into an unoccupied location adjacent to both the robot and the
+	 * step after the blocked one (or, if the blocked step is the final one, any arrival location).
+	 * The detour replaces the blocked step in the path.
+	 *
+	 * @param rc the RobotController for the current round.
+	 * @return true iff a detour move completes successfully; else false.
+	 */
+	private boolean attemptDetour(final RobotController rc) {
+		final MapLocation currentMapLoc = rc.getLocation();
+		final int rejoinIndex = this.pathIndex + 2;
+		final boolean blockedIsFinal = rejoinIndex >= this.path.size();
+
+		// find the least-cost detour
+		Direction detourDir = null;
+		double detourCost = Double.POSITIVE_INFINITY;
+		for (final Direction dir : UtilBattlecode.OFF_CENTER_DIRECTIONS) {
+			if (!rc.canMove(dir)) {
+				continue;
+			}
+			final MapLocation detourMapLoc = currentMapLoc.add(dir);
+			final boolean rejoins = blockedIsFinal
+					? this.isArrived(detourMapLoc)
+					: (detourMapLoc.isAdjacentTo(this.path.get(rejoinIndex)) && !detourMapLoc.equals(this.path.get(rejoinIndex)));
+			if (rejoins) {
+				final double cost = this.getMoveCost(rc, detourMapLoc);
+				if (cost < detourCost) {
+					detourDir = dir;
+					detourCost = cost;
+				}
+			}
+		}
+
+		if ((detourDir != null) && HandlerCommon.attemptMove(rc, detourDir)) {
+			this.path.set(this.pathIndex + 1, currentMapLoc.add(detourDir));
+			this.numRepairs++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true iff the current path is not valid (i.e. a new path must be planned).
+	 *
+	 * @param rc the RobotController for the current round.
+	 */
+	private boolean needsReplan(final RobotController rc) {
+		return !this.locateOnPath(rc)
+				// the end of a partial path
+				|| (this.pathIndex == (this.path.size() - 1))
+				|| !this.isLookaheadValid(rc)
+				|| (this.blockedRounds == PathMoverHandler.MAX_BLOCKED_ROUNDS);
+	}
+
+	/**
+	 * Attempts to move the robot one step along its path toward the target; plans while leaving
+	 * DEFAULT_BYTECODE_RESERVE bytecodes for the rest of the round.
+	 * Does nothing if the robot has arrived or cannot move this round, or if no path is ready.
+	 *
+	 * @param rc the RobotController for the current round.
+	 * @return true iff a move completes successfully; else false.
+	 */
+	public boolean attemptStep(final RobotController rc) {
+		if (!rc.isReady() || this.isArrived(rc.getLocation())) {
+			return false;
+		}
+		return (this.plan(rc, PathMoverHandler.DEFAULT_BYTECODE_RESERVE) == SearchStatus.FOUND)
+				&& this.attemptPlannedStep(rc);
+	}
+
+	/**
+	 * Attempts to move the robot one step along its path.
+	 *
+	 * @param rc the RobotController for the current round.
+	 *     plan() must have returned FOUND during the current round.
+	 * @return true iff a move completes successfully; else false.
+	 */
+	public boolean attemptPlannedStep(final RobotController rc) {
+		assert !this.isPlanning && (this.pathIndex < (this.path.size() - 1)) : "no path to follow";
+		// arbitrarily assume the move fails
+		boolean moveSuccess = false;
+		final Direction nextDir = rc.getLocation().directionTo(this.path.get(this.pathIndex + 1));
+		if (rc.canMove(nextDir)) {
+			moveSuccess = HandlerCommon.attemptMove(rc, nextDir);
+		} else {
+			// the next step is occupied; try to step around it.
+			moveSuccess = this.attemptDetour(rc);
+		}
+
+		if (moveSuccess) {
+			this.pathIndex++;
+			this.blockedRounds = 0;
+			this.numSteps++;
+		} else {
+			this.blockedRounds++;
+		}
+		this.assertRepCheck();
+		return moveSuccess;
+	}
+}
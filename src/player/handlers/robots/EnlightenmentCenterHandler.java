@@ -1,6 +1,5 @@
 package player.handlers.robots;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -11,8 +10,6 @@ import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Stream;
 
 import battlecode.common.Direction;
 import battlecode.common.GameActionException;
@@ -23,13 +20,14 @@ import battlecode.common.RobotType;
 import player.RobotPlayer;
 import player.handlers.common.HandlerCommon;
 import player.handlers.common.PredicateFactories;
+import player.util.battlecode.SightingGrid;
 import player.util.battlecode.UtilBattlecode;
 import player.util.battlecode.flag.Flag;
-import player.util.battlecode.flag.Flag.IFlag;
+import player.util.battlecode.flag.RawFlag;
 import player.util.battlecode.flag.types.AttackAssignmentFlag;
-import player.util.battlecode.flag.types.EnemySightedFlag;
 import player.util.battlecode.flag.types.PatrolAssignmentFlag;
-import player.util.battlecode.flag.types.TargetMissingFlag;
+import player.util.battlecode.flag.util.UtilFlag.FlagOpCode;
+import player.util.general.IntIntHashMap;
 import player.util.general.UtilGeneral;
 import player.util.math.UtilMath;
 
@@ -109,6 +107,15 @@ class TargetQueue {
 		return this.mapLocMap.containsKey(mapLoc);
 	}
 
+	/**
+	 * Returns the Target that claims the MapLocation.
+	 * @param mapLoc must be claimed.
+	 */
+	public Target get(final MapLocation mapLoc) {
+		assert this.mapLocMap.containsKey(mapLoc) : "unclaimed MapLocation: " + mapLoc;
+		return this.mapLocMap.get(mapLoc);
+	}
+
 	/**
 	 * Unclaims the MapLocation and returns its associated Target.
 	 * @param mapLoc must be claimed.
@@ -137,12 +144,20 @@ public class EnlightenmentCenterHandler implements RobotPlayer.IRobotHandler {
 
 	// number of rounds to TODO
 	private static final int FLAG_COOLDOWN_START = 1;
+	// a Target whose tile no unit has reported for this many rounds has likely moved or died.
+	private static final int STALE_TARGET_ROUNDS = 50;
+	// stands in for the last raw flag of an Id not yet read; never equal to a raw flag (which lies on [0, 2**24))
+	private static final int NO_RAW_FLAG = -1;
 
 	// >0 indicates a flag needs to remain posted
 	private int flagCooldown = 0;
 	private final TargetQueue targetQueue = new TargetQueue();
+	// tiles reported this round, and the round each was last reported; filters duplicate reports and ages out Targets
+	private final SightingGrid sightingGrid = new SightingGrid();
 	// stores all currently-known teammate Id's
 	private final Set<Integer> friendlyIdSet = new HashSet<>();
+	// maps each known teammate Id to the raw flag it posted when last read
+	private final IntIntHashMap lastRawFlagMap = new IntIntHashMap();
 	private int numUnitsBuilt = 0;
 
 	/**
@@ -204,78 +219,189 @@ public class EnlightenmentCenterHandler implements RobotPlayer.IRobotHandler {
     		final int id = idIterator.next();
     		if (!rc.canSenseRobot(id)) {
     			idIterator.remove();
+    			this.lastRawFlagMap.remove(id);
     		}
     	}
     }
 
     /**
-     * Updates the target queue to reflect any new info in the EnemySightedFlag.
+     * Pushes a sighted Target; replaces any Target of another RobotType already claiming its MapLocation.
+     *
+     * The queue is touched only if the Target is new or changed: a tile already reported this round
+     * costs one bit test (see SightingGrid), and a Target already claiming its MapLocation is kept.
      *
      * @param rc the RobotController for the current round.
      */
-    private void readEnemySightedFlag(final RobotController rc, final EnemySightedFlag flag) {
-    	final MapLocation mapLoc = flag.getMapLoc(rc.getLocation());
-    	final Target target = new Target(flag.getRobotType(), mapLoc);
+    private void pushSightedTarget(final RobotController rc, final Target target) {
+    	final int roundNum = rc.getRoundNum();
+    	if (this.sightingGrid.testAndSetReported(target.mapLoc, roundNum)) {
+    		// another unit reported the same tile this round
+    		return;
+    	}
+    	this.sightingGrid.setLastUpdatedRound(target.mapLoc, roundNum);
     	// is the MapLocation already associated with a target?
-    	if (this.targetQueue.mapLocClaimed(mapLoc)) {
+    	if (this.targetQueue.mapLocClaimed(target.mapLoc)) {
+    		if (this.targetQueue.get(target.mapLoc).robotType == target.robotType) {
+    			// nothing new
+    			return;
+    		}
     		// assume the latest flag is more up-to-date and remove the old target
-    		this.targetQueue.remove(mapLoc);
+    		this.targetQueue.remove(target.mapLoc);
     	}
     	this.targetQueue.push(target);
     }
 
     /**
-     * Updates the target queue to reflect any new info in the TargetMissingFlag.
+     * Updates the target queue to reflect any new info in an encoded EnemySightedFlag.
      *
      * @param rc the RobotController for the current round.
+     * @param rawFlag must encode an EnemySightedFlag.
      */
-    private void readTargetMissingFlag(final RobotController rc, final TargetMissingFlag flag) {
-    	final MapLocation mapLoc = flag.getMapLoc(rc.getLocation());
+    private void readEnemySightedFlag(final RobotController rc, final int rawFlag) {
+    	final MapLocation mapLoc = RawFlag.EnemySighted.getMapLoc(rawFlag, rc.getLocation());
+    	this.pushSightedTarget(rc, new Target(RawFlag.EnemySighted.getRobotType(rawFlag), mapLoc));
+    }
+
+    /**
+     * Updates the target queue to reflect any new info in an encoded EnemySightedNearbyFlag.
+     *
+     * @param rc the RobotController for the current round.
+     * @param senderId the Id of the robot that posted the flag. Must be sensable.
+     * @param rawFlag must encode an EnemySightedNearbyFlag.
+     */
+    private void readEnemySightedNearbyFlag(final RobotController rc, final int senderId, final int rawFlag) {
+    	final MapLocation senderMapLoc = EnlightenmentCenterHandler.senseMapLoc(rc, senderId);
+    	final MapLocation mapLoc = RawFlag.EnemySightedNearby.getMapLoc(rawFlag, senderMapLoc);
+    	this.pushSightedTarget(rc, new Target(RawFlag.EnemySightedNearby.getRobotType(rawFlag), mapLoc));
+    }
+
+    /**
+     * Updates the target queue to reflect any new info in an encoded EnemiesSightedNearbyFlag.
+     *
+     * @param rc the RobotController for the current round.
+     * @param senderId the Id of the robot that posted the flag. Must be sensable.
+     * @param rawFlag must encode an EnemiesSightedNearbyFlag.
+     */
+    private void readEnemiesSightedNearbyFlag(final RobotController rc, final int senderId, final int rawFlag) {
+    	final MapLocation senderMapLoc = EnlightenmentCenterHandler.senseMapLoc(rc, senderId);
+    	this.pushSightedTarget(rc, new Target(RawFlag.EnemiesSightedNearby.getFirstRobotType(rawFlag),
+    			RawFlag.EnemiesSightedNearby.getFirstMapLoc(rawFlag, senderMapLoc)));
+    	this.pushSightedTarget(rc, new Target(RawFlag.EnemiesSightedNearby.getSecondRobotType(rawFlag),
+    			RawFlag.EnemiesSightedNearby.getSecondMapLoc(rawFlag, senderMapLoc)));
+    }
+
+    /**
+     * Returns the current location of a robot.
+     *
+     * @param rc the RobotController for the current round.
+     * @param robotId must be sensable.
+     */
+    private static MapLocation senseMapLoc(final RobotController rc, final int robotId) {
+    	try {
+    		return rc.senseRobot(robotId).getLocation();
+    	} catch (final GameActionException e) {
+    		// shouldn't happen-- canSenseRobot is a precondition.
+    		throw new UtilBattlecode.IllegalGameActionException(e);
+    	}
+    }
+
+    /**
+     * Updates the target queue to reflect any new info in an encoded TargetMissingFlag.
+     *
+     * @param rc the RobotController for the current round.
+     * @param rawFlag must encode a TargetMissingFlag.
+     */
+    private void readTargetMissingFlag(final RobotController rc, final int rawFlag) {
+    	final MapLocation mapLoc = RawFlag.TargetMissing.getMapLoc(rawFlag, rc.getLocation());
     	// remove any targets we thought existed there
     	if (this.targetQueue.mapLocClaimed(mapLoc)) {
     		this.targetQueue.remove(mapLoc);
     	}
+    	// a later sighting this round is news again
+    	this.sightingGrid.clearReported(mapLoc, rc.getRoundNum());
+    	this.sightingGrid.setLastUpdatedRound(mapLoc, rc.getRoundNum());
     }
 
     /**
      * Listens for any flags that might affect the Target queue.
      * Update the queue to reflect new information.
      *
+     * Note: flags are read directly from their encoded bits (see RawFlag); no IFlag is allocated.
+     * Only flags that changed since they were last read are handled, so a flag held for many rounds
+     * (e.g. a repeated EnemySightedFlag) updates the queue once; each round it stays posted, it only
+     * refreshes its tile's last-updated round, so its Target does not age out while still reported.
+     * Sender-relative flags are always handled: the same bits locate another tile once the sender moves.
+     *
      * @param rc the RobotController for the current round.
      */
     private void updateTargetQueue(final RobotController rc) {
-    	final Function<Integer, IFlag> flagMapper = new Function<Integer, IFlag>() {
-			@Override
-			public IFlag apply(final Integer id) {
-				assert rc.canSenseRobot(id);
-				try {
-					return Flag.decode(rc.getFlag(id));
-				} catch (final GameActionException e) {
-					// shouldn't happen-- canSenseRobot is a precondition.
-					throw new UtilBattlecode.IllegalGameActionException(e);
-				}
-			}
-    	};
-
-    	// sense/store flags for all known friendly ID's
-    	final List<IFlag> teammateFlagList = new ArrayList<>();
-    	{
-    		final Stream<IFlag> teammateFlagStream = this.friendlyIdSet.stream().map(flagMapper);
-    		UtilGeneral.legalCollect(teammateFlagStream, teammateFlagList);
+    	// sense/handle flags for all known friendly ID's
+    	for (final int id : this.friendlyIdSet) {
+    		assert rc.canSenseRobot(id);
+    		final int rawFlag;
+    		try {
+    			rawFlag = rc.getFlag(id);
+    		} catch (final GameActionException e) {
+    			// shouldn't happen-- canSenseRobot is a precondition.
+    			throw new UtilBattlecode.IllegalGameActionException(e);
+    		}
+    		// skip flags already handled
+    		if ((this.lastRawFlagMap.get(id, EnlightenmentCenterHandler.NO_RAW_FLAG) == rawFlag)
+    				&& !RawFlag.isSenderRelative(rawFlag)) {
+    			if (RawFlag.getOpCode(rawFlag) == FlagOpCode.ENEMY_SIGHTED) {
+    				// still reported
+    				this.sightingGrid.setLastUpdatedRound(RawFlag.EnemySighted.getMapLoc(rawFlag, rc.getLocation()),
+    						rc.getRoundNum());
+    			}
+    			continue;
+    		}
+    		this.lastRawFlagMap.put(id, rawFlag);
+    		// handle each flag type we're listening for
+    		switch (RawFlag.getOpCode(rawFlag)) {
+    			case ENEMY_SIGHTED:
+    				// read non-teammate callout flag
+    				this.readEnemySightedFlag(rc, rawFlag);
+    				break;
+    			case ENEMY_SIGHTED_NEARBY:
+    				// same, but located relative to the sender
+    				this.readEnemySightedNearbyFlag(rc, id, rawFlag);
+    				break;
+    			case ENEMIES_SIGHTED_NEARBY:
+    				// two callouts in one flag
+    				this.readEnemiesSightedNearbyFlag(rc, id, rawFlag);
+    				break;
+    			case TARGET_MISSING:
+    				// read "target isn't where it's expected" flag
+    				this.readTargetMissingFlag(rc, rawFlag);
+    				break;
+    			default:
+    				break;
+    		}
     	}
+    }
 
-    	// handle each IFlag type we're listening for
-    	for (final IFlag flag : teammateFlagList) {
-    		if (flag instanceof EnemySightedFlag) {
-    			// read non-teammate callout flag
-    			this.readEnemySightedFlag(rc, (EnemySightedFlag)flag);
-    		} else if (flag instanceof TargetMissingFlag) {
-    			// read "target isn't where it's expected" flag
-    			this.readTargetMissingFlag(rc, (TargetMissingFlag)flag);
-    		}
+    /**
+     * Pops every Target at the head of the queue whose tile has not been reported for STALE_TARGET_ROUNDS
+     * rounds, so no Politician is sent after an enemy that has likely moved or died.
+     * Stale Targets behind the head are dropped once they reach it.
+     *
+     * @param rc the RobotController for the current round.
+     */
+    private void dropStaleTargets(final RobotController rc) {
+    	while ((this.targetQueue.size() > 0)
+    			&& ((rc.getRoundNum() - this.sightingGrid.getLastUpdatedRound(this.targetQueue.peek().mapLoc))
+    					> EnlightenmentCenterHandler.STALE_TARGET_ROUNDS)) {
+    		UtilBattlecode.log("Dropping stale target: " + this.targetQueue.pop().mapLoc);
     	}
     }
 
+    /**
+     * Returns the number of queued Targets.
+     */
+    public int getNumTargets() {
+    	return this.targetQueue.size();
+    }
+
     /**
      * Plans a unit/assignment-flag pair to build/post.
      * Attempts to build the unit and post the flag.
@@ -324,6 +450,7 @@ public class EnlightenmentCenterHandler implements RobotPlayer.IRobotHandler {
 
 		// listen for TargetMissingFlags/EnemySightedFlags
 		this.updateTargetQueue(rc);
+		this.dropStaleTargets(rc);
 
 		// did we recently build something?
 		if (this.flagCooldown > 0) {
@@ -1,13 +1,10 @@
 package player.handlers.robots;
 
 import java.util.AbstractMap.SimpleImmutableEntry;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Stream;
 
 import battlecode.common.GameActionException;
 import battlecode.common.MapLocation;
@@ -17,13 +14,15 @@ import battlecode.common.RobotType;
 import player.RobotPlayer;
 import player.handlers.common.HandlerCommon;
 import player.handlers.common.LinearMoverHandler;
+import player.handlers.common.NavigationHandler;
 import player.handlers.common.PredicateFactories;
 import player.util.battlecode.UtilBattlecode;
 import player.util.battlecode.flag.Flag.IFlag;
+import player.util.battlecode.flag.FlagOutbox;
 import player.util.battlecode.flag.types.AttackAssignmentFlag;
 import player.util.battlecode.flag.types.PatrolAssignmentFlag;
 import player.util.battlecode.flag.types.TargetMissingFlag;
-import player.util.general.UtilGeneral;
+import player.util.battlecode.flag.util.RecentReportCache;
 import player.util.math.DoubleVec2D;
 import player.util.math.Line2D;
 import player.util.math.UtilMath;
@@ -45,6 +44,10 @@ public class PoliticianHandler implements RobotPlayer.IRobotHandler {
 
 	// assignment handler for the Politician's current Enlightenment-Center-given assignment
 	IAssignmentHandler assignmentHandler;
+	// flags to post; shared by every assignment handler
+	final FlagOutbox flagOutbox = new FlagOutbox();
+	// enemies recently called out; shared by every assignment handler
+	final RecentReportCache recentReportCache = new RecentReportCache();
 
 	public PoliticianHandler(final RobotController rc) {
 		final List<RobotInfo> sensedRobots = Arrays.asList(rc.senseNearbyRobots());
@@ -181,15 +184,17 @@ public class PoliticianHandler implements RobotPlayer.IRobotHandler {
 		public IAssignmentHandler handle(final RobotController rc) {
 			final List<RobotInfo> sensedRobots = Arrays.asList(rc.senseNearbyRobots());
 
-			// call out an enemy to listening enlightenment centers
-			HandlerCommon.setHighestPriorityEnemySightedFlag(rc, sensedRobots);
-
 			// Attempt to empower any enemies in-range.
 			if (!PoliticianHandler.this.attemptEmpowerNearestNonTeammate(rc, sensedRobots)) {
 				// Empowerment failed! (none are in-range, or cooldown exists).
 				// Just patrol...
 				this.patrolStep(rc);
 			}
+
+			// call out an enemy to listening enlightenment centers
+			// (after moving, so the flag is located relative to where they will sense us)
+			HandlerCommon.setHighestPriorityEnemySightedFlag(rc, PoliticianHandler.this.flagOutbox,
+					PoliticianHandler.this.recentReportCache, sensedRobots);
 			this.assertValidRep();
 			return this;
 		}
@@ -205,6 +210,8 @@ public class PoliticianHandler implements RobotPlayer.IRobotHandler {
 		MapLocation targetMapLoc;
 		// If > 0, the TargetMissingFlag has been posted.
 		int targetMissingCooldown;
+		// moves the Politician into empower range of the target.
+		final NavigationHandler navigationHandler;
 
 		/**
 		 * Guides the Politician to its target and empowers as soon as possible.
@@ -214,6 +221,7 @@ public class PoliticianHandler implements RobotPlayer.IRobotHandler {
 		public AttackAssignmentHandler(final MapLocation targetMapLoc) {
 			this.targetMapLoc = targetMapLoc;
 			this.targetMissingCooldown = 0;
+			this.navigationHandler = new NavigationHandler(targetMapLoc, RobotType.POLITICIAN.actionRadiusSquared);
 		}
 
 		@Override
@@ -246,16 +254,26 @@ public class PoliticianHandler implements RobotPlayer.IRobotHandler {
 							.findAny();
 					if (targetRobotOpt.isPresent()) {
 						// Target found! Move into empower range.
-						PoliticianHandler.this.attemptMoveCloser(rc, this.targetMapLoc);
+						this.navigationHandler.attemptStep(rc);
 					} else {
 						// target not found :(
 						// post the TargetMissingFlag to inform our origin Enlightenment Center
+						// (kept up for the whole cooldown; enemy callouts cannot displace it)
 						final TargetMissingFlag flag = new TargetMissingFlag(this.targetMapLoc);
-						HandlerCommon.setFlag(rc, flag);
+						PoliticianHandler.this.flagOutbox.post(flag, FlagOutbox.Priority.HIGH,
+								AttackAssignmentHandler.TARGET_MISSING_COOLDOWN_START, 0, rc.getRoundNum());
 						this.targetMissingCooldown = AttackAssignmentHandler.TARGET_MISSING_COOLDOWN_START;
 					}
+				} else {
+					// Target is out of sensor range; head toward it.
+					this.navigationHandler.attemptStep(rc);
 				}
 			}
+			if (nextHandler == this) {
+				// call out an enemy to listening enlightenment centers (after moving)
+				HandlerCommon.setHighestPriorityEnemySightedFlag(rc, PoliticianHandler.this.flagOutbox,
+						PoliticianHandler.this.recentReportCache, sensedRobots);
+			}
 			return nextHandler;
 		}
 	}
@@ -315,52 +333,12 @@ public class PoliticianHandler implements RobotPlayer.IRobotHandler {
 		return empowerSuccess;
 	}
 
-	/**
-	 * Attempts to move the robot toward a target MapLocation.
-	 *
-	 * @param rc the RobotController for the current round.
-	 * @param targetLoc the MapLocation to attempt to move toward.
-	 * @return true iff a move is attempted and successful; else false.
-	 */
-	private boolean attemptMoveCloser(final RobotController rc, final MapLocation targetLoc) {
-
-		final Function<MapLocation, Double> distanceCostFunc = new Function<MapLocation, Double>() {
-			static final int PASSABILITY_WEIGHT = 100000;
-			@Override
-			public Double apply(final MapLocation mapLoc) {
-				try {
-					// higher passability, lower distance ----> lower cost
-					return -(rc.sensePassability(mapLoc) * PASSABILITY_WEIGHT) + mapLoc.distanceSquaredTo(targetLoc);
-				} catch (final GameActionException e) {
-					// should never happen; passabilities are sensed only at adjacent (i.e. senseable) locations.
-					throw new UtilBattlecode.IllegalGameActionException(e);
-				}
-			}
-		};
-
-		// only select from MapLocations that are closer to the target than rc.getLocation().
-		final List<MapLocation> closerMapLocations = new ArrayList<>();
-		{
-			final Stream<MapLocation> closerMapLocStream =
-					UtilBattlecode.makeAllAdjacentMapLocStream(rc.getLocation())
-					.filter(PredicateFactories.mapLocCloser(rc.getLocation(), targetLoc));
-			UtilGeneral.legalCollect(closerMapLocStream, closerMapLocations);
-		}
-
-		// arbitrarily assume the move fails
-		boolean moveSuccess = false;
-		if (closerMapLocations.size() > 0) {
-			// find the MapLocation of least cost and attempt to move there
-			final MapLocation moveToLoc = UtilGeneral.getLeastCostLinear(closerMapLocations, distanceCostFunc);
-			moveSuccess = HandlerCommon.attemptMove(rc, rc.getLocation().directionTo(moveToLoc));
-		}
-		return moveSuccess;
-	}
-
 	@Override
 	public RobotPlayer.IRobotHandler handle(final RobotController rc) {
 		assert rc.getType() == RobotType.POLITICIAN : "illegal controller RobotType: " + rc.getType();
 		this.assignmentHandler = this.assignmentHandler.handle(rc);
+		// post this round's flag
+		HandlerCommon.setFlagFromOutbox(rc, this.flagOutbox, this.recentReportCache);
 		return this;
 	}
 
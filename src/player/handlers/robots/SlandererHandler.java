@@ -17,12 +17,18 @@ import player.RobotPlayer;
 import player.handlers.common.HandlerCommon;
 import player.handlers.common.PredicateFactories;
 import player.util.battlecode.flag.Flag.IFlag;
+import player.util.battlecode.flag.FlagOutbox;
+import player.util.battlecode.flag.util.RecentReportCache;
 import player.util.general.UtilGeneral;
 
 public class SlandererHandler implements RobotPlayer.IRobotHandler {
 
 	// the MapLocation of the Enlightenment Center from which the Slanderer originates.
 	private final MapLocation originEnlightenmentCenterMapLoc;
+	// flags to post
+	private final FlagOutbox flagOutbox = new FlagOutbox();
+	// enemies recently called out
+	private final RecentReportCache recentReportCache = new RecentReportCache();
 
 	/**
 	 * Handles a Slanderer robot.
@@ -50,9 +56,6 @@ public class SlandererHandler implements RobotPlayer.IRobotHandler {
 
 		final List<RobotInfo> sensedRobots = Arrays.asList(rc.senseNearbyRobots());
 
-		// call out the highest priority enemy to any listening enlightenment centers
-		HandlerCommon.setHighestPriorityEnemySightedFlag(rc, sensedRobots);
-
 		// find all non-teammates
 		final List<RobotInfo> nonTeamRobots = new ArrayList<>();
         {
@@ -81,6 +84,12 @@ public class SlandererHandler implements RobotPlayer.IRobotHandler {
     		HandlerCommon.attemptMove(rc, awayDirectionOpt.get());
     	} // else no adjacent/on-the-map/unoccupied spaces exist
 
+    	// call out the highest priority enemy to any listening enlightenment centers
+    	// (after moving, so the flag is located relative to where they will sense us)
+    	HandlerCommon.setHighestPriorityEnemySightedFlag(rc, this.flagOutbox, this.recentReportCache, sensedRobots);
+    	// post this round's flag
+    	HandlerCommon.setFlagFromOutbox(rc, this.flagOutbox, this.recentReportCache);
+
         return this;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package player.util.battlecode;
+
+import battlecode.common.MapLocation;
+
+/**
+ * Records, for every tile of the map, whether it was reported during the current round and the round
+ * it was last updated.
+ *
+ * No world is wider than MAX_WORLD_WIDTH, so the bottom six bits of each coordinate identify a tile on
+ * the map (the same wrap-around trick RawFlag uses to encode a MapLocation); the grid is indexed
+ * modulo MAX_WORLD_WIDTH and never needs the map's origin.
+ *
+ * "Reported this round" is one bit per tile (one long per row); the bits are cleared lazily, on the
+ * first call of each new round.
+ */
+public class SightingGrid {
+
+	// stands in for the last-updated round of a tile never updated; rounds begin at 1.
+	public static final int NEVER = 0;
+
+	private static final int DIM_MASK = UtilBattlecode.MAX_WORLD_WIDTH - 1;
+	private static final int NUM_DIM_BITS = Integer.numberOfTrailingZeros(UtilBattlecode.MAX_WORLD_WIDTH);
+
+	private final long[] reportedRows;  // bit x of row y is set iff (x, y) was reported during reportedRoundNum
+	private int reportedRoundNum;
+	private final int[] lastUpdatedRoundNums;  // indexed by (y * MAX_WORLD_WIDTH) + x
+	private int numDuplicates;
+
+	public SightingGrid() {
+		this.reportedRows = new long[UtilBattlecode.MAX_WORLD_WIDTH];
+		this.reportedRoundNum = SightingGrid.NEVER;
+		// zeroed (i.e. NEVER) by allocation
+		this.lastUpdatedRoundNums = new int[UtilBattlecode.MAX_WORLD_WIDTH * UtilBattlecode.MAX_WORLD_WIDTH];
+		this.numDuplicates = 0;
+	}
+
+	/**
+	 * Clears every reported bit if a new round has begun.
+	 */
+	private void advanceRound(final int roundNum) {
+		assert roundNum >= this.reportedRoundNum : "roundNum: " + roundNum + "; reportedRoundNum: " + this.reportedRoundNum;
+		if (roundNum != this.reportedRoundNum) {
+			for (int y = 0; y < this.reportedRows.length; ++y) {
+				this.reportedRows[y] = 0;
+			}
+			this.reportedRoundNum = roundNum;
+		}
+	}
+
+	private static int getTileIndex(final MapLocation mapLoc) {
+		return ((mapLoc.y & SightingGrid.DIM_MASK) << SightingGrid.NUM_DIM_BITS) | (mapLoc.x & SightingGrid.DIM_MASK);
+	}
+
+	/**
+	 * Marks a tile reported during the current round.
+	 * Counts a duplicate if it already was.
+	 *
+	 * @param mapLoc must lie on the map.
+	 * @param roundNum the current round.
+	 * @return true iff the tile was already reported during the current round.
+	 */
+	public boolean testAndSetReported(final MapLocation mapLoc, final int roundNum) {
+		this.advanceRound(roundNum);
+		final long bit = 1L << (mapLoc.x & SightingGrid.DIM_MASK);
+		final int y = mapLoc.y & SightingGrid.DIM_MASK;
+		final boolean isReported = (this.reportedRows[y] & bit) != 0;
+		if (isReported) {
+			this.numDuplicates++;
+		} else {
+			this.reportedRows[y] |= bit;
+		}
+		return isReported;
+	}
+
+	/**
+	 * Unmarks a tile reported during the current round (e.g. its report turned out to be stale).
+	 *
+	 * @param mapLoc must lie on the map.
+	 * @param roundNum the current round.
+	 */
+	public void clearReported(final MapLocation mapLoc, final int roundNum) {
+		this.advanceRound(roundNum);
+		this.reportedRows[mapLoc.y & SightingGrid.DIM_MASK] &= ~(1L << (mapLoc.x & SightingGrid.DIM_MASK));
+	}
+
+	/**
+	 * Returns the round a tile was last updated; else NEVER.
+	 *
+	 * @param mapLoc must lie on the map.
+	 */
+	public int getLastUpdatedRound(final MapLocation mapLoc) {
+		return this.lastUpdatedRoundNums[SightingGrid.getTileIndex(mapLoc)];
+	}
+
+	/**
+	 * @param mapLoc must lie on the map.
+	 * @param roundNum the current round. Must be positive.
+	 */
+	public void setLastUpdatedRound(final MapLocation mapLoc, final int roundNum) {
+		assert roundNum > SightingGrid.NEVER : "roundNum: " + roundNum;
+		this.lastUpdatedRoundNums[SightingGrid.getTileIndex(mapLoc)] = roundNum;
+	}
+
+	/**
+	 * Returns the number of reports of a tile already reported during the same round.
+	 */
+	public int getNumDuplicates() {
+		return this.numDuplicates;
+	}
+}
@@ -0,0 +1,229 @@
+package player.util.battlecode.flag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+
+import player.util.battlecode.flag.Flag.IFlag;
+
+/**
+ * Holds the flags a robot wants to post, and picks exactly one of them to post each round.
+ *
+ * Each message has:
+ *     a Priority: the pending message of highest Priority is posted first (ties: the earliest posted).
+ *     a number of rounds to stay posted: e.g. long enough for every listener to read it. A message
+ *         stays posted until they elapse, unless one of higher Priority arrives (it then resumes).
+ *     a number of rounds it may wait: a message not yet posted within them is dropped (aged out).
+ *         Flags located relative to the sender should not wait at all, since the sender may move.
+ *
+ * A message identical to a pending one (i.e. the same raw flag) is merged into it, keeping the higher
+ * Priority and the longer durations. If the outbox is full, the message of lowest Priority is dropped.
+ *
+ * A flag located relative to the sender (see RawFlag.isSenderRelative) is posted for one round only and
+ * never waits. During a round with no message, the posted flag is normally left up; a sender-relative
+ * one is replaced with EMPTY_FLAG, since the sender may have moved and listeners (e.g. one that lost
+ * sight of the sender meanwhile) would decode it against the wrong origin.
+ */
+public class FlagOutbox {
+
+	public static enum Priority {
+		LOW,
+		NORMAL,
+		HIGH
+	}
+
+	public static final int DEFAULT_CAPACITY = 8;
+
+	/**
+	 * A pending (or partially posted) message.
+	 */
+	private static class Message {
+		final int rawFlag;
+		Priority priority;
+		int numRoundsLeft;  // rounds left to stay posted
+		int lastRoundNum;  // the last round the message may first be posted
+		final int seqNum;  // orders messages by arrival
+		boolean isStarted;  // true iff posted during some round
+
+		Message(final int rawFlag, final Priority priority, final int numRounds, final int lastRoundNum, final int seqNum) {
+			this.rawFlag = rawFlag;
+			this.priority = priority;
+			this.numRoundsLeft = numRounds;
+			this.lastRoundNum = lastRoundNum;
+			this.seqNum = seqNum;
+			this.isStarted = false;
+		}
+
+		/**
+		 * Returns true iff this message should be posted before another.
+		 */
+		boolean precedes(final Message other) {
+			final int priorityCmp = this.priority.compareTo(other.priority);
+			return (priorityCmp > 0) || ((priorityCmp == 0) && (this.seqNum < other.seqNum));
+		}
+	}
+
+	private final int capacity;
+	private final List<Message> messageList;
+	private int nextSeqNum;
+	private int postedRawFlag;  // the flag left posted by the last call to nextRawFlag()
+	private int numPosted;  // rounds during which a flag was posted
+	private int numMerged;
+	private int numExpired;
+	private int numDropped;
+
+	/**
+	 * @param capacity the maximum number of pending messages. Must be positive.
+	 */
+	public FlagOutbox(final int capacity) {
+		assert capacity > 0 : "capacity: " + capacity;
+		this.capacity = capacity;
+		this.messageList = new ArrayList<>(capacity);
+		this.nextSeqNum = 0;
+		this.postedRawFlag = Flag.EMPTY_FLAG;
+		this.numPosted = 0;
+		this.numMerged = 0;
+		this.numExpired = 0;
+		this.numDropped = 0;
+	}
+
+	public FlagOutbox() {
+		this(FlagOutbox.DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Queues a flag that must be posted during the current round or not at all, for one round.
+	 *
+	 * @param roundNum the current round.
+	 */
+	public void post(final IFlag flag, final Priority priority, final int roundNum) {
+		this.post(flag, priority, 1, 0, roundNum);
+	}
+
+	/**
+	 * Queues a flag.
+	 *
+	 * @param numRounds the number of rounds the flag should stay posted. Must be positive;
+	 *     must be 1 if the flag is located relative to the sender.
+	 * @param maxWaitRounds the number of rounds after the current one that the flag may wait to be
+	 *     first posted. Must be non-negative; must be 0 if the flag is located relative to the sender.
+	 * @param roundNum the current round.
+	 */
+	public void post(final IFlag flag, final Priority priority, final int numRounds, final int maxWaitRounds, final int roundNum) {
+		assert numRounds > 0 : "numRounds: " + numRounds;
+		assert maxWaitRounds >= 0 : "maxWaitRounds: " + maxWaitRounds;
+		final int rawFlag = Flag.encode(flag);
+		assert !RawFlag.isSenderRelative(rawFlag) || ((numRounds == 1) && (maxWaitRounds == 0)) :
+			"sender-relative flag posted for " + numRounds + " rounds, waiting " + maxWaitRounds;
+		final int lastRoundNum = roundNum + maxWaitRounds;
+
+		// merge into an identical pending message
+		for (final Message message : this.messageList) {
+			if (message.rawFlag == rawFlag) {
+				if (priority.compareTo(message.priority) > 0) {
+					message.priority = priority;
+				}
+				message.numRoundsLeft = Math.max(message.numRoundsLeft, numRounds);
+				message.lastRoundNum = Math.max(message.lastRoundNum, lastRoundNum);
+				this.numMerged++;
+				return;
+			}
+		}
+
+		final Message newMessage = new Message(rawFlag, priority, numRounds, lastRoundNum, this.nextSeqNum++);
+		if (this.messageList.size() == this.capacity) {
+			// drop the last message in posting order (possibly the new one)
+			int lastIndex = 0;
+			for (int i = 1; i < this.messageList.size(); ++i) {
+				if (this.messageList.get(lastIndex).precedes(this.messageList.get(i))) {
+					lastIndex = i;
+				}
+			}
+			this.numDropped++;
+			if (!newMessage.precedes(this.messageList.get(lastIndex))) {
+				return;
+			}
+			this.messageList.remove(lastIndex);
+		}
+		this.messageList.add(newMessage);
+	}
+
+	/**
+	 * Drops every message that can no longer be first posted by the current round.
+	 */
+	private void expire(final int roundNum) {
+		for (int i = this.messageList.size() - 1; i >= 0; --i) {
+			final Message message = this.messageList.get(i);
+			if (!message.isStarted && (message.lastRoundNum < roundNum)) {
+				this.messageList.remove(i);
+				this.numExpired++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the raw flag to post during the current round; else an empty OptionalInt if the posted
+	 * flag should stay up (i.e. none is pending, and the posted flag is not sender-relative).
+	 * Should be called once per round, after every message for the round has been posted.
+	 *
+	 * @param roundNum the current round.
+	 */
+	public OptionalInt nextRawFlag(final int roundNum) {
+		this.expire(roundNum);
+		if (this.messageList.isEmpty()) {
+			if (RawFlag.isSenderRelative(this.postedRawFlag)) {
+				// stale once the sender moves
+				this.postedRawFlag = Flag.EMPTY_FLAG;
+				return OptionalInt.of(this.postedRawFlag);
+			}
+			return OptionalInt.empty();
+		}
+		int firstIndex = 0;
+		for (int i = 1; i < this.messageList.size(); ++i) {
+			if (this.messageList.get(i).precedes(this.messageList.get(firstIndex))) {
+				firstIndex = i;
+			}
+		}
+		final Message message = this.messageList.get(firstIndex);
+		message.isStarted = true;
+		message.numRoundsLeft--;
+		if (message.numRoundsLeft == 0) {
+			this.messageList.remove(firstIndex);
+		}
+		this.numPosted++;
+		this.postedRawFlag = message.rawFlag;
+		return OptionalInt.of(message.rawFlag);
+	}
+
+	/**
+	 * Returns the number of pending messages.
+	 */
+	public int getDepth() {
+		return this.messageList.size();
+	}
+
+	public int getNumPosted() {
+		return this.numPosted;
+	}
+
+	/**
+	 * Returns the number of messages merged into an identical pending message.
+	 */
+	public int getNumMerged() {
+		return this.numMerged;
+	}
+
+	/**
+	 * Returns the number of messages dropped because they waited too long to be posted.
+	 */
+	public int getNumExpired() {
+		return this.numExpired;
+	}
+
+	/**
+	 * Returns the number of messages dropped because the outbox was full.
+	 */
+	public int getNumDropped() {
+		return this.numDropped;
+	}
+}
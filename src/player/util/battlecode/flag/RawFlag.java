@@ -0,0 +1,481 @@
+// GENERATED by codegen/flag/FlagCodecGenerator.java from codegen/flags.spec; DO NOT EDIT.
+// Regenerate with `./gradlew generateFlagCodecs`.
+package player.util.battlecode.flag;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotType;
+import player.util.battlecode.flag.types.EmptyFlag;
+import player.util.battlecode.flag.types.PatrolAssignmentFlag;
+import player.util.battlecode.flag.types.TargetMissingFlag;
+import player.util.battlecode.flag.types.EnemySightedFlag;
+import player.util.battlecode.flag.types.AttackAssignmentFlag;
+import player.util.battlecode.flag.types.FragmentFlag;
+import player.util.battlecode.flag.types.EnemySightedNearbyFlag;
+import player.util.battlecode.flag.types.EnemiesSightedNearbyFlag;
+import player.util.battlecode.flag.util.UtilFlag.FlagOpCode;
+import player.util.math.UtilMath;
+
+/**
+ * Reads/writes the fields of encoded (i.e. "raw") flags directly, without allocating IFlag instances.
+ *
+ * Each flag type has a fixed layout of shifts/masks; fields are packed from the least-significant bit,
+ * beginning with the op-code:
+ *
+ *     Empty: [op-code:3]
+ *     PatrolAssignment: [op-code:3][outboundDegrees:9]
+ *     TargetMissing: [op-code:3][mapLoc:14]
+ *     EnemySighted: [op-code:3][robotType:2][mapLoc:14]
+ *     AttackAssignment: [op-code:3][mapLoc:14]
+ *     Fragment: [op-code:3][seqNum:4][last:1][payload:16]
+ *     EnemySightedNearby: [op-code:3][robotType:2][mapLoc:8]
+ *     EnemiesSightedNearby: [op-code:3][firstRobotType:2][firstMapLoc:8][secondRobotType:2][secondMapLoc:8]
+ */
+public class RawFlag {
+
+	public static final int NUM_OP_CODE_BITS = 3;
+	public static final int OP_CODE_MASK = 0x7;
+
+	private static final FlagOpCode[] FLAG_OP_CODE_ARRAY = FlagOpCode.values();
+	private static final RobotType[] ROBOT_TYPE_ARRAY = RobotType.values();
+
+	static {
+		// op-codes must match FlagOpCode ordinals
+		assert FlagOpCode.EMPTY.ordinal() == Empty.OP_CODE : "EMPTY";
+		assert FlagOpCode.ASSIGN_PATROL.ordinal() == PatrolAssignment.OP_CODE : "ASSIGN_PATROL";
+		assert FlagOpCode.TARGET_MISSING.ordinal() == TargetMissing.OP_CODE : "TARGET_MISSING";
+		assert FlagOpCode.ENEMY_SIGHTED.ordinal() == EnemySighted.OP_CODE : "ENEMY_SIGHTED";
+		assert FlagOpCode.ASSIGN_ATTACK.ordinal() == AttackAssignment.OP_CODE : "ASSIGN_ATTACK";
+		assert FlagOpCode.FRAGMENT.ordinal() == Fragment.OP_CODE : "FRAGMENT";
+		assert FlagOpCode.ENEMY_SIGHTED_NEARBY.ordinal() == EnemySightedNearby.OP_CODE : "ENEMY_SIGHTED_NEARBY";
+		assert FlagOpCode.ENEMIES_SIGHTED_NEARBY.ordinal() == EnemiesSightedNearby.OP_CODE : "ENEMIES_SIGHTED_NEARBY";
+		assert RawFlag.FLAG_OP_CODE_ARRAY.length == 8 : "FlagOpCode count";
+	}
+
+	/**
+	 * Returns the bits of the FlagOpCode of a raw flag.
+	 */
+	public static int getOpCodeBits(final int rawFlag) {
+		return rawFlag & RawFlag.OP_CODE_MASK;
+	}
+
+	/**
+	 * Returns the FlagOpCode of a raw flag.
+	 *
+	 * @param rawFlag must lie on [0, 2**Flag.MAX_NUM_BITS)
+	 */
+	public static FlagOpCode getOpCode(final int rawFlag) {
+		return RawFlag.FLAG_OP_CODE_ARRAY[rawFlag & RawFlag.OP_CODE_MASK];
+	}
+
+	/**
+	 * Decodes a raw flag into an IFlag instance.
+	 *
+	 * @param rawFlag must lie on [0, 2**Flag.MAX_NUM_BITS)
+	 */
+	public static Flag.IFlag decode(final int rawFlag) {
+		switch (rawFlag & RawFlag.OP_CODE_MASK) {
+			case Empty.OP_CODE: return EmptyFlag.fromRawFlag(rawFlag);
+			case PatrolAssignment.OP_CODE: return PatrolAssignmentFlag.fromRawFlag(rawFlag);
+			case TargetMissing.OP_CODE: return TargetMissingFlag.fromRawFlag(rawFlag);
+			case EnemySighted.OP_CODE: return EnemySightedFlag.fromRawFlag(rawFlag);
+			case AttackAssignment.OP_CODE: return AttackAssignmentFlag.fromRawFlag(rawFlag);
+			case Fragment.OP_CODE: return FragmentFlag.fromRawFlag(rawFlag);
+			case EnemySightedNearby.OP_CODE: return EnemySightedNearbyFlag.fromRawFlag(rawFlag);
+			case EnemiesSightedNearby.OP_CODE: return EnemiesSightedNearbyFlag.fromRawFlag(rawFlag);
+			default: throw new IllegalArgumentException("unrecognized op-code: " + (rawFlag & RawFlag.OP_CODE_MASK));
+		}
+	}
+
+	/**
+	 * Returns true iff a raw flag has a field located relative to its sender (i.e. a MapOffset);
+	 * it then decodes correctly only while the sender stays where it posted the flag.
+	 *
+	 * @param rawFlag must lie on [0, 2**Flag.MAX_NUM_BITS)
+	 */
+	public static boolean isSenderRelative(final int rawFlag) {
+		switch (rawFlag & RawFlag.OP_CODE_MASK) {
+			case EnemySightedNearby.OP_CODE:
+			case EnemiesSightedNearby.OP_CODE:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Returns the final `numDimBits` bits of each MapLocation dimension (x, then y).
+	 */
+	private static int encodeMapLoc(final MapLocation mapLoc, final int dimMask, final int numDimBits) {
+		return (mapLoc.x & dimMask) | ((mapLoc.y & dimMask) << numDimBits);
+	}
+
+	/**
+	 * Returns the MapLocation nearest to referenceMapLoc whose dimensions end in the (x, then y) bits
+	 * at the bottom of `bits`.
+	 */
+	private static MapLocation decodeMapLoc(final int bits, final int dimMask, final int numDimBits,
+			final MapLocation referenceMapLoc) {
+		final int xDiff = UtilMath.diffMod(bits & dimMask, referenceMapLoc.x & dimMask, dimMask + 1);
+		final int yDiff = UtilMath.diffMod((bits >>> numDimBits) & dimMask, referenceMapLoc.y & dimMask, dimMask + 1);
+		return new MapLocation(referenceMapLoc.x + xDiff, referenceMapLoc.y + yDiff);
+	}
+
+	private static boolean isOffsetInRange(final MapLocation mapLoc, final MapLocation originMapLoc,
+			final int minOffset, final int maxOffset) {
+		final int dx = mapLoc.x - originMapLoc.x;
+		final int dy = mapLoc.y - originMapLoc.y;
+		return (dx >= minOffset) && (dx <= maxOffset) && (dy >= minOffset) && (dy <= maxOffset);
+	}
+
+	/**
+	 * Returns the (two's complement) offset from originMapLoc to mapLoc in each dimension (x, then y).
+	 */
+	private static int encodeMapOffset(final MapLocation mapLoc, final MapLocation originMapLoc, final int dimMask,
+			final int numDimBits) {
+		return ((mapLoc.x - originMapLoc.x) & dimMask) | (((mapLoc.y - originMapLoc.y) & dimMask) << numDimBits);
+	}
+
+	/**
+	 * Returns originMapLoc plus the (x, then y) offsets at the bottom of `bits`.
+	 */
+	private static MapLocation decodeMapOffset(final int bits, final int numDimBits, final MapLocation originMapLoc) {
+		// shift each offset's sign bit into bit 31, then sign-extend it back down
+		final int signShift = 32 - numDimBits;
+		final int dx = (bits << signShift) >> signShift;
+		final int dy = ((bits >>> numDimBits) << signShift) >> signShift;
+		return new MapLocation(originMapLoc.x + dx, originMapLoc.y + dy);
+	}
+
+	/**
+	 * Layout of an encoded EmptyFlag: [op-code:3]
+	 */
+	public static class Empty {
+		public static final int OP_CODE = 0;
+		public static final int NUM_BITS = 3;
+
+		/**
+		 * Returns the raw flag that encodes an EmptyFlag.
+		 */
+		public static int encode() {
+			return Empty.OP_CODE;
+		}
+	}
+
+	/**
+	 * Layout of an encoded PatrolAssignmentFlag: [op-code:3][outboundDegrees:9]
+	 */
+	public static class PatrolAssignment {
+		public static final int OP_CODE = 1;
+		public static final int NUM_BITS = 12;
+		public static final int OUTBOUND_DEGREES_SHIFT = 3;
+		public static final int OUTBOUND_DEGREES_MASK = 0x1ff;
+
+		/**
+		 * Returns the raw flag that encodes a PatrolAssignmentFlag.
+		 *
+		 * @param outboundDegrees must lie on [0, 2**9).
+		 */
+		public static int encode(final int outboundDegrees) {
+			assert (outboundDegrees >= 0) && (outboundDegrees <= PatrolAssignment.OUTBOUND_DEGREES_MASK) : "outboundDegrees: " + outboundDegrees;
+			return PatrolAssignment.OP_CODE
+					| (outboundDegrees << PatrolAssignment.OUTBOUND_DEGREES_SHIFT);
+		}
+
+		/**
+		 * @param rawFlag must encode a PatrolAssignmentFlag.
+		 */
+		public static int getOutboundDegrees(final int rawFlag) {
+			assert (rawFlag & RawFlag.OP_CODE_MASK) == PatrolAssignment.OP_CODE : "rawFlag: " + rawFlag;
+			return (rawFlag >>> PatrolAssignment.OUTBOUND_DEGREES_SHIFT) & PatrolAssignment.OUTBOUND_DEGREES_MASK;
+		}
+	}
+
+	/**
+	 * Layout of an encoded TargetMissingFlag: [op-code:3][mapLoc:14]
+	 */
+	public static class TargetMissing {
+		public static final int OP_CODE = 2;
+		public static final int NUM_BITS = 17;
+		public static final int MAP_LOC_SHIFT = 3;
+		public static final int MAP_LOC_DIM_MASK = 0x7f;
+
+		/**
+		 * Returns the raw flag that encodes a TargetMissingFlag.
+		 *
+		 * @param mapLoc must be valid (i.e. lie on the map).
+		 */
+		public static int encode(final MapLocation mapLoc) {
+			return TargetMissing.OP_CODE
+					| (RawFlag.encodeMapLoc(mapLoc, TargetMissing.MAP_LOC_DIM_MASK, 7) << TargetMissing.MAP_LOC_SHIFT);
+		}
+
+		/**
+		 * @param rawFlag must encode a TargetMissingFlag.
+		 * @param referenceMapLoc *any* valid (i.e. on the map) MapLocation.
+		 */
+		public static MapLocation getMapLoc(final int rawFlag, final MapLocation referenceMapLoc) {
+			assert (rawFlag & RawFlag.OP_CODE_MASK) == TargetMissing.OP_CODE : "rawFlag: " + rawFlag;
+			return RawFlag.decodeMapLoc(rawFlag >>> TargetMissing.MAP_LOC_SHIFT, TargetMissing.MAP_LOC_DIM_MASK, 7, referenceMapLoc);
+		}
+	}
+
+	/**
+	 * Layout of an encoded EnemySightedFlag: [op-code:3][robotType:2][mapLoc:14]
+	 */
+	public static class EnemySighted {
+		public static final int OP_CODE = 3;
+		public static final int NUM_BITS = 19;
+		public static final int ROBOT_TYPE_SHIFT = 3;
+		public static final int ROBOT_TYPE_MASK = 0x3;
+		public static final int MAP_LOC_SHIFT = 5;
+		public static final int MAP_LOC_DIM_MASK = 0x7f;
+
+		/**
+		 * Returns the raw flag that encodes an EnemySightedFlag.
+		 *
+		 * @param mapLoc must be valid (i.e. lie on the map).
+		 */
+		public static int encode(final RobotType robotType, final MapLocation mapLoc) {
+			return EnemySighted.OP_CODE
+					| (robotType.ordinal() << EnemySighted.ROBOT_TYPE_SHIFT)
+					| (RawFlag.encodeMapLoc(mapLoc, EnemySighted.MAP_LOC_DIM_MASK, 7) << EnemySighted.MAP_LOC_SHIFT);
+		}
+
+		/**
+		 * @param rawFlag must encode an EnemySightedFlag.
+		 */
+		public static RobotType getRobotType(final int rawFlag) {
+			assert (rawFlag & RawFlag.OP_CODE_MASK) == EnemySighted.OP_CODE : "rawFlag: " + rawFlag;
+			return RawFlag.ROBOT_TYPE_ARRAY[(rawFlag >>> EnemySighted.ROBOT_TYPE_SHIFT) & EnemySighted.ROBOT_TYPE_MASK];
+		}
+
+		/**
+		 * @param rawFlag must encode an EnemySightedFlag.
+		 * @param referenceMapLoc *any* valid (i.e. on the map) MapLocation.
+		 */
+		public static MapLocation getMapLoc(final int rawFlag, final MapLocation referenceMapLoc) {
+			assert (rawFlag & RawFlag.OP_CODE_MASK) == EnemySighted.OP_CODE : "rawFlag: " + rawFlag;
+			return RawFlag.decodeMapLoc(rawFlag >>> EnemySighted.MAP_LOC_SHIFT, EnemySighted.MAP_LOC_DIM_MASK, 7, referenceMapLoc);
+		}
+	}
+
+	/**
+	 * Layout of an encoded AttackAssignmentFlag: [op-code:3][mapLoc:14]
+	 */
+	public static class AttackAssignment {
+		public static final int OP_CODE = 4;
+		public static final int NUM_BITS = 17;
+		public static final int MAP_LOC_SHIFT = 3;
+		public static final int MAP_LOC_DIM_MASK = 0x7f;
+
+		/**
+		 * Returns the raw flag that encodes an AttackAssignmentFlag.
+		 *
+		 * @param mapLoc must be valid (i.e. lie on the map).
+		 */
+		public static int encode(final MapLocation mapLoc) {
+			return AttackAssignment.OP_CODE
+					| (RawFlag.encodeMapLoc(mapLoc, AttackAssignment.MAP_LOC_DIM_MASK, 7) << AttackAssignment.MAP_LOC_SHIFT);
+		}
+
+		/**
+		 * @param rawFlag must encode an AttackAssignmentFlag.
+		 * @param referenceMapLoc *any* valid (i.e. on the map) MapLocation.
+		 */
+		public static MapLocation getMapLoc(final int rawFlag, final MapLocation referenceMapLoc) {
+			assert (rawFlag & RawFlag.OP_CODE_MASK) == AttackAssignment.OP_CODE : "rawFlag: " + rawFlag;
+			return RawFlag.decodeMapLoc(rawFlag >>> AttackAssignment.MAP_LOC_SHIFT, AttackAssignment.MAP_LOC_DIM_MASK, 7, referenceMapLoc);
+		}
+	}
+
+	/**
+	 * Layout of an encoded FragmentFlag: [op-code:3][seqNum:4][last:1][payload:16]
+	 */
+	public static class Fragment {
+		public static final int OP_CODE = 5;
+		public static final int NUM_BITS = 24;
+		public static final int SEQ_NUM_SHIFT = 3;
+		public static final int SEQ_NUM_MASK = 0xf;
+		public static final int LAST_SHIFT = 7;
+		public static final int LAST_MASK = 0x1;
+		public static final int PAYLOAD_SHIFT = 8;
+		public static final int PAYLOAD_MASK = 0xffff;
+
+		/**
+		 * Returns the raw flag that encodes a FragmentFlag.
+		 *
+		 * @param seqNum must lie on [0, 2**4).
+		 * @param payload must lie on [0, 2**16).
+		 */
+		public static int encode(final int seqNum, final boolean last, final int payload) {
+			assert (seqNum >= 0) && (seqNum <= Fragment.SEQ_NUM_MASK) : "seqNum: " + seqNum;
+			assert (payload >= 0) && (payload <= Fragment.PAYLOAD_MASK) : "payload: " + payload;
+			return Fragment.OP_CODE
+					| (seqNum << Fragment.SEQ_NUM_SHIFT)
+					| ((last ? 1 : 0) << Fragment.LAST_SHIFT)
+					| (payload << Fragment.PAYLOAD_SHIFT);
+		}
+
+		/**
+		 * @param rawFlag must encode a FragmentFlag.
+		 */
+		public static int getSeqNum(final int rawFlag) {
+			assert (rawFlag & RawFlag.OP_CODE_MASK) == Fragment.OP_CODE : "rawFlag: " + rawFlag;
+			return (rawFlag >>> Fragment.SEQ_NUM_SHIFT) & Fragment.SEQ_NUM_MASK;
+		}
+
+		/**
+		 * @param rawFlag must encode a FragmentFlag.
+		 */
+		public static boolean isLast(final int rawFlag) {
+			assert (rawFlag & RawFlag.OP_CODE_MASK) == Fragment.OP_CODE : "rawFlag: " + rawFlag;
+			return ((rawFlag >>> Fragment.LAST_SHIFT) & Fragment.LAST_MASK) != 0;
+		}
+
+		/**
+		 * @param rawFlag must encode a FragmentFlag.
+		 */
+		public static int getPayload(final int rawFlag) {
+			assert (rawFlag & RawFlag.OP_CODE_MASK) == Fragment.OP_CODE : "rawFlag: " + rawFlag;
+			return (rawFlag >>> Fragment.PAYLOAD_SHIFT) & Fragment.PAYLOAD_MASK;
+		}
+	}
+
+	/**
+	 * Layout of an encoded EnemySightedNearbyFlag: [op-code:3][robotType:2][mapLoc:8]
+	 */
+	public static class EnemySightedNearby {
+		public static final int OP_CODE = 6;
+		public static final int NUM_BITS = 13;
+		public static final int ROBOT_TYPE_SHIFT = 3;
+		public static final int ROBOT_TYPE_MASK = 0x3;
+		public static final int MAP_LOC_SHIFT = 5;
+		public static final int MAP_LOC_DIM_MASK = 0xf;
+		public static final int MAP_LOC_MIN_OFFSET = -8;
+		public static final int MAP_LOC_MAX_OFFSET = 7;
+
+		/**
+		 * Returns the raw flag that encodes an EnemySightedNearbyFlag.
+		 *
+		 * @param mapLoc must lie in range of originMapLoc (see isMapLocInRange()).
+		 * @param originMapLoc the location from which offsets are measured (e.g. the sender's location
+		 *     at the end of its turn, as readers will sense it).
+		 */
+		public static int encode(final RobotType robotType, final MapLocation mapLoc, final MapLocation originMapLoc) {
+			assert EnemySightedNearby.isMapLocInRange(mapLoc, originMapLoc) : "mapLoc: " + mapLoc + ", originMapLoc: " + originMapLoc;
+			return EnemySightedNearby.OP_CODE
+					| (robotType.ordinal() << EnemySightedNearby.ROBOT_TYPE_SHIFT)
+					| (RawFlag.encodeMapOffset(mapLoc, originMapLoc, EnemySightedNearby.MAP_LOC_DIM_MASK, 4) << EnemySightedNearby.MAP_LOC_SHIFT);
+		}
+
+		/**
+		 * Returns true iff `mapLoc` lies within [MAP_LOC_MIN_OFFSET, MAP_LOC_MAX_OFFSET] of originMapLoc in both dimensions.
+		 */
+		public static boolean isMapLocInRange(final MapLocation mapLoc, final MapLocation originMapLoc) {
+			return RawFlag.isOffsetInRange(mapLoc, originMapLoc, EnemySightedNearby.MAP_LOC_MIN_OFFSET, EnemySightedNearby.MAP_LOC_MAX_OFFSET);
+		}
+
+		/**
+		 * @param rawFlag must encode an EnemySightedNearbyFlag.
+		 */
+		public static RobotType getRobotType(final int rawFlag) {
+			assert (rawFlag & RawFlag.OP_CODE_MASK) == EnemySightedNearby.OP_CODE : "rawFlag: " + rawFlag;
+			return RawFlag.ROBOT_TYPE_ARRAY[(rawFlag >>> EnemySightedNearby.ROBOT_TYPE_SHIFT) & EnemySightedNearby.ROBOT_TYPE_MASK];
+		}
+
+		/**
+		 * @param rawFlag must encode an EnemySightedNearbyFlag.
+		 * @param originMapLoc the location the offset was encoded against (e.g. the sender's sensed location).
+		 */
+		public static MapLocation getMapLoc(final int rawFlag, final MapLocation originMapLoc) {
+			assert (rawFlag & RawFlag.OP_CODE_MASK) == EnemySightedNearby.OP_CODE : "rawFlag: " + rawFlag;
+			return RawFlag.decodeMapOffset(rawFlag >>> EnemySightedNearby.MAP_LOC_SHIFT, 4, originMapLoc);
+		}
+	}
+
+	/**
+	 * Layout of an encoded EnemiesSightedNearbyFlag: [op-code:3][firstRobotType:2][firstMapLoc:8][secondRobotType:2][secondMapLoc:8]
+	 */
+	public static class EnemiesSightedNearby {
+		public static final int OP_CODE = 7;
+		public static final int NUM_BITS = 23;
+		public static final int FIRST_ROBOT_TYPE_SHIFT = 3;
+		public static final int FIRST_ROBOT_TYPE_MASK = 0x3;
+		public static final int FIRST_MAP_LOC_SHIFT = 5;
+		public static final int FIRST_MAP_LOC_DIM_MASK = 0xf;
+		public static final int FIRST_MAP_LOC_MIN_OFFSET = -8;
+		public static final int FIRST_MAP_LOC_MAX_OFFSET = 7;
+		public static final int SECOND_ROBOT_TYPE_SHIFT = 13;
+		public static final int SECOND_ROBOT_TYPE_MASK = 0x3;
+		public static final int SECOND_MAP_LOC_SHIFT = 15;
+		public static final int SECOND_MAP_LOC_DIM_MASK = 0xf;
+		public static final int SECOND_MAP_LOC_MIN_OFFSET = -8;
+		public static final int SECOND_MAP_LOC_MAX_OFFSET = 7;
+
+		/**
+		 * Returns the raw flag that encodes an EnemiesSightedNearbyFlag.
+		 *
+		 * @param firstMapLoc must lie in range of originMapLoc (see isFirstMapLocInRange()).
+		 * @param secondMapLoc must lie in range of originMapLoc (see isSecondMapLocInRange()).
+		 * @param originMapLoc the location from which offsets are measured (e.g. the sender's location
+		 *     at the end of its turn, as readers will sense it).
+		 */
+		public static int encode(final RobotType firstRobotType, final MapLocation firstMapLoc, final RobotType secondRobotType, final MapLocation secondMapLoc, final MapLocation originMapLoc) {
+			assert EnemiesSightedNearby.isFirstMapLocInRange(firstMapLoc, originMapLoc) : "firstMapLoc: " + firstMapLoc + ", originMapLoc: " + originMapLoc;
+			assert EnemiesSightedNearby.isSecondMapLocInRange(secondMapLoc, originMapLoc) : "secondMapLoc: " + secondMapLoc + ", originMapLoc: " + originMapLoc;
+			return EnemiesSightedNearby.OP_CODE
+					| (firstRobotType.ordinal() << EnemiesSightedNearby.FIRST_ROBOT_TYPE_SHIFT)
+					| (RawFlag.encodeMapOffset(firstMapLoc, originMapLoc, EnemiesSightedNearby.FIRST_MAP_LOC_DIM_MASK, 4) << EnemiesSightedNearby.FIRST_MAP_LOC_SHIFT)
+					| (secondRobotType.ordinal() << EnemiesSightedNearby.SECOND_ROBOT_TYPE_SHIFT)
+					| (RawFlag.encodeMapOffset(secondMapLoc, originMapLoc, EnemiesSightedNearby.SECOND_MAP_LOC_DIM_MASK, 4) << EnemiesSightedNearby.SECOND_MAP_LOC_SHIFT);
+		}
+
+		/**
+		 * Returns true iff `firstMapLoc` lies within [FIRST_MAP_LOC_MIN_OFFSET, FIRST_MAP_LOC_MAX_OFFSET] of originMapLoc in both dimensions.
+		 */
+		public static boolean isFirstMapLocInRange(final MapLocation firstMapLoc, final MapLocation originMapLoc) {
+			return RawFlag.isOffsetInRange(firstMapLoc, originMapLoc, EnemiesSightedNearby.FIRST_MAP_LOC_MIN_OFFSET, EnemiesSightedNearby.FIRST_MAP_LOC_MAX_OFFSET);
+		}
+
+		/**
+		 * Returns true iff `secondMapLoc` lies within [SECOND_MAP_LOC_MIN_OFFSET, SECOND_MAP_LOC_MAX_OFFSET] of originMapLoc in both dimensions.
+		 */
+		public static boolean isSecondMapLocInRange(final MapLocation secondMapLoc, final MapLocation originMapLoc) {
+			return RawFlag.isOffsetInRange(secondMapLoc, originMapLoc, EnemiesSightedNearby.SECOND_MAP_LOC_MIN_OFFSET, EnemiesSightedNearby.SECOND_MAP_LOC_MAX_OFFSET);
+		}
+
+		/**
+		 * @param rawFlag must encode an EnemiesSightedNearbyFlag.
+		 */
+		public static RobotType getFirstRobotType(final int rawFlag) {
+			assert (rawFlag & RawFlag.OP_CODE_MASK) == EnemiesSightedNearby.OP_CODE : "rawFlag: " + rawFlag;
+			return RawFlag.ROBOT_TYPE_ARRAY[(rawFlag >>> EnemiesSightedNearby.FIRST_ROBOT_TYPE_SHIFT) & EnemiesSightedNearby.FIRST_ROBOT_TYPE_MASK];
+		}
+
+		/**
+		 * @param rawFlag must encode an EnemiesSightedNearbyFlag.
+		 * @param originMapLoc the location the offset was encoded against (e.g. the sender's sensed location).
+		 */
+		public static MapLocation getFirstMapLoc(final int rawFlag, final MapLocation originMapLoc) {
+			assert (rawFlag & RawFlag.OP_CODE_MASK) == EnemiesSightedNearby.OP_CODE : "rawFlag: " + rawFlag;
+			return RawFlag.decodeMapOffset(rawFlag >>> EnemiesSightedNearby.FIRST_MAP_LOC_SHIFT, 4, originMapLoc);
+		}
+
+		/**
+		 * @param rawFlag must encode an EnemiesSightedNearbyFlag.
+		 */
+		public static RobotType getSecondRobotType(final int rawFlag) {
+			assert (rawFlag & RawFlag.OP_CODE_MASK) == EnemiesSightedNearby.OP_CODE : "rawFlag: " + rawFlag;
+			return RawFlag.ROBOT_TYPE_ARRAY[(rawFlag >>> EnemiesSightedNearby.SECOND_ROBOT_TYPE_SHIFT) & EnemiesSightedNearby.SECOND_ROBOT_TYPE_MASK];
+		}
+
+		/**
+		 * @param rawFlag must encode an EnemiesSightedNearbyFlag.
+		 * @param originMapLoc the location the offset was encoded against (e.g. the sender's sensed location).
+		 */
+		public static MapLocation getSecondMapLoc(final int rawFlag, final MapLocation originMapLoc) {
+			assert (rawFlag & RawFlag.OP_CODE_MASK) == EnemiesSightedNearby.OP_CODE : "rawFlag: " + rawFlag;
+			return RawFlag.decodeMapOffset(rawFlag >>> EnemiesSightedNearby.SECOND_MAP_LOC_SHIFT, 4, originMapLoc);
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package player.util.battlecode.flag.fragment;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import player.util.battlecode.flag.RawFlag;
+import player.util.general.IntIntHashMap;
+
+/**
+ * Reassembles the fragmented messages of several senders (see FragmentSender).
+ *
+ * Each sender's flag should be read every round. A partial message is dropped if one of its fragments
+ * is missed (e.g. a round was skipped), or if the sender posts any other flag before its final fragment.
+ * At most `maxPartialMessages` partial messages are buffered; the least-recently extended one is evicted first.
+ */
+public class FragmentReassembler {
+
+	// enough for a handful of concurrent senders (each partial message holds MAX_NUM_WORDS words).
+	public static final int DEFAULT_MAX_PARTIAL_MESSAGES = 8;
+	// stands in for the last raw flag of a sender not yet read; never equal to a raw flag (which lies on [0, 2**24))
+	private static final int NO_RAW_FLAG = -1;
+
+	private static class PartialMessage {
+		final int[] words = new int[FragmentSender.MAX_NUM_WORDS];
+		int numWords = 0;
+	}
+
+	private final Map<Integer, PartialMessage> partialMap;  // maps sender Ids to messages; iterates least- to most-recently extended
+	private final IntIntHashMap lastRawFlagMap;  // maps sender Ids to the raw flag read last
+	private int numCompleted;
+	private int numDropped;  // missed fragments or interrupted messages
+	private int numEvicted;
+
+	/**
+	 * @param maxPartialMessages the maximum number of partial messages to buffer. Must be positive.
+	 */
+	public FragmentReassembler(final int maxPartialMessages) {
+		assert maxPartialMessages > 0 : "maxPartialMessages: " + maxPartialMessages;
+		this.partialMap = new LinkedHashMap<Integer, PartialMessage>() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Integer, PartialMessage> eldest) {
+				final boolean evict = this.size() > maxPartialMessages;
+				if (evict) {
+					FragmentReassembler.this.numEvicted++;
+				}
+				return evict;
+			}
+		};
+		this.lastRawFlagMap = new IntIntHashMap();
+		this.numCompleted = 0;
+		this.numDropped = 0;
+		this.numEvicted = 0;
+	}
+
+	/**
+	 * Buffers at most DEFAULT_MAX_PARTIAL_MESSAGES partial messages.
+	 */
+	public FragmentReassembler() {
+		this(FragmentReassembler.DEFAULT_MAX_PARTIAL_MESSAGES);
+	}
+
+	public int getNumCompleted() {
+		return this.numCompleted;
+	}
+
+	/**
+	 * Returns the number of partial messages dropped because a fragment was missed or the sender posted another flag.
+	 */
+	public int getNumDropped() {
+		return this.numDropped;
+	}
+
+	/**
+	 * Returns the number of partial messages evicted to make room for others.
+	 */
+	public int getNumEvicted() {
+		return this.numEvicted;
+	}
+
+	public int getNumPartialMessages() {
+		return this.partialMap.size();
+	}
+
+	/**
+	 * Discards everything known about a sender (e.g. once it can no longer be sensed).
+	 */
+	public void forget(final int senderId) {
+		this.partialMap.remove(senderId);
+		this.lastRawFlagMap.remove(senderId);
+	}
+
+	/**
+	 * Reads a sender's current flag.
+	 * A flag identical to the one read before from the same sender is ignored.
+	 *
+	 * @param rawFlag must lie on [0, 2**Flag.MAX_NUM_BITS)
+	 * @return the payload words of a message iff rawFlag completes one; else an empty Optional.
+	 */
+	public Optional<int[]> read(final int senderId, final int rawFlag) {
+		if (this.lastRawFlagMap.get(senderId, FragmentReassembler.NO_RAW_FLAG) == rawFlag) {
+			return Optional.empty();
+		}
+		this.lastRawFlagMap.put(senderId, rawFlag);
+		// removed here; re-inserted below (so iteration order tracks the most recent extension)
+		final PartialMessage previous = this.partialMap.remove(senderId);
+
+		if (RawFlag.getOpCodeBits(rawFlag) != RawFlag.Fragment.OP_CODE) {
+			if (previous != null) {
+				// interrupted
+				this.numDropped++;
+			}
+			return Optional.empty();
+		}
+
+		final int seqNum = RawFlag.Fragment.getSeqNum(rawFlag);
+		final PartialMessage partial;
+		if (seqNum == 0) {
+			if (previous != null) {
+				// a new message began before the previous one finished
+				this.numDropped++;
+			}
+			partial = new PartialMessage();
+		} else if ((previous != null) && (previous.numWords == seqNum)) {
+			partial = previous;
+		} else {
+			if (previous != null) {
+				// missed a fragment
+				this.numDropped++;
+			}
+			// else began reading mid-message; wait for the next one
+			return Optional.empty();
+		}
+
+		partial.words[partial.numWords] = RawFlag.Fragment.getPayload(rawFlag);
+		partial.numWords++;
+		if (RawFlag.Fragment.isLast(rawFlag)) {
+			this.numCompleted++;
+			return Optional.of(Arrays.copyOf(partial.words, partial.numWords));
+		}
+		this.partialMap.put(senderId, partial);
+		return Optional.empty();
+	}
+}
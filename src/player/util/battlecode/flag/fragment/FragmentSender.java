@@ -0,0 +1,89 @@
+package player.util.battlecode.flag.fragment;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import player.util.battlecode.flag.RawFlag;
+
+/**
+ * Splits messages too large for a single flag into fragments, one posted per round.
+ *
+ * A message is a sequence of 16-bit payload words (at most MAX_NUM_WORDS); word i is carried by the
+ * fragment with sequence number i, and the final fragment is marked. Messages are sent in the order
+ * they were queued, back-to-back. See FragmentReassembler for the reader's side.
+ *
+ * Note: a reader ignores a flag identical to the one it read before, so two identical
+ * single-word messages sent back-to-back arrive as one.
+ */
+public class FragmentSender {
+
+	public static final int NUM_WORD_BITS = Integer.bitCount(RawFlag.Fragment.PAYLOAD_MASK);
+	public static final int MAX_NUM_WORDS = RawFlag.Fragment.SEQ_NUM_MASK + 1;
+	// the largest message, in bits
+	public static final int MAX_NUM_MESSAGE_BITS = FragmentSender.NUM_WORD_BITS * FragmentSender.MAX_NUM_WORDS;
+
+	private final Queue<int[]> messageQueue;  // the first message is being sent
+	private int nextSeqNum;  // the next word of the first message to post
+	private int numFragmentsSent;
+
+	public FragmentSender() {
+		this.messageQueue = new ArrayDeque<>();
+		this.nextSeqNum = 0;
+		this.numFragmentsSent = 0;
+	}
+
+	/**
+	 * Queues a message to be sent after all previously queued messages.
+	 *
+	 * @param words the payload words of the message (copied).
+	 *     Must be non-empty, no longer than MAX_NUM_WORDS, and each word must lie on [0, 2**NUM_WORD_BITS).
+	 */
+	public void send(final int[] words) {
+		assert (words.length > 0) && (words.length <= FragmentSender.MAX_NUM_WORDS) : "length: " + words.length;
+		for (final int word : words) {
+			assert (word >= 0) && (word <= RawFlag.Fragment.PAYLOAD_MASK) : "word: " + word;
+		}
+		this.messageQueue.add(words.clone());
+	}
+
+	/**
+	 * Returns true iff no fragments remain to be posted.
+	 */
+	public boolean isIdle() {
+		return this.messageQueue.isEmpty();
+	}
+
+	/**
+	 * Returns the number of fragments (i.e. rounds) needed to post every queued message.
+	 */
+	public int getNumFragmentsQueued() {
+		int numFragments = -this.nextSeqNum;
+		for (final int[] words : this.messageQueue) {
+			numFragments += words.length;
+		}
+		return numFragments;
+	}
+
+	public int getNumFragmentsSent() {
+		return this.numFragmentsSent;
+	}
+
+	/**
+	 * Returns the raw flag of the next fragment; it should be posted this round.
+	 * Must not be idle.
+	 */
+	public int nextRawFlag() {
+		assert !this.isIdle() : "no fragments to send";
+		final int[] words = this.messageQueue.peek();
+		final int seqNum = this.nextSeqNum;
+		final boolean last = seqNum == (words.length - 1);
+		if (last) {
+			this.messageQueue.remove();
+			this.nextSeqNum = 0;
+		} else {
+			this.nextSeqNum++;
+		}
+		this.numFragmentsSent++;
+		return RawFlag.Fragment.encode(seqNum, last, words[seqNum]);
+	}
+}
@@ -0,0 +1,85 @@
+package player.util.battlecode.flag.types;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotType;
+import player.util.battlecode.flag.Flag;
+import player.util.battlecode.flag.RawFlag;
+
+public class EnemiesSightedNearbyFlag implements Flag.IFlag {
+
+	// the number of sightings carried by each flag
+	public static final int NUM_SIGHTINGS = 2;
+
+	private final int rawFlag;  // encodes the type of each sighted robot and its offset from the sender
+
+	/**
+	 * Like EnemySightedNearbyFlag, but reports two sighted robots at once.
+	 *
+	 * @param firstRobotType the type of the first sighted robot.
+	 * @param firstMapLoc the location of the first sighted robot. Must be in range of senderMapLoc.
+	 * @param secondRobotType the type of the second sighted robot.
+	 * @param secondMapLoc the location of the second sighted robot. Must be in range of senderMapLoc.
+	 * @param senderMapLoc the sender's location at the end of its turn.
+	 */
+	public EnemiesSightedNearbyFlag(final RobotType firstRobotType, final MapLocation firstMapLoc,
+			final RobotType secondRobotType, final MapLocation secondMapLoc, final MapLocation senderMapLoc) {
+		this.rawFlag = RawFlag.EnemiesSightedNearby.encode(firstRobotType, firstMapLoc, secondRobotType, secondMapLoc, senderMapLoc);
+	}
+
+	/**
+	 * See {@link EnemiesSightedNearbyFlag#EnemiesSightedNearbyFlag(RobotType, MapLocation, RobotType, MapLocation, MapLocation)}
+	 *
+	 * @param rawFlag must encode an EnemiesSightedNearbyFlag.
+	 */
+	private EnemiesSightedNearbyFlag(final int rawFlag) {
+		this.rawFlag = rawFlag;
+	}
+
+	/**
+	 * @param rawFlag must encode an EnemiesSightedNearbyFlag.
+	 */
+	public static EnemiesSightedNearbyFlag fromRawFlag(final int rawFlag) {
+		assert RawFlag.getOpCodeBits(rawFlag) == RawFlag.EnemiesSightedNearby.OP_CODE : "rawFlag: " + rawFlag;
+		return new EnemiesSightedNearbyFlag(rawFlag);
+	}
+
+	/**
+	 * Returns true iff a sighting at mapLoc can be encoded relative to senderMapLoc.
+	 */
+	public static boolean isInRange(final MapLocation mapLoc, final MapLocation senderMapLoc) {
+		// both sightings share a width
+		return RawFlag.EnemiesSightedNearby.isFirstMapLocInRange(mapLoc, senderMapLoc);
+	}
+
+	public RobotType getFirstRobotType() {
+		return RawFlag.EnemiesSightedNearby.getFirstRobotType(this.rawFlag);
+	}
+
+	/**
+	 * @param senderMapLoc the sender's location, as sensed by the reader.
+	 */
+	public MapLocation getFirstMapLoc(final MapLocation senderMapLoc) {
+		return RawFlag.EnemiesSightedNearby.getFirstMapLoc(this.rawFlag, senderMapLoc);
+	}
+
+	public RobotType getSecondRobotType() {
+		return RawFlag.EnemiesSightedNearby.getSecondRobotType(this.rawFlag);
+	}
+
+	/**
+	 * @param senderMapLoc the sender's location, as sensed by the reader.
+	 */
+	public MapLocation getSecondMapLoc(final MapLocation senderMapLoc) {
+		return RawFlag.EnemiesSightedNearby.getSecondMapLoc(this.rawFlag, senderMapLoc);
+	}
+
+	@Override
+	public int encode() {
+		return this.rawFlag;
+	}
+
+	@Override
+	public int numBits() {
+		return RawFlag.EnemiesSightedNearby.NUM_BITS;
+	}
+}
@@ -1,35 +1,13 @@
 package player.util.battlecode.flag.types;
 
-import java.util.Arrays;
-import java.util.List;
-
 import battlecode.common.MapLocation;
 import battlecode.common.RobotType;
 import player.util.battlecode.flag.Flag;
-import player.util.battlecode.flag.types.base.BaseFlag;
-import player.util.battlecode.flag.types.base.fields.MapLocField;
-import player.util.battlecode.flag.types.base.fields.RobotTypeField;
-import player.util.battlecode.flag.util.UtilFlag;
-import player.util.battlecode.flag.util.UtilFlag.IFlagFactory;
-
-public class EnemySightedFlag extends BaseFlag {
-
-	// used to decode fields via BaseFlag::decode
-	public static List<BaseFlag.IFlagFieldFactory> fieldFactories = Arrays.asList(
-			RobotTypeField.getFactory(),
-			MapLocField.getFactory()
-	);
-
-	// number of total bits in an encoded flag (precomputed/stored here for later)
-	// note: the Battlecode backend doesn't like "mapToInt" or "sum".
-	private static int NUM_BITS =
-			EnemySightedFlag.fieldFactories.stream().map(factory -> factory.numBits()).reduce(0, (a, b) -> a + b);
+import player.util.battlecode.flag.RawFlag;
 
-	// ordinal() acts as an index into ordered field lists.
-	private enum Field { ROBOT_TYPE, MAP_LOC }
+public class EnemySightedFlag implements Flag.IFlag {
 
-	private final RobotTypeField robotTypeField;  // the type of robot sighted
-	private final MapLocField mapLocField;  // the location at which it was sighted
+	private final int rawFlag;  // encodes the type of robot sighted and the location at which it was sighted
 
 	/**
 	 * Indicates to other units that an enemy (TODO(theimer): non-team?) unit was
@@ -40,18 +18,24 @@ public class EnemySightedFlag extends BaseFlag {
 	 *     Must be valid (i.e. on the map).
 	 */
 	public EnemySightedFlag(final RobotType robotType, final MapLocation mapLoc) {
-		this.robotTypeField = new RobotTypeField(robotType);
-		this.mapLocField = new MapLocField(mapLoc);
+		this.rawFlag = RawFlag.EnemySighted.encode(robotType, mapLoc);
 	}
 
 	/**
-	 * See {@link EnemySightedFlag#EnemySightedFlag(MapLocation)}
+	 * See {@link EnemySightedFlag#EnemySightedFlag(RobotType, MapLocation)}
 	 *
-	 * @param fieldList the ordered fields of an EnemySightedFlag.
+	 * @param rawFlag must encode an EnemySightedFlag.
 	 */
-	private EnemySightedFlag(final List<BaseFlag.IFlagField> fieldList) {
-		this.robotTypeField = (RobotTypeField)fieldList.get(Field.ROBOT_TYPE.ordinal());
-		this.mapLocField = (MapLocField)fieldList.get(Field.MAP_LOC.ordinal());
+	private EnemySightedFlag(final int rawFlag) {
+		this.rawFlag = rawFlag;
+	}
+
+	/**
+	 * @param rawFlag must encode an EnemySightedFlag.
+	 */
+	public static EnemySightedFlag fromRawFlag(final int rawFlag) {
+		assert RawFlag.getOpCodeBits(rawFlag) == RawFlag.EnemySighted.OP_CODE : "rawFlag: " + rawFlag;
+		return new EnemySightedFlag(rawFlag);
 	}
 
 	/**
@@ -60,39 +44,20 @@ public class EnemySightedFlag extends BaseFlag {
 	 * @param referenceMapLoc *any* valid (i.e. on the map) MapLocation.
 	 */
 	public MapLocation getMapLoc(final MapLocation referenceMapLoc) {
-		return this.mapLocField.getMapLocation(referenceMapLoc);
+		return RawFlag.EnemySighted.getMapLoc(this.rawFlag, referenceMapLoc);
 	}
 
 	public RobotType getRobotType() {
-		return this.robotTypeField.getRobotType();
+		return RawFlag.EnemySighted.getRobotType(this.rawFlag);
 	}
 
 	@Override
-	protected List<BaseFlag.IFlagField> getOrderedFlagFieldList() {
-		return Arrays.asList(this.robotTypeField, this.mapLocField);
-	}
-
-	public static IFlagFactory getFactory() {
-		return new IFlagFactory() {
-
-			@Override
-			public Flag.IFlag decode(final int bits) {
-				assert UtilFlag.validBits(EnemySightedFlag.NUM_BITS, bits) : "" + bits;
-				final List<BaseFlag.IFlagField> fields =
-						BaseFlag.decodeFields(bits, EnemySightedFlag.fieldFactories);
-				return new EnemySightedFlag(fields);
-			}
-
-			@Override
-			public int numBits() {
-				return EnemySightedFlag.NUM_BITS;
-			}
-
-		};
+	public int encode() {
+		return this.rawFlag;
 	}
 
 	@Override
 	public int numBits() {
-		return EnemySightedFlag.NUM_BITS;
+		return RawFlag.EnemySighted.NUM_BITS;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package player.util.battlecode.flag.types;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotType;
+import player.util.battlecode.flag.Flag;
+import player.util.battlecode.flag.RawFlag;
+
+public class EnemySightedNearbyFlag implements Flag.IFlag {
+
+	private final int rawFlag;  // encodes the type of robot sighted and its offset from the sender
+
+	/**
+	 * Like EnemySightedFlag, but the sighted robot's location is encoded as a small offset from the
+	 * sender's location (which every reader can sense); uses 8 bits instead of 14.
+	 * Falls back to EnemySightedFlag when the robot lies out of range (see isInRange()).
+	 *
+	 * @param robotType the type of the sighted robot.
+	 * @param mapLoc the location of the sighted robot. Must be in range of senderMapLoc.
+	 * @param senderMapLoc the sender's location at the end of its turn.
+	 */
+	public EnemySightedNearbyFlag(final RobotType robotType, final MapLocation mapLoc, final MapLocation senderMapLoc) {
+		this.rawFlag = RawFlag.EnemySightedNearby.encode(robotType, mapLoc, senderMapLoc);
+	}
+
+	/**
+	 * See {@link EnemySightedNearbyFlag#EnemySightedNearbyFlag(RobotType, MapLocation, MapLocation)}
+	 *
+	 * @param rawFlag must encode an EnemySightedNearbyFlag.
+	 */
+	private EnemySightedNearbyFlag(final int rawFlag) {
+		this.rawFlag = rawFlag;
+	}
+
+	/**
+	 * @param rawFlag must encode an EnemySightedNearbyFlag.
+	 */
+	public static EnemySightedNearbyFlag fromRawFlag(final int rawFlag) {
+		assert RawFlag.getOpCodeBits(rawFlag) == RawFlag.EnemySightedNearby.OP_CODE : "rawFlag: " + rawFlag;
+		return new EnemySightedNearbyFlag(rawFlag);
+	}
+
+	/**
+	 * Returns true iff a sighting at mapLoc can be encoded relative to senderMapLoc.
+	 */
+	public static boolean isInRange(final MapLocation mapLoc, final MapLocation senderMapLoc) {
+		return RawFlag.EnemySightedNearby.isMapLocInRange(mapLoc, senderMapLoc);
+	}
+
+	/**
+	 * Returns the MapLocation indicated by the flag.
+	 *
+	 * @param senderMapLoc the sender's location, as sensed by the reader.
+	 */
+	public MapLocation getMapLoc(final MapLocation senderMapLoc) {
+		return RawFlag.EnemySightedNearby.getMapLoc(this.rawFlag, senderMapLoc);
+	}
+
+	public RobotType getRobotType() {
+		return RawFlag.EnemySightedNearby.getRobotType(this.rawFlag);
+	}
+
+	@Override
+	public int encode() {
+		return this.rawFlag;
+	}
+
+	@Override
+	public int numBits() {
+		return RawFlag.EnemySightedNearby.NUM_BITS;
+	}
+}
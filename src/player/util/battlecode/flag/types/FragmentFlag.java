@@ -0,0 +1,60 @@
+package player.util.battlecode.flag.types;
+
+import player.util.battlecode.flag.Flag;
+import player.util.battlecode.flag.RawFlag;
+
+public class FragmentFlag implements Flag.IFlag {
+
+	private final int rawFlag;  // encodes the sequence number, last-fragment bit, and payload
+
+	/**
+	 * One fragment of a message too large for a single flag; posted over consecutive rounds.
+	 * See FragmentSender / FragmentReassembler.
+	 *
+	 * @param seqNum the index of the fragment within its message. Must lie on [0, 2**4).
+	 * @param last true iff this is the final fragment of its message.
+	 * @param payload the fragment's bits of the message. Must lie on [0, 2**16).
+	 */
+	public FragmentFlag(final int seqNum, final boolean last, final int payload) {
+		this.rawFlag = RawFlag.Fragment.encode(seqNum, last, payload);
+	}
+
+	/**
+	 * See {@link FragmentFlag#FragmentFlag(int, boolean, int)}
+	 *
+	 * @param rawFlag must encode a FragmentFlag.
+	 */
+	private FragmentFlag(final int rawFlag) {
+		this.rawFlag = rawFlag;
+	}
+
+	/**
+	 * @param rawFlag must encode a FragmentFlag.
+	 */
+	public static FragmentFlag fromRawFlag(final int rawFlag) {
+		assert RawFlag.getOpCodeBits(rawFlag) == RawFlag.Fragment.OP_CODE : "rawFlag: " + rawFlag;
+		return new FragmentFlag(rawFlag);
+	}
+
+	public int getSeqNum() {
+		return RawFlag.Fragment.getSeqNum(this.rawFlag);
+	}
+
+	public boolean isLast() {
+		return RawFlag.Fragment.isLast(this.rawFlag);
+	}
+
+	public int getPayload() {
+		return RawFlag.Fragment.getPayload(this.rawFlag);
+	}
+
+	@Override
+	public int encode() {
+		return this.rawFlag;
+	}
+
+	@Override
+	public int numBits() {
+		return RawFlag.Fragment.NUM_BITS;
+	}
+}
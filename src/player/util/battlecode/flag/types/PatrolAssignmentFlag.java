@@ -1,30 +1,14 @@
 package player.util.battlecode.flag.types;
 
-import java.util.Arrays;
-import java.util.List;
-
 import player.util.battlecode.flag.Flag;
-import player.util.battlecode.flag.types.base.BaseFlag;
-import player.util.battlecode.flag.types.base.fields.DegreesField;
-import player.util.battlecode.flag.util.UtilFlag;
-import player.util.battlecode.flag.util.UtilFlag.IFlagFactory;
+import player.util.battlecode.flag.RawFlag;
 import player.util.math.UtilMath;
 
-public class PatrolAssignmentFlag extends BaseFlag {
-
-	// used to decode fields via BaseFlag::decode
-	private static List<BaseFlag.IFlagFieldFactory> fieldFactories = Arrays.asList(
-			DegreesField.getFactory()
-	);
+public class PatrolAssignmentFlag implements Flag.IFlag {
 
-	// number of total bits in an encoded flag (precomputed/stored here for later)
-	// note: the Battlecode backend doesn't like "mapToInt" or "sum".
-	private static int NUM_BITS =
-			PatrolAssignmentFlag.fieldFactories.stream().map(factory -> factory.numBits()).reduce(0, (a, b) -> a + b);
-
-	// Indicates the direction to travel from the receiving robot's initial location.
+	// Encodes the direction to travel from the receiving robot's initial location.
 	// "Outbound" because a patrolling robot will eventually turn around to travel in the opposite direction.
-	private final DegreesField outboundDegrees;
+	private final int rawFlag;
 
 	/**
 	 * Commands units to patrol along a line in a certain direction.
@@ -37,48 +21,29 @@ public class PatrolAssignmentFlag extends BaseFlag {
 	public PatrolAssignmentFlag(final int outboundDegrees) {
 		assert (outboundDegrees >= 0) && (outboundDegrees < UtilMath.CIRCLE_DEGREES) :
 			"outboundDegrees: " + outboundDegrees;
-		this.outboundDegrees = new DegreesField(outboundDegrees);
+		this.rawFlag = RawFlag.PatrolAssignment.encode(outboundDegrees);
 	}
 
 	/**
-	 * TODO(theimer): make sure this link works.
-	 * See {@link PatrolAssignmentFlag#PatrolAssignmentFlag(int)}
-	 *
-	 * @param fieldList the ordered fields of a PatrolAssignmentFlag.
+	 * @param rawFlag must encode a PatrolAssignmentFlag.
 	 */
-	private PatrolAssignmentFlag(final List<BaseFlag.IFlagField> fieldList) {
-		this.outboundDegrees = (DegreesField)fieldList.get(0);
+	public static PatrolAssignmentFlag fromRawFlag(final int rawFlag) {
+		assert RawFlag.getOpCodeBits(rawFlag) == RawFlag.PatrolAssignment.OP_CODE : "rawFlag: " + rawFlag;
+		// re-encoding checks the degrees lie on [0, 360)
+		return new PatrolAssignmentFlag(RawFlag.PatrolAssignment.getOutboundDegrees(rawFlag));
 	}
 
 	public int getOutboundDegrees() {
-		return this.outboundDegrees.getDegrees();
+		return RawFlag.PatrolAssignment.getOutboundDegrees(this.rawFlag);
 	}
 
 	@Override
-	protected List<BaseFlag.IFlagField> getOrderedFlagFieldList() {
-		return Arrays.asList(this.outboundDegrees);
-	}
-
-	public static IFlagFactory getFactory() {
-		return new IFlagFactory() {
-
-			@Override
-			public Flag.IFlag decode(final int bits) {
-				assert UtilFlag.validBits(PatrolAssignmentFlag.NUM_BITS, bits) : "bits: " + bits;
-				final List<BaseFlag.IFlagField> fields =
-						BaseFlag.decodeFields(bits, PatrolAssignmentFlag.fieldFactories);
-				return new PatrolAssignmentFlag(fields);
-			}
-
-			@Override
-			public int numBits() {
-				return PatrolAssignmentFlag.NUM_BITS;
-			}
-		};
+	public int encode() {
+		return this.rawFlag;
 	}
 
 	@Override
 	public int numBits() {
-		return PatrolAssignmentFlag.NUM_BITS;
+		return RawFlag.PatrolAssignment.NUM_BITS;
 	}
-}
\ No newline at end of file
+}
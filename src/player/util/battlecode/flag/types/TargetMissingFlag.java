@@ -1,28 +1,12 @@
 package player.util.battlecode.flag.types;
 
-import java.util.Arrays;
-import java.util.List;
-
 import battlecode.common.MapLocation;
 import player.util.battlecode.flag.Flag;
-import player.util.battlecode.flag.types.base.BaseFlag;
-import player.util.battlecode.flag.types.base.fields.MapLocField;
-import player.util.battlecode.flag.util.UtilFlag;
-import player.util.battlecode.flag.util.UtilFlag.IFlagFactory;
-
-public class TargetMissingFlag extends BaseFlag {
-
-	// used to decode fields via BaseFlag::decode
-	private static List<BaseFlag.IFlagFieldFactory> fieldFactories = Arrays.asList(
-			MapLocField.getFactory()
-	);
+import player.util.battlecode.flag.RawFlag;
 
-	// number of total bits in an encoded flag (precomputed/stored here for later)
-	// note: the Battlecode backend doesn't like "mapToInt" or "sum".
-	private static int NUM_BITS =
-			TargetMissingFlag.fieldFactories.stream().map(factory -> factory.numBits()).reduce(0, (a, b) -> a + b);
+public class TargetMissingFlag implements Flag.IFlag {
 
-	private final MapLocField mapLocField;  // the MapLocation from which an assigned target is missing
+	private final int rawFlag;  // encodes the MapLocation from which an assigned target is missing
 
 	/**
 	 * Used by "attack-assigned" robots to indicate that their
@@ -32,16 +16,24 @@ public class TargetMissingFlag extends BaseFlag {
 	 *     Must be valid (i.e. on the map).
 	 */
 	public TargetMissingFlag(final MapLocation mapLoc) {
-		this.mapLocField = new MapLocField(mapLoc);
+		this.rawFlag = RawFlag.TargetMissing.encode(mapLoc);
 	}
 
 	/**
 	 * See {@link TargetMissingFlag#TargetMissingFlag(MapLocation)}
 	 *
-	 * @param fields the ordered fields of a TargetMissingFlag.
+	 * @param rawFlag must encode a TargetMissingFlag.
 	 */
-	public TargetMissingFlag(final List<BaseFlag.IFlagField> fields) {
-		this.mapLocField = (MapLocField)fields.get(0);
+	private TargetMissingFlag(final int rawFlag) {
+		this.rawFlag = rawFlag;
+	}
+
+	/**
+	 * @param rawFlag must encode a TargetMissingFlag.
+	 */
+	public static TargetMissingFlag fromRawFlag(final int rawFlag) {
+		assert RawFlag.getOpCodeBits(rawFlag) == RawFlag.TargetMissing.OP_CODE : "rawFlag: " + rawFlag;
+		return new TargetMissingFlag(rawFlag);
 	}
 
 	/**
@@ -50,34 +42,16 @@ public class TargetMissingFlag extends BaseFlag {
 	 * @param referenceMapLoc *any* valid (i.e. on the map) MapLocation.
 	 */
 	public MapLocation getMapLoc(final MapLocation referenceMapLoc) {
-		return this.mapLocField.getMapLocation(referenceMapLoc);
+		return RawFlag.TargetMissing.getMapLoc(this.rawFlag, referenceMapLoc);
 	}
 
 	@Override
-	protected List<BaseFlag.IFlagField> getOrderedFlagFieldList() {
-		return Arrays.asList(this.mapLocField);
-	}
-	public static IFlagFactory getFactory() {
-		return new IFlagFactory() {
-
-			@Override
-			public Flag.IFlag decode(final int bits) {
-				assert UtilFlag.validBits(TargetMissingFlag.NUM_BITS, bits) : "bits: " + bits;
-				final List<BaseFlag.IFlagField> fields =
-						BaseFlag.decodeFields(bits, TargetMissingFlag.fieldFactories);
-				return new TargetMissingFlag(fields);
-			}
-
-			@Override
-			public int numBits() {
-				return TargetMissingFlag.NUM_BITS;
-			}
-
-		};
+	public int encode() {
+		return this.rawFlag;
 	}
 
 	@Override
 	public int numBits() {
-		return TargetMissingFlag.NUM_BITS;
+		return RawFlag.TargetMissing.NUM_BITS;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package player.util.battlecode.flag.util;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotType;
+import player.util.general.IntIntHashMap;
+
+/**
+ * Remembers the enemies (by location and RobotType) a robot reported recently, so it can prefer
+ * reporting news over re-announcing an enemy that stays in view.
+ *
+ * A report is recent for `ttlRounds` rounds after the round it was made.
+ * Holds at most `capacity` reports; the least-recently reported is evicted first.
+ *
+ * Reports are kept in a primitive IntIntHashMap (key to round), and the last `capacity` reports in a
+ * ring in the order made; the oldest report in the ring is evicted unless its enemy was reported since.
+ */
+public class RecentReportCache {
+
+	// about the number of enemies a robot reports before they leave its sensor range.
+	public static final int DEFAULT_CAPACITY = 16;
+	// long enough that the listening Enlightenment Center has acted on the report.
+	public static final int DEFAULT_TTL_ROUNDS = 10;
+
+	private final int ttlRounds;
+	private final IntIntHashMap reportMap;  // maps report keys to the round of their latest report
+	private final int[] ringKeys;  // the last `capacity` reports, oldest at ringStart
+	private final int[] ringRoundNums;
+	private int ringStart;
+	private int ringSize;
+	private int numHits;
+	private int numMisses;
+
+	/**
+	 * @param capacity the maximum number of cached reports. Must be positive.
+	 * @param ttlRounds the number of rounds a report stays recent. Must be positive.
+	 */
+	public RecentReportCache(final int capacity, final int ttlRounds) {
+		assert capacity > 0 : "capacity: " + capacity;
+		assert ttlRounds > 0 : "ttlRounds: " + ttlRounds;
+		this.ttlRounds = ttlRounds;
+		this.reportMap = new IntIntHashMap(capacity);
+		this.ringKeys = new int[capacity];
+		this.ringRoundNums = new int[capacity];
+		this.ringStart = 0;
+		this.ringSize = 0;
+		this.numHits = 0;
+		this.numMisses = 0;
+	}
+
+	/**
+	 * Holds at most DEFAULT_CAPACITY reports, each recent for DEFAULT_TTL_ROUNDS rounds.
+	 */
+	public RecentReportCache() {
+		this(RecentReportCache.DEFAULT_CAPACITY, RecentReportCache.DEFAULT_TTL_ROUNDS);
+	}
+
+	/**
+	 * Returns the key of a report; distinct for each location/RobotType pair.
+	 */
+	private static int makeKey(final RobotType robotType, final MapLocation mapLoc) {
+		// map coordinates lie on [0, 2**15), and there are four RobotTypes: 15 + 15 + 2 bits
+		return (mapLoc.x << 17) | (mapLoc.y << 2) | robotType.ordinal();
+	}
+
+	public int getNumHits() {
+		return this.numHits;
+	}
+
+	public int getNumMisses() {
+		return this.numMisses;
+	}
+
+	public int size() {
+		return this.reportMap.size();
+	}
+
+	public void clear() {
+		this.reportMap.clear();
+		this.ringStart = 0;
+		this.ringSize = 0;
+	}
+
+	/**
+	 * Returns true iff the enemy was reported within the last ttlRounds rounds.
+	 * Counts a hit if so; else counts a miss.
+	 *
+	 * @param roundNum the current round.
+	 */
+	public boolean isRecent(final RobotType robotType, final MapLocation mapLoc, final int roundNum) {
+		final int key = RecentReportCache.makeKey(robotType, mapLoc);
+		final boolean isRecent = this.reportMap.containsKey(key) && ((roundNum - this.reportMap.get(key, 0)) < this.ttlRounds);
+		if (isRecent) {
+			this.numHits++;
+		} else {
+			this.numMisses++;
+		}
+		return isRecent;
+	}
+
+	/**
+	 * Records that the enemy is reported during the current round.
+	 *
+	 * @param roundNum the current round.
+	 */
+	public void markReported(final RobotType robotType, final MapLocation mapLoc, final int roundNum) {
+		final int key = RecentReportCache.makeKey(robotType, mapLoc);
+		if (this.reportMap.get(key, -1) == roundNum) {
+			// already reported this round
+			return;
+		}
+		final int capacity = this.ringKeys.length;
+		if (this.ringSize == capacity) {
+			// evict the oldest report, unless its enemy was reported since
+			final int oldestKey = this.ringKeys[this.ringStart];
+			if (this.reportMap.get(oldestKey, -1) == this.ringRoundNums[this.ringStart]) {
+				this.reportMap.remove(oldestKey);
+			}
+			this.ringStart = (this.ringStart + 1) % capacity;
+			this.ringSize--;
+		}
+		final int ringEnd = (this.ringStart + this.ringSize) % capacity;
+		this.ringKeys[ringEnd] = key;
+		this.ringRoundNums[ringEnd] = roundNum;
+		this.ringSize++;
+		this.reportMap.put(key, roundNum);
+	}
+}
@@ -1,14 +1,7 @@
 package player.util.battlecode.flag.util;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import player.util.battlecode.flag.Flag;
-import player.util.battlecode.flag.types.AttackAssignmentFlag;
-import player.util.battlecode.flag.types.EmptyFlag;
-import player.util.battlecode.flag.types.EnemySightedFlag;
-import player.util.battlecode.flag.types.PatrolAssignmentFlag;
-import player.util.battlecode.flag.types.TargetMissingFlag;
+import player.util.battlecode.flag.RawFlag;
 import player.util.math.UtilMath;
 
 /**
@@ -16,8 +9,10 @@ import player.util.math.UtilMath;
  */
 public class UtilFlag {
 
-	// stored before the encoded bits of an IFlag to indicate to Flag::decode how interpret the IFlag's bits
-	public enum FlagOpCode { EMPTY, ASSIGN_PATROL, TARGET_MISSING, ENEMY_SIGHTED, ASSIGN_ATTACK }
+	// stored before the encoded bits of an IFlag to indicate to Flag::decode how interpret the IFlag's bits.
+	// Must list the op-codes of codegen/flags.spec in order (checked by RawFlag).
+	public enum FlagOpCode { EMPTY, ASSIGN_PATROL, TARGET_MISSING, ENEMY_SIGHTED, ASSIGN_ATTACK, FRAGMENT, ENEMY_SIGHTED_NEARBY,
+		ENEMIES_SIGHTED_NEARBY }
 
 	static {
 		// make sure the empty flag is represented correctly
@@ -30,44 +25,7 @@ public class UtilFlag {
 	public static FlagOpCode FLAG_OP_CODE_VALUES[] = FlagOpCode.values();
 
 	// number of bits used to encode each FlagOpCode
-	public static int NUM_OP_CODE_BITS = UtilMath.log2Ceil(UtilFlag.FLAG_OP_CODE_VALUES.length);
-
-	public interface IFlagFactory {
-		/**
-		 * Decodes the bits of an encoded IFlag into an IFlag instance.
-		 *
-		 * @param bits must lie on [0, 2**numBits())
-		 * @return an instance of IFlag as described by the IFlag encoded within the argument bits.
-		 */
-		Flag.IFlag decode(int bits);
-
-		/**
-		 * Returns the number of bits used to encode the IFlag.
-		 */
-		int numBits();
-	}
-
-	// Maps each IFlag classe to the FlagOpCode Flag::encode/::decode uses to identify it.
-	public static Map<Class<? extends Flag.IFlag>, FlagOpCode> flagToOpCodeMap = new HashMap<>();
-
-	// Maps each FlagOpCode to a factory object used to parse the encoded bits of an IFlag
-	public static Map<FlagOpCode, IFlagFactory> opCodeToFactoryMap = new HashMap<>();
-
-	static {
-		// build flagToOpCodeMap -------------------------------------------------
-		UtilFlag.flagToOpCodeMap.put(AttackAssignmentFlag.class, FlagOpCode.ASSIGN_ATTACK);
-		UtilFlag.flagToOpCodeMap.put(EnemySightedFlag.class, FlagOpCode.ENEMY_SIGHTED);
-		UtilFlag.flagToOpCodeMap.put(PatrolAssignmentFlag.class, FlagOpCode.ASSIGN_PATROL);
-		UtilFlag.flagToOpCodeMap.put(TargetMissingFlag.class, FlagOpCode.TARGET_MISSING);
-		UtilFlag.flagToOpCodeMap.put(EmptyFlag.class, FlagOpCode.EMPTY);
-
-		// build opCodeToFactoryMap --------------------------------------------------------
-		UtilFlag.opCodeToFactoryMap.put(FlagOpCode.ASSIGN_ATTACK, AttackAssignmentFlag.getFactory());
-		UtilFlag.opCodeToFactoryMap.put(FlagOpCode.ENEMY_SIGHTED, EnemySightedFlag.getFactory());
-		UtilFlag.opCodeToFactoryMap.put(FlagOpCode.ASSIGN_PATROL, PatrolAssignmentFlag.getFactory());
-		UtilFlag.opCodeToFactoryMap.put(FlagOpCode.TARGET_MISSING, TargetMissingFlag.getFactory());
-		UtilFlag.opCodeToFactoryMap.put(FlagOpCode.EMPTY, EmptyFlag.getFactory());
-	}
+	public static final int NUM_OP_CODE_BITS = RawFlag.NUM_OP_CODE_BITS;
 
 	/**
 	 * Returns true iff `bits` is positive and representable by `expectedNumBits` bits; else false.
@@ -0,0 +1,171 @@
+package player.util.general;
+
+/**
+ * Hash map from int keys to int values, stored in primitive arrays (i.e. no boxing or per-entry allocation).
+ *
+ * Uses open addressing with linear probing; removal shifts later entries of the same probe run
+ * backward, so no tombstones are left behind. The table doubles whenever it becomes half full.
+ */
+public class IntIntHashMap {
+
+	// marks an unused slot; cannot be used as a key.
+	public static final int FREE_KEY = Integer.MIN_VALUE;
+
+	private static final int MIN_CAPACITY = 16;
+	// Fibonacci hashing; spreads consecutive keys (e.g. robot IDs) across the table.
+	private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+	private int[] keys;  // FREE_KEY iff the slot is unused
+	private int[] values;
+	private int mask;  // capacity - 1
+	private int shift;  // 32 - log2(capacity)
+	private int size;
+
+	/**
+	 * @param expectedSize the number of entries to hold without growing. Must be non-negative.
+	 */
+	public IntIntHashMap(final int expectedSize) {
+		assert expectedSize >= 0 : "expectedSize: " + expectedSize;
+		int capacity = IntIntHashMap.MIN_CAPACITY;
+		while (capacity < (expectedSize * 2)) {
+			capacity <<= 1;
+		}
+		this.allocate(capacity);
+	}
+
+	public IntIntHashMap() {
+		this(0);
+	}
+
+	/**
+	 * Replaces the table with an empty one of `capacity` slots.
+	 */
+	private void allocate(final int capacity) {
+		this.keys = new int[capacity];
+		this.values = new int[capacity];
+		for (int i = 0; i < capacity; ++i) {
+			this.keys[i] = IntIntHashMap.FREE_KEY;
+		}
+		this.mask = capacity - 1;
+		this.shift = 32 - Integer.numberOfTrailingZeros(capacity);
+		this.size = 0;
+	}
+
+	/**
+	 * Returns the slot at which a key's probe run begins.
+	 */
+	private int homeSlot(final int key) {
+		return (key * IntIntHashMap.HASH_MULTIPLIER) >>> this.shift;
+	}
+
+	/**
+	 * Returns the slot that holds a key; else the free slot that ends its probe run.
+	 */
+	private int findSlot(final int key) {
+		int slot = this.homeSlot(key);
+		while ((this.keys[slot] != IntIntHashMap.FREE_KEY) && (this.keys[slot] != key)) {
+			slot = (slot + 1) & this.mask;
+		}
+		return slot;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * @param key must not be FREE_KEY.
+	 */
+	public boolean containsKey(final int key) {
+		assert key != IntIntHashMap.FREE_KEY : "illegal key: " + key;
+		return this.keys[this.findSlot(key)] == key;
+	}
+
+	/**
+	 * Returns the value mapped to a key; else defaultValue if the key is not contained.
+	 *
+	 * @param key must not be FREE_KEY.
+	 */
+	public int get(final int key, final int defaultValue) {
+		assert key != IntIntHashMap.FREE_KEY : "illegal key: " + key;
+		final int slot = this.findSlot(key);
+		return (this.keys[slot] == key) ? this.values[slot] : defaultValue;
+	}
+
+	/**
+	 * Maps a key to a value, replacing any previous value.
+	 *
+	 * @param key must not be FREE_KEY.
+	 */
+	public void put(final int key, final int value) {
+		assert key != IntIntHashMap.FREE_KEY : "illegal key: " + key;
+		final int slot = this.findSlot(key);
+		if (this.keys[slot] == key) {
+			this.values[slot] = value;
+			return;
+		}
+		this.keys[slot] = key;
+		this.values[slot] = value;
+		this.size++;
+		if ((this.size * 2) > this.keys.length) {
+			this.grow();
+		}
+	}
+
+	/**
+	 * Doubles the table; re-inserts every entry.
+	 */
+	private void grow() {
+		final int[] oldKeys = this.keys;
+		final int[] oldValues = this.values;
+		this.allocate(oldKeys.length * 2);
+		for (int i = 0; i < oldKeys.length; ++i) {
+			if (oldKeys[i] != IntIntHashMap.FREE_KEY) {
+				final int slot = this.findSlot(oldKeys[i]);
+				this.keys[slot] = oldKeys[i];
+				this.values[slot] = oldValues[i];
+				this.size++;
+			}
+		}
+	}
+
+	/**
+	 * Removes a key (and its value) if it is contained.
+	 *
+	 * @param key must not be FREE_KEY.
+	 * @return true iff the key was contained.
+	 */
+	public boolean remove(final int key) {
+		assert key != IntIntHashMap.FREE_KEY : "illegal key: " + key;
+		int freeSlot = this.findSlot(key);
+		if (this.keys[freeSlot] != key) {
+			return false;
+		}
+		// shift back each later entry of the run that may no longer be reachable from its home slot
+		int slot = (freeSlot + 1) & this.mask;
+		while (this.keys[slot] != IntIntHashMap.FREE_KEY) {
+			final int home = this.homeSlot(this.keys[slot]);
+			// distance probed from home to slot vs. from home to freeSlot (both modulo capacity)
+			if (((slot - home) & this.mask) >= ((freeSlot - home) & this.mask)) {
+				this.keys[freeSlot] = this.keys[slot];
+				this.values[freeSlot] = this.values[slot];
+				freeSlot = slot;
+			}
+			slot = (slot + 1) & this.mask;
+		}
+		this.keys[freeSlot] = IntIntHashMap.FREE_KEY;
+		this.size--;
+		return true;
+	}
+
+	public void clear() {
+		for (int i = 0; i < this.keys.length; ++i) {
+			this.keys[i] = IntIntHashMap.FREE_KEY;
+		}
+		this.size = 0;
+	}
+}
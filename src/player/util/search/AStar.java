@@ -1,5 +1,6 @@
 package player.util.search;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -12,6 +13,8 @@ import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToDoubleFunction;
 
 class Node<T> implements Comparable<Node<T>> {
 	private final T element;
@@ -54,9 +57,14 @@ class Node<T> implements Comparable<Node<T>> {
 		return this.element;
 	}
 
+	/**
+	 * Orders by costSum; ties are broken on the lower heuristic (i.e. the higher costTo), so the Node
+	 * nearest the endgame is expanded first.
+	 */
 	@Override
 	public int compareTo(final Node<T> other) {
-		return (int)Math.signum(this.costSum - other.costSum);
+		final int sumComparison = Double.compare(this.costSum, other.costSum);
+		return (sumComparison != 0) ? sumComparison : Double.compare(other.costTo, this.costTo);
 	}
 }
 
@@ -65,6 +73,33 @@ class Node<T> implements Comparable<Node<T>> {
  */
 public class AStar {
 
+	/**
+	 * One direction of a bidirectional search.
+	 *
+	 * Uses "lazy deletion": improved Nodes are pushed anew rather than updated in place, and any popped
+	 * Node that is no longer the best-known Node of its element is discarded.
+	 */
+	private static class Frontier<T> {
+		final PriorityQueue<Node<T>> pQueue = new PriorityQueue<>();
+		final Map<T, Node<T>> nodeMap = new HashMap<>();  // best-known Node of every seen element
+		final Set<T> closed = new HashSet<>();  // been popped from pQueue.
+
+		/**
+		 * Discards stale Nodes from the top of pQueue.
+		 * @return true iff pQueue still contains a Node.
+		 */
+		boolean prune() {
+			while (!this.pQueue.isEmpty()) {
+				final Node<T> top = this.pQueue.peek();
+				if ((this.nodeMap.get(top.getElement()) == top) && !this.closed.contains(top.getElement())) {
+					return true;
+				}
+				this.pQueue.poll();
+			}
+			return false;
+		}
+	}
+
 	/**
 	 * Returns the path of Node elements from the search tree root to `node`'s element.
 	 * Note: the path of elements includes the elements at the tree root and `node`.
@@ -99,18 +134,49 @@ public class AStar {
 	 */
 	public static <T> List<T> aStarSearch(final T startObj, final Predicate<T> isEndgameCheck, final Function<T, Set<T>> expand,
 			final BiFunction<T, T, Double> cost, final Function<T, Double> heuristic) {
+		final List<T> path = new ArrayList<>();
+		AStar.aStarSearch(startObj, isEndgameCheck, expand, cost::apply, heuristic::apply, path);
+		return Collections.unmodifiableList(path);
+	}
+
+	/**
+	 * Fills pathOut with the elements from the search tree root to `node`'s element.
+	 */
+	private static <T> void fillElementPath(final Node<T> node, final List<T> pathOut) {
+		pathOut.clear();
+		// walk the nodes backwards, then reverse in place
+		for (Node<T> ptr = node; ptr != null; ptr = ptr.getParent()) {
+			pathOut.add(ptr.getElement());
+		}
+		Collections.reverse(pathOut);
+	}
+
+	/**
+	 * Finds a shortest path between two T.
+	 *
+	 * Same as {@link AStar#aStarSearch(Object, Predicate, Function, BiFunction, Function)}, except costs and
+	 * heuristics are never boxed, and the path is written into a caller-owned List (so it can be reused
+	 * across searches).
+	 *
+	 * @param pathOut cleared, then filled with the path (see the other aStarSearch() for its contents).
+	 *     Left empty if there is no path from startObj to the endgame.
+	 * @return true iff a path was found.
+	 */
+	public static <T> boolean aStarSearch(final T startObj, final Predicate<T> isEndgameCheck, final Function<T, Set<T>> expand,
+			final ToDoubleBiFunction<T, T> cost, final ToDoubleFunction<T> heuristic, final List<T> pathOut) {
 		// build the start node
 		final Node<T> startNode;
 		{
 			// these variables only exist as clarification
 			final double startCost = 0;
-			final double startHeuristic = heuristic.apply(startObj);
+			final double startHeuristic = heuristic.applyAsDouble(startObj);
 			final Node<T> startParent = null;
 			startNode = new Node<>(startObj, startCost, startHeuristic, startParent);
 		}
 
 		// initialize the data structures
-		final PriorityQueue<Node<T>> pQueue = new PriorityQueue<>(Arrays.asList(startNode));
+		final PriorityQueue<Node<T>> pQueue = new PriorityQueue<>();
+		pQueue.add(startNode);
 		final Map<T, Node<T>> nodeMap = new HashMap<>();  // contains only nodes in pQueue
 		nodeMap.put(startObj, startNode);
 		final Set<T> closed = new HashSet<>();  // been popped from pQueue.
@@ -123,7 +189,8 @@ public class AStar {
 			assert popped != null : "null Node popped from the queue!";
 			if (isEndgameCheck.test(popped.getElement())) {
 				// found an element in the endgame; ready to return a path.
-				return AStar.getElementPath(popped);
+				AStar.fillElementPath(popped, pathOut);
+				return true;
 			}
 			final Set<T> expanded = expand.apply(popped.getElement());
 			for (final T expandedObj : expanded) {
@@ -131,15 +198,14 @@ public class AStar {
 					// don't want to add it to pQueue or update its costs
 					continue;
 				}
-				final double expandedCost = popped.getCostTo() + cost.apply(popped.getElement(), expandedObj);
-				final double expandedHeuristic = heuristic.apply(expandedObj);
-				final double expandedSum = expandedCost + expandedHeuristic;
-				if (nodeMap.containsKey(expandedObj)) {
+				final double expandedCost = popped.getCostTo() + cost.applyAsDouble(popped.getElement(), expandedObj);
+				final Node<T> containedNode = nodeMap.get(expandedObj);
+				if (containedNode != null) {
 					// pQueue contains expandedObj's Node; check if we need to update its costs
 					// (i.e. we've arrived from a parent along a more-optimal path)
-					final Node<T> containedNode = nodeMap.get(expandedObj);
-					if (containedNode.getCostSum() > expandedSum) {
+					if (containedNode.getCostTo() > expandedCost) {
 						// found a better path; update.
+						final double expandedSum = expandedCost + heuristic.applyAsDouble(expandedObj);
 						// TODO(theimer): make your own heap wih O(log n) update() if this times out!
 						pQueue.remove(containedNode);
 						containedNode.updateParent(popped, expandedCost, expandedSum);
@@ -149,6 +215,7 @@ public class AStar {
 				else {
 					// Neither open nor closed contains expandedObj (we haven't seen this expandedObj yet).
 					// Add it to pQueue/nodeMap.
+					final double expandedSum = expandedCost + heuristic.applyAsDouble(expandedObj);
 					final Node<T> expandedNode = new Node<>(expandedObj, expandedCost, expandedSum, popped);
 					pQueue.add(expandedNode);
 					nodeMap.put(expandedObj, expandedNode);
@@ -156,6 +223,94 @@ public class AStar {
 			}
 		}
 		// reach here only if no path was found
-		return Collections.emptyList();
+		pathOut.clear();
+		return false;
+	}
+
+	/**
+	 * Returns a shortest path between two T.
+	 *
+	 * Grows one search tree forward from startObj and another backward from goalObj, then joins them where
+	 * they meet. On long routes, this expands far fewer elements than aStarSearch().
+	 *
+	 * @param startObj begin the search here. Must lie within valid search space.
+	 * @param goalObj end the search here. Must lie within valid search space.
+	 * @param expand returns the set of all T adjacent to its argument such that each T is valid.
+	 *     Must be symmetric (i.e. b lies in expand(a) iff a lies in expand(b)).
+	 * @param cost returns the cost between its two T arguments. Must return a value >= 0.
+	 * @param heuristic returns an estimated cost from its first T argument to its second. Must be
+	 *     both admissible and consistent.
+	 * @return an *immutable* List of T such that that the first element is startObj, and the final element is
+	 *     goalObj. Each sequential element was generated by expand() on the element before it.
+	 *
+	 *     Returns a List of length 1 [startObj] if startObj equals goalObj.
+	 *     Returns an empty List if there is no path from startObj to goalObj.
+	 */
+	public static <T> List<T> bidirectionalSearch(final T startObj, final T goalObj, final Function<T, Set<T>> expand,
+			final BiFunction<T, T, Double> cost, final BiFunction<T, T, Double> heuristic) {
+		if (startObj.equals(goalObj)) {
+			return Collections.unmodifiableList(Arrays.asList(startObj));
+		}
+		final Frontier<T> forward = new Frontier<>();
+		final Frontier<T> backward = new Frontier<>();
+		{
+			final Node<T> startNode = new Node<>(startObj, 0, heuristic.apply(startObj, goalObj), null);
+			forward.pQueue.add(startNode);
+			forward.nodeMap.put(startObj, startNode);
+			final Node<T> goalNode = new Node<>(goalObj, 0, heuristic.apply(startObj, goalObj), null);
+			backward.pQueue.add(goalNode);
+			backward.nodeMap.put(goalObj, goalNode);
+		}
+
+		// least cost of any path found so far, and the element where its two halves meet
+		double bestCost = Double.POSITIVE_INFINITY;
+		T meetObj = null;
+
+		// stop once either frontier can no longer lead to a cheaper path.
+		while (forward.prune() && backward.prune() &&
+			   (forward.pQueue.peek().getCostSum() < bestCost) && (backward.pQueue.peek().getCostSum() < bestCost)) {
+			// grow the smaller frontier
+			final boolean isForward = forward.pQueue.size() <= backward.pQueue.size();
+			final Frontier<T> frontier = isForward ? forward : backward;
+			final Frontier<T> opposite = isForward ? backward : forward;
+
+			final Node<T> popped = frontier.pQueue.poll();
+			frontier.closed.add(popped.getElement());
+			for (final T expandedObj : expand.apply(popped.getElement())) {
+				if (frontier.closed.contains(expandedObj)) {
+					// don't want to add it to pQueue or update its costs
+					continue;
+				}
+				// the backward frontier follows edges in reverse
+				final double expandedCost = popped.getCostTo() + (isForward ?
+						cost.apply(popped.getElement(), expandedObj) : cost.apply(expandedObj, popped.getElement()));
+				final Node<T> containedNode = frontier.nodeMap.get(expandedObj);
+				if ((containedNode != null) && (containedNode.getCostTo() <= expandedCost)) {
+					continue;
+				}
+				final double expandedHeuristic = isForward ?
+						heuristic.apply(expandedObj, goalObj) : heuristic.apply(startObj, expandedObj);
+				final Node<T> expandedNode = new Node<>(expandedObj, expandedCost, expandedCost + expandedHeuristic, popped);
+				frontier.pQueue.add(expandedNode);
+				frontier.nodeMap.put(expandedObj, expandedNode);
+
+				final Node<T> oppositeNode = opposite.nodeMap.get(expandedObj);
+				if ((oppositeNode != null) && ((expandedCost + oppositeNode.getCostTo()) < bestCost)) {
+					bestCost = expandedCost + oppositeNode.getCostTo();
+					meetObj = expandedObj;
+				}
+			}
+		}
+
+		if (meetObj == null) {
+			// reach here only if no path was found
+			return Collections.emptyList();
+		}
+		// join the forward path to meetObj with the backward path from meetObj
+		final LinkedList<T> path = new LinkedList<>(AStar.getElementPath(forward.nodeMap.get(meetObj)));
+		for (Node<T> ptr = backward.nodeMap.get(meetObj).getParent(); ptr != null; ptr = ptr.getParent()) {
+			path.addLast(ptr.getElement());
+		}
+		return Collections.unmodifiableList(path);
 	}
-}
\ No newline at end of file
+}
@@ -1,49 +1,126 @@
 package player.util.search;
 
-import java.util.ArrayDeque;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Queue;
-import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-
-// TODO(theimer): this file is probably dead
-
-public class BfsGenerator<T> {
-	private final Queue<T> openQueue;  // yet to be expanded elements
-	private final Set<T> closedSet;  // elements that have been added to openQueue
-	private final Function<T, Collection<T>> expandFunc;  // function used to expand elements
-
-	/***
-	 * Generates elements as they would be visited in a BFS search.
+/**
+ * Generates the passable tiles of a SearchGrid in breadth-first order (i.e. a flood-fill).
+ *
+ * Each popped tile's depth (the least number of moves needed to reach it from the start tile) is
+ * available via getDepth(), so a single flood-fill builds both a reachability map and a distance map.
+ *
+ * All state lives in arrays allocated once and reused by every flood-fill; nothing is allocated per tile.
+ */
+public class BfsGenerator {
+
+	// depth limit that never stops a flood-fill
+	public static final int NO_DEPTH_LIMIT = Integer.MAX_VALUE;
+
+	private final SearchGrid grid;
+	// packed indices of tiles yet to be popped lie on [head, tail).
+	// Note: each tile is queued at most once per flood-fill, so the queue never needs to wrap.
+	private final int[] queue;
+	private final int[] queueDepths;  // depth of each queued tile; parallel to `queue`
+	private final long[] visitedBits;  // bit i is set iff tile i has been queued
+	private int head;
+	private int tail;
+	private int maxDepth;
+	private int poppedDepth;
+
+	/**
+	 * Flood-fills over a grid. Tile costs may change between (but not during) flood-fills.
+	 */
+	public BfsGenerator(final SearchGrid grid) {
+		this.grid = grid;
+		this.queue = new int[grid.numTiles];
+		this.queueDepths = new int[grid.numTiles];
+		this.visitedBits = new long[(grid.numTiles + 63) >>> 6];
+		this.head = 0;
+		this.tail = 0;
+		this.maxDepth = BfsGenerator.NO_DEPTH_LIMIT;
+		this.poppedDepth = 0;
+	}
+
+	/**
+	 * Begins a new flood-fill; any previous flood-fill is abandoned.
 	 *
-	 * @param initialElement the root of the BFS search.
-	 * @param expandFunc the function used to expand elements of the BFS search.
+	 * @param startIndex packed index of the first tile to generate (at depth 0).
+	 * @param maxDepth tiles deeper than this are never generated. Must be non-negative.
+	 */
+	public void start(final int startIndex, final int maxDepth) {
+		assert maxDepth >= 0 : "maxDepth: " + maxDepth;
+		for (int i = 0; i < this.visitedBits.length; ++i) {
+			this.visitedBits[i] = 0;
+		}
+		this.head = 0;
+		this.tail = 0;
+		this.maxDepth = maxDepth;
+		this.poppedDepth = 0;
+		this.enqueue(startIndex, 0);
+	}
+
+	/**
+	 * See {@link BfsGenerator#start(int, int)}. Floods every tile reachable from startIndex.
+	 */
+	public void start(final int startIndex) {
+		this.start(startIndex, BfsGenerator.NO_DEPTH_LIMIT);
+	}
+
+	private void enqueue(final int index, final int depth) {
+		this.visitedBits[index >>> 6] |= (1L << index);
+		this.queue[this.tail] = index;
+		this.queueDepths[this.tail] = depth;
+		this.tail++;
+	}
+
+	/**
+	 * Returns true iff a tile has been (or will be) generated by the current flood-fill.
 	 */
-	public BfsGenerator(final T initialElement, final Function<T, Collection<T>> expandFunc) {
-		this.openQueue = new ArrayDeque<>(Arrays.asList(initialElement));
-		this.closedSet = new HashSet<>(Arrays.asList(initialElement));
-		this.expandFunc = expandFunc;
+	public boolean isVisited(final int index) {
+		return (this.visitedBits[index >>> 6] & (1L << index)) != 0;
 	}
 
 	public boolean hasNext() {
-		return this.openQueue.size() > 0;
+		return this.head < this.tail;
 	}
 
 	/**
-	 * Returns the next element (if it exists) of the BfsGenerator.
-	 * Note: throws NoSuchElementException if the BfsGenerator is empty.
+	 * Returns the packed index of the next tile of the flood-fill, and queues its unvisited,
+	 * passable neighbors.
+	 * Must only be called if hasNext() returns true.
 	 */
-	public T next() {
-		final T popped = this.openQueue.remove();
-		final Collection<T> expandedCollection = this.expandFunc.apply(popped);
-		final List<T> unclosedList = expandedCollection.stream()
-				.filter(elt -> !this.closedSet.contains(elt))
-				.collect(Collectors.toList());
-		this.openQueue.addAll(unclosedList);
+	public int next() {
+		assert this.hasNext() : "flood-fill is exhausted";
+		final SearchGrid grid = this.grid;
+		final int popped = this.queue[this.head];
+		final int depth = this.queueDepths[this.head];
+		this.head++;
+		this.poppedDepth = depth;
+		if (depth < this.maxDepth) {
+			final int poppedX = grid.getX(popped);
+			final int poppedY = grid.getY(popped);
+			for (int i = 0; i < SearchGrid.NUM_NEIGHBORS; ++i) {
+				final int x = poppedX + SearchGrid.NEIGHBOR_DX[i];
+				final int y = poppedY + SearchGrid.NEIGHBOR_DY[i];
+				if (grid.inBounds(x, y)) {
+					final int expanded = grid.pack(x, y);
+					if (!this.isVisited(expanded) && grid.isPassable(expanded)) {
+						this.enqueue(expanded, depth + 1);
+					}
+				}
+			}
+		}
 		return popped;
 	}
+
+	/**
+	 * Returns the depth of the tile most recently returned by next().
+	 */
+	public int getDepth() {
+		return this.poppedDepth;
+	}
+
+	/**
+	 * Returns the number of tiles returned by next() since the flood-fill started.
+	 */
+	public int getNumPopped() {
+		return this.head;
+	}
 }
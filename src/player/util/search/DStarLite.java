@@ -0,0 +1,349 @@
+package player.util.search;
+
+/**
+ * Implements the D* Lite incremental search algorithm over a SearchGrid.
+ *
+ * Maintains a least-cost path from a moving start tile (i.e. the robot) to a fixed goal tile.
+ * The search runs backwards from the goal, so as the robot moves and reports tiles whose costs
+ * changed (e.g. newly-sensed passabilities), replan() repairs only the part of the previous
+ * solution affected by those changes; it never restarts from scratch.
+ *
+ * Usage:
+ *     dStarLite.start(startIndex, goalIndex);
+ *     dStarLite.replan();
+ *     while (robot not at goal) {
+ *         move onto dStarLite.getPath()[1];
+ *         dStarLite.updateStart(newIndex);
+ *         for (every sensed tile whose cost changed) {
+ *             dStarLite.updateTileCost(index, cost);
+ *         }
+ *         dStarLite.replan();
+ *     }
+ *
+ * See "D* Lite" (Koenig and Likhachev, 2002).
+ */
+public class DStarLite {
+
+	// returned when no path exists
+	private static final int[] EMPTY_PATH = new int[0];
+
+	private final SearchGrid grid;
+	// heuristics are scaled by this; must stay no greater than every passable tile cost.
+	private final double heuristicWeight;
+	private final IndexedMinHeap openHeap;
+	private final double[] costTo;  // "g": cost from the tile to the goal, as of its last expansion
+	private final double[] lookahead;  // "rhs": least (step cost + costTo) over the tile's neighbors
+	private final int[] seenStamps;  // == searchStamp iff costTo/lookahead are valid (else both are infinite)
+	private int searchStamp;
+	private int startIndex;
+	private int goalIndex;
+	private double keyModifier;  // "km": added to keys so that moving the start never requires re-keying openHeap
+	private int numExpanded;
+
+	/**
+	 * Searches over a grid.
+	 * Tile costs must be changed only through updateTileCost() once a search has started, and must never
+	 * drop below the grid's minimum cost at construction.
+	 */
+	public DStarLite(final SearchGrid grid) {
+		this.grid = grid;
+		this.heuristicWeight = grid.getMinCost();
+		this.openHeap = new IndexedMinHeap(grid.numTiles);
+		this.costTo = new double[grid.numTiles];
+		this.lookahead = new double[grid.numTiles];
+		this.seenStamps = new int[grid.numTiles];
+		this.searchStamp = 0;
+		this.startIndex = 0;
+		this.goalIndex = 0;
+		this.keyModifier = 0;
+		this.numExpanded = 0;
+	}
+
+	/**
+	 * Returns the number of tiles expanded by the most recent call to replan().
+	 */
+	public int getNumExpanded() {
+		return this.numExpanded;
+	}
+
+	/**
+	 * Returns the number of open-set heap operations (pushes, updates, pops) made by the most recent call to replan().
+	 */
+	public int getNumHeapOperations() {
+		return this.openHeap.getNumOperations();
+	}
+
+	private double getCostTo(final int index) {
+		return (this.seenStamps[index] == this.searchStamp) ? this.costTo[index] : Double.POSITIVE_INFINITY;
+	}
+
+	private double getLookahead(final int index) {
+		return (this.seenStamps[index] == this.searchStamp) ? this.lookahead[index] : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Marks a tile as seen by the current search (with infinite costTo/lookahead) if it isn't already.
+	 */
+	private void see(final int index) {
+		if (this.seenStamps[index] != this.searchStamp) {
+			this.costTo[index] = Double.POSITIVE_INFINITY;
+			this.lookahead[index] = Double.POSITIVE_INFINITY;
+			this.seenStamps[index] = this.searchStamp;
+		}
+	}
+
+	private double heuristic(final int fromIndex, final int toIndex) {
+		return this.heuristicWeight * this.grid.octileDistance(fromIndex, toIndex);
+	}
+
+	/**
+	 * Returns the least (step cost + costTo) over every neighbor of a tile.
+	 */
+	private double computeLookahead(final int index) {
+		final SearchGrid grid = this.grid;
+		final int x = grid.getX(index);
+		final int y = grid.getY(index);
+		double least = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < SearchGrid.NUM_NEIGHBORS; ++i) {
+			final int neighborX = x + SearchGrid.NEIGHBOR_DX[i];
+			final int neighborY = y + SearchGrid.NEIGHBOR_DY[i];
+			if (grid.inBounds(neighborX, neighborY)) {
+				final int neighbor = grid.pack(neighborX, neighborY);
+				final double cost = grid.stepCost(i, neighbor) + this.getCostTo(neighbor);
+				if (cost < least) {
+					least = cost;
+				}
+			}
+		}
+		return least;
+	}
+
+	/**
+	 * Adds, re-keys, or removes a tile from openHeap according to whether it's "locally inconsistent"
+	 * (i.e. costTo != lookahead).
+	 */
+	private void updateTile(final int index) {
+		final double costTo = this.getCostTo(index);
+		final double lookahead = this.getLookahead(index);
+		final boolean isContained = this.openHeap.contains(index);
+		if (costTo != lookahead) {
+			final double secondaryKey = Math.min(costTo, lookahead);
+			final double primaryKey = secondaryKey + this.heuristic(this.startIndex, index) + this.keyModifier;
+			if (isContained) {
+				this.openHeap.update(index, primaryKey, secondaryKey);
+			} else {
+				this.openHeap.push(index, primaryKey, secondaryKey);
+			}
+		} else if (isContained) {
+			this.openHeap.remove(index);
+		}
+	}
+
+	/**
+	 * Returns true iff key A is lexicographically less than key B.
+	 */
+	private static boolean keyLess(final double primaryA, final double secondaryA,
+								   final double primaryB, final double secondaryB) {
+		return (primaryA < primaryB) || ((primaryA == primaryB) && (secondaryA < secondaryB));
+	}
+
+	/**
+	 * Begins a new search between two tiles; any previous search is abandoned.
+	 * No tiles are expanded until replan() is called.
+	 *
+	 * @param startIndex packed index of the tile the robot currently occupies.
+	 * @param goalIndex packed index of the tile to reach.
+	 */
+	public void start(final int startIndex, final int goalIndex) {
+		// invalidate the state of the previous search
+		this.searchStamp++;
+		this.openHeap.clear();
+		this.startIndex = startIndex;
+		this.goalIndex = goalIndex;
+		this.keyModifier = 0;
+
+		this.see(goalIndex);
+		this.lookahead[goalIndex] = 0;
+		this.updateTile(goalIndex);
+	}
+
+	/**
+	 * Records that the robot has moved.
+	 * @param startIndex packed index of the tile the robot now occupies.
+	 */
+	public void updateStart(final int startIndex) {
+		// every key already in openHeap now overestimates by at most this much
+		this.keyModifier += this.heuristic(this.startIndex, startIndex);
+		this.startIndex = startIndex;
+	}
+
+	/**
+	 * Changes the cost of a tile and marks the tiles whose lookahead it affects.
+	 * The path is not repaired until replan() is called.
+	 *
+	 * @param cost must be no less than the grid's minimum cost when this was constructed. May be IMPASSABLE.
+	 */
+	public void updateTileCost(final int index, final double cost) {
+		assert cost >= this.heuristicWeight : "cost: " + cost;
+		final SearchGrid grid = this.grid;
+		final double oldCost = grid.getCost(index);
+		if (oldCost == cost) {
+			return;
+		}
+		grid.setCost(index, cost);
+
+		// a tile's cost only affects the moves onto it, i.e. the lookaheads of its neighbors.
+		final double costTo = this.getCostTo(index);
+		final int x = grid.getX(index);
+		final int y = grid.getY(index);
+		for (int i = 0; i < SearchGrid.NUM_NEIGHBORS; ++i) {
+			final int neighborX = x + SearchGrid.NEIGHBOR_DX[i];
+			final int neighborY = y + SearchGrid.NEIGHBOR_DY[i];
+			if (!grid.inBounds(neighborX, neighborY)) {
+				continue;
+			}
+			final int neighbor = grid.pack(neighborX, neighborY);
+			if (neighbor == this.goalIndex) {
+				continue;
+			}
+			// odd neighbors are diagonal
+			final double weight = ((i & 1) == 0) ? 1.0 : grid.diagonalWeight;
+			this.see(neighbor);
+			if (cost < oldCost) {
+				this.lookahead[neighbor] = Math.min(this.lookahead[neighbor], (cost * weight) + costTo);
+			} else if (this.lookahead[neighbor] == ((oldCost * weight) + costTo)) {
+				// the neighbor's least-cost move may have been onto this tile
+				this.lookahead[neighbor] = this.computeLookahead(neighbor);
+			}
+			this.updateTile(neighbor);
+		}
+	}
+
+	/**
+	 * Expands tiles until the path from the start tile is least-cost.
+	 * @return FOUND if a path exists; else NO_PATH.
+	 */
+	public SearchStatus replan() {
+		final SearchGrid grid = this.grid;
+		final IndexedMinHeap openHeap = this.openHeap;
+		openHeap.resetNumOperations();
+		this.numExpanded = 0;
+		this.see(this.startIndex);
+		while (true) {
+			final double startSecondaryKey = Math.min(this.costTo[this.startIndex], this.lookahead[this.startIndex]);
+			final double startPrimaryKey = startSecondaryKey + this.keyModifier;
+			final boolean startIsConsistent = this.lookahead[this.startIndex] <= this.costTo[this.startIndex];
+			if (openHeap.isEmpty() ||
+				(startIsConsistent &&
+				 !DStarLite.keyLess(openHeap.peekPrimaryKey(), openHeap.peekSecondaryKey(), startPrimaryKey, startSecondaryKey))) {
+				break;
+			}
+			final int popped = openHeap.peek();
+			final double oldPrimaryKey = openHeap.peekPrimaryKey();
+			final double oldSecondaryKey = openHeap.peekSecondaryKey();
+			final double costTo = this.costTo[popped];
+			final double lookahead = this.lookahead[popped];
+			final double newSecondaryKey = Math.min(costTo, lookahead);
+			final double newPrimaryKey = newSecondaryKey + this.heuristic(this.startIndex, popped) + this.keyModifier;
+			if (DStarLite.keyLess(oldPrimaryKey, oldSecondaryKey, newPrimaryKey, newSecondaryKey)) {
+				// key is stale (the start has moved since it was pushed)
+				openHeap.update(popped, newPrimaryKey, newSecondaryKey);
+				continue;
+			}
+			this.numExpanded++;
+			final boolean isOverconsistent = costTo > lookahead;
+			final double oldCostTo = costTo;
+			if (isOverconsistent) {
+				this.costTo[popped] = lookahead;
+				openHeap.remove(popped);
+			} else {
+				this.costTo[popped] = Double.POSITIVE_INFINITY;
+				if (popped != this.goalIndex) {
+					this.lookahead[popped] = this.computeLookahead(popped);
+				}
+				this.updateTile(popped);
+			}
+			// update the lookaheads of every tile that can move onto `popped`
+			final double poppedCostTo = this.costTo[popped];
+			final int x = grid.getX(popped);
+			final int y = grid.getY(popped);
+			for (int i = 0; i < SearchGrid.NUM_NEIGHBORS; ++i) {
+				final int neighborX = x + SearchGrid.NEIGHBOR_DX[i];
+				final int neighborY = y + SearchGrid.NEIGHBOR_DY[i];
+				if (!grid.inBounds(neighborX, neighborY)) {
+					continue;
+				}
+				final int neighbor = grid.pack(neighborX, neighborY);
+				if (neighbor == this.goalIndex) {
+					continue;
+				}
+				// moving from `neighbor` onto `popped` is the reverse of neighbor i
+				final double stepCost = grid.stepCost(i, popped);
+				this.see(neighbor);
+				if (isOverconsistent) {
+					this.lookahead[neighbor] = Math.min(this.lookahead[neighbor], stepCost + poppedCostTo);
+				} else if (this.lookahead[neighbor] == (stepCost + oldCostTo)) {
+					this.lookahead[neighbor] = this.computeLookahead(neighbor);
+				}
+				this.updateTile(neighbor);
+			}
+		}
+		// note: the start tile may remain overconsistent; its lookahead (not costTo) is the least path cost.
+		return (this.lookahead[this.startIndex] == Double.POSITIVE_INFINITY) ? SearchStatus.NO_PATH : SearchStatus.FOUND;
+	}
+
+	/**
+	 * Returns the neighbor of a tile along the least-cost path to the goal; else -1 if there is none.
+	 */
+	private int getNextIndex(final int index) {
+		final SearchGrid grid = this.grid;
+		final int x = grid.getX(index);
+		final int y = grid.getY(index);
+		int next = -1;
+		double least = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < SearchGrid.NUM_NEIGHBORS; ++i) {
+			final int neighborX = x + SearchGrid.NEIGHBOR_DX[i];
+			final int neighborY = y + SearchGrid.NEIGHBOR_DY[i];
+			if (grid.inBounds(neighborX, neighborY)) {
+				final int neighbor = grid.pack(neighborX, neighborY);
+				final double cost = grid.stepCost(i, neighbor) + this.getCostTo(neighbor);
+				if (cost < least) {
+					least = cost;
+					next = neighbor;
+				}
+			}
+		}
+		return next;
+	}
+
+	/**
+	 * Returns the least-cost path found by the most recent call to replan().
+	 * See {@link GridAStar#search(int, int)} for the contents of the path.
+	 *
+	 * Must not be called after updateStart()/updateTileCost() until replan() is called again.
+	 */
+	public int[] getPath() {
+		if (this.getPathCost() == Double.POSITIVE_INFINITY) {
+			return DStarLite.EMPTY_PATH;
+		}
+		int length = 1;
+		for (int ptr = this.startIndex; ptr != this.goalIndex; ptr = this.getNextIndex(ptr)) {
+			length++;
+			assert length <= this.grid.numTiles : "path does not reach the goal";
+		}
+		final int[] path = new int[length];
+		int ptr = this.startIndex;
+		for (int i = 0; i < length; ++i) {
+			path[i] = ptr;
+			ptr = this.getNextIndex(ptr);
+		}
+		return path;
+	}
+
+	/**
+	 * Returns the cost of the path returned by getPath().
+	 */
+	public double getPathCost() {
+		return this.getLookahead(this.startIndex);
+	}
+}
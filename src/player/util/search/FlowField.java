@@ -0,0 +1,238 @@
+package player.util.search;
+
+import battlecode.common.Clock;
+
+/**
+ * Computes the least cost from every tile of a SearchGrid to the nearest of one or more goal tiles
+ * (i.e. a "flow field").
+ *
+ * Once built, the next move along a least-cost path from *any* tile is an O(8) lookup
+ * (see getNextNeighborNum()), so one field answers every query toward the same goal without
+ * another search. With several goals, the field also labels each tile with its nearest goal
+ * (see getNearestGoal()); one build replaces a search per goal (e.g. "which known enemy is
+ * nearest by travel cost?").
+ *
+ * The field is built by Dijkstra's algorithm run backwards from every goal at once, and can be spread across several
+ * rounds (see step()/stepWithinBytecodes()). Tiles are "finished" in order of increasing cost; lookups
+ * from finished tiles are valid even while the rest of the field is still being built.
+ *
+ * Note: Battlecode robots share no memory; a field is shared only among the queries of the robot that built it.
+ */
+public class FlowField {
+
+	// returned by getNextNeighborNum() when no move leads toward a goal
+	public static final int NO_NEIGHBOR = -1;
+	// returned by getNearestGoal() when no goal can be reached
+	public static final int NO_GOAL = -1;
+
+	private final SearchGrid grid;
+	private final IndexedMinHeap openHeap;
+	private final double[] costs;  // least known cost to the nearest goal tile
+	private final int[] nearestGoals;  // the goal (index into the goals passed to start()) that gives `costs`
+	private final int[] seenStamps;  // == fieldStamp iff `costs` is valid
+	private final int[] finishedStamps;  // == fieldStamp iff the tile's cost is final
+	private int fieldStamp;
+	private int numExpanded;
+	private SearchStatus status;
+
+	/**
+	 * Builds fields over a grid. Tile costs must not change while a field is being built.
+	 */
+	public FlowField(final SearchGrid grid) {
+		this.grid = grid;
+		this.openHeap = new IndexedMinHeap(grid.numTiles);
+		this.costs = new double[grid.numTiles];
+		this.nearestGoals = new int[grid.numTiles];
+		this.seenStamps = new int[grid.numTiles];
+		this.finishedStamps = new int[grid.numTiles];
+		this.fieldStamp = 0;
+		this.numExpanded = 0;
+		this.status = SearchStatus.FOUND;
+	}
+
+	/**
+	 * Returns the number of tiles finished by the current field (so far).
+	 */
+	public int getNumExpanded() {
+		return this.numExpanded;
+	}
+
+	/**
+	 * Begins a new field toward several goal tiles; the previous field is discarded.
+	 * No tiles are finished until step() is called.
+	 *
+	 * @param goalIndices packed indices of the goal tiles. Must be non-empty.
+	 */
+	public void start(final int[] goalIndices) {
+		assert goalIndices.length > 0 : "no goals";
+		// invalidate the previous field
+		this.fieldStamp++;
+		this.openHeap.clear();
+		this.numExpanded = 0;
+		this.status = SearchStatus.IN_PROGRESS;
+
+		for (int i = 0; i < goalIndices.length; ++i) {
+			final int goalIndex = goalIndices[i];
+			if (this.seenStamps[goalIndex] != this.fieldStamp) {
+				this.costs[goalIndex] = 0;
+				this.nearestGoals[goalIndex] = i;
+				this.seenStamps[goalIndex] = this.fieldStamp;
+				this.openHeap.push(goalIndex, 0, 0);
+			}
+		}
+	}
+
+	/**
+	 * Begins a new field toward a single goal tile; the previous field is discarded.
+	 * No tiles are finished until step() is called.
+	 */
+	public void start(final int goalIndex) {
+		// invalidate the previous field
+		this.fieldStamp++;
+		this.openHeap.clear();
+		this.numExpanded = 0;
+		this.status = SearchStatus.IN_PROGRESS;
+
+		this.costs[goalIndex] = 0;
+		this.nearestGoals[goalIndex] = 0;
+		this.seenStamps[goalIndex] = this.fieldStamp;
+		this.openHeap.push(goalIndex, 0, 0);
+	}
+
+	/**
+	 * Returns IN_PROGRESS while the field is being built; else FOUND (every tile that can reach a goal is finished).
+	 */
+	public SearchStatus getStatus() {
+		return this.status;
+	}
+
+	/**
+	 * Continues building the current field for at most `maxExpansions` tile expansions.
+	 *
+	 * @param maxExpansions must be positive.
+	 * @return the status of the field after stepping.
+	 */
+	public SearchStatus step(final int maxExpansions) {
+		assert maxExpansions > 0 : "maxExpansions: " + maxExpansions;
+		for (int i = 0; (i < maxExpansions) && (this.status == SearchStatus.IN_PROGRESS); ++i) {
+			this.expandNext();
+		}
+		return this.status;
+	}
+
+	/**
+	 * Continues building the current field until it finishes or fewer than `bytecodeReserve` bytecodes
+	 * remain in the current round.
+	 *
+	 * @param bytecodeReserve the number of bytecodes to leave for the rest of the round.
+	 *     Should exceed the cost of a single expansion (a few hundred bytecodes).
+	 * @return the status of the field after stepping.
+	 */
+	public SearchStatus stepWithinBytecodes(final int bytecodeReserve) {
+		while ((this.status == SearchStatus.IN_PROGRESS) && (Clock.getBytecodesLeft() > bytecodeReserve)) {
+			this.expandNext();
+		}
+		return this.status;
+	}
+
+	/**
+	 * Pops and finishes the unfinished tile of least cost.
+	 */
+	private void expandNext() {
+		if (this.openHeap.isEmpty()) {
+			this.status = SearchStatus.FOUND;
+			return;
+		}
+		final SearchGrid grid = this.grid;
+		final int stamp = this.fieldStamp;
+		final int popped = this.openHeap.pop();
+		this.finishedStamps[popped] = stamp;
+		this.numExpanded++;
+		final int poppedX = grid.getX(popped);
+		final int poppedY = grid.getY(popped);
+		final double poppedCost = this.costs[popped];
+		final int poppedGoal = this.nearestGoals[popped];
+		for (int i = 0; i < SearchGrid.NUM_NEIGHBORS; ++i) {
+			final int x = poppedX + SearchGrid.NEIGHBOR_DX[i];
+			final int y = poppedY + SearchGrid.NEIGHBOR_DY[i];
+			if (!grid.inBounds(x, y)) {
+				continue;
+			}
+			final int expanded = grid.pack(x, y);
+			if ((this.finishedStamps[expanded] == stamp) || !grid.isPassable(expanded)) {
+				continue;
+			}
+			// the move runs backwards: from `expanded` onto `popped`
+			final double expandedCost = poppedCost + grid.stepCost(i, popped);
+			if (this.seenStamps[expanded] != stamp) {
+				this.costs[expanded] = expandedCost;
+				this.nearestGoals[expanded] = poppedGoal;
+				this.seenStamps[expanded] = stamp;
+				this.openHeap.push(expanded, expandedCost, 0);
+			} else if (expandedCost < this.costs[expanded]) {
+				this.costs[expanded] = expandedCost;
+				this.nearestGoals[expanded] = poppedGoal;
+				this.openHeap.update(expanded, expandedCost, 0);
+			}
+		}
+	}
+
+	/**
+	 * Returns true iff a tile's cost to the nearest goal is final.
+	 */
+	public boolean isFinished(final int index) {
+		return this.finishedStamps[index] == this.fieldStamp;
+	}
+
+	/**
+	 * Returns the least cost from a tile to the nearest goal; else +inf if the tile is not (yet) finished.
+	 */
+	public double getCostToGoal(final int index) {
+		return this.isFinished(index) ? this.costs[index] : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Returns which goal is nearest (by least cost) to a tile.
+	 *
+	 * @return the index into the goals passed to start() (0 if a single goal was passed);
+	 *     else NO_GOAL if the tile is not (yet) finished.
+	 */
+	public int getNearestGoal(final int index) {
+		return this.isFinished(index) ? this.nearestGoals[index] : FlowField.NO_GOAL;
+	}
+
+	/**
+	 * Returns the next move along a least-cost path from a tile to the nearest goal.
+	 * The tile itself need not be finished (or even passable); only its finished neighbors are considered.
+	 *
+	 * @return the index into SearchGrid.NEIGHBOR_DX/NEIGHBOR_DY (equivalently, into
+	 *     UtilBattlecode.OFF_CENTER_DIRECTIONS) of the move; else NO_NEIGHBOR if the tile is a goal
+	 *     or no neighbor is finished.
+	 */
+	public int getNextNeighborNum(final int index) {
+		if (this.getCostToGoal(index) == 0) {
+			// only goals cost nothing to reach
+			return FlowField.NO_NEIGHBOR;
+		}
+		final SearchGrid grid = this.grid;
+		final int x = grid.getX(index);
+		final int y = grid.getY(index);
+		int bestNeighborNum = FlowField.NO_NEIGHBOR;
+		double bestCost = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < SearchGrid.NUM_NEIGHBORS; ++i) {
+			final int neighborX = x + SearchGrid.NEIGHBOR_DX[i];
+			final int neighborY = y + SearchGrid.NEIGHBOR_DY[i];
+			if (grid.inBounds(neighborX, neighborY)) {
+				final int neighbor = grid.pack(neighborX, neighborY);
+				if (this.isFinished(neighbor)) {
+					final double cost = grid.stepCost(i, neighbor) + this.costs[neighbor];
+					if (cost < bestCost) {
+						bestCost = cost;
+						bestNeighborNum = i;
+					}
+				}
+			}
+		}
+		return bestNeighborNum;
+	}
+}
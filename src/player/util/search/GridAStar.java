@@ -0,0 +1,256 @@
+package player.util.search;
+
+import battlecode.common.Clock;
+
+/**
+ * Implements the A* search algorithm over a SearchGrid.
+ *
+ * Unlike {@link AStar}, all per-tile search state lives in flat primitive arrays indexed by packed
+ * tile index, and the open set is an IndexedMinHeap (so cost improvements are O(log n)).
+ * Arrays are allocated once and reused across searches; "stamps" mark which entries belong to the
+ * current search, so starting a new search never touches every tile.
+ *
+ * A search keeps its open/closed state between calls to step(), so one long search can be spread
+ * across several rounds without overrunning any of them.
+ */
+public class GridAStar {
+
+	// parent of the start tile
+	private static final int NO_PARENT = -1;
+	// returned when no path exists
+	private static final int[] EMPTY_PATH = new int[0];
+
+	private final SearchGrid grid;
+	private final IndexedMinHeap openHeap;
+	private final double[] costTo;  // least known cost from the start tile
+	private final double[] heuristics;  // estimated cost to the goal tile
+	private final int[] parents;  // the parent that gives costTo
+	private final int[] depths;  // the number of tiles on the path through `parents` (incl. the start tile)
+	private final int[] seenStamps;  // == searchStamp iff costTo/heuristics/parents are valid
+	private final int[] closedStamps;  // == searchStamp iff the tile has been popped from openHeap
+	private int searchStamp;
+	private int numExpanded;
+	private int goalIndex;
+	private SearchStatus status;
+
+	/**
+	 * Searches over a grid. Tile costs may change between (but not during) searches.
+	 */
+	public GridAStar(final SearchGrid grid) {
+		this.grid = grid;
+		this.openHeap = new IndexedMinHeap(grid.numTiles);
+		this.costTo = new double[grid.numTiles];
+		this.heuristics = new double[grid.numTiles];
+		this.parents = new int[grid.numTiles];
+		this.depths = new int[grid.numTiles];
+		this.seenStamps = new int[grid.numTiles];
+		this.closedStamps = new int[grid.numTiles];
+		this.searchStamp = 0;
+		this.numExpanded = 0;
+		this.goalIndex = 0;
+		this.status = SearchStatus.NO_PATH;
+	}
+
+	/**
+	 * Returns the number of tiles expanded by the current search (so far).
+	 */
+	public int getNumExpanded() {
+		return this.numExpanded;
+	}
+
+	/**
+	 * Returns the number of open-set heap operations (pushes, updates, pops) made by the current search (so far).
+	 */
+	public int getNumHeapOperations() {
+		return this.openHeap.getNumOperations();
+	}
+
+	/**
+	 * Returns the packed path from the start tile to `index`.
+	 * Note: the path includes both the start tile and `index`.
+	 */
+	private int[] getIndexPath(final int index) {
+		final int length = this.depths[index];
+		// just walk the parents backwards to fill the path
+		final int[] path = new int[length];
+		int ptr = index;
+		for (int i = length - 1; i >= 0; --i) {
+			path[i] = ptr;
+			ptr = this.parents[ptr];
+		}
+		return path;
+	}
+
+	/**
+	 * Returns a least-cost path between two tiles.
+	 * Runs the entire search at once; see start()/step() to spread a search across several rounds.
+	 *
+	 * @param startIndex packed index of the tile to begin the search at.
+	 * @param goalIndex packed index of the tile to end the search at.
+	 * @return the packed indices of each tile along the path such that the first element is startIndex
+	 *     and the final element is goalIndex. Each sequential tile is adjacent to the tile before it.
+	 *
+	 *     Returns an array of length 1 [startIndex] if startIndex == goalIndex.
+	 *     Returns an empty array if there is no path from startIndex to goalIndex.
+	 */
+	public int[] search(final int startIndex, final int goalIndex) {
+		this.start(startIndex, goalIndex);
+		this.step(Integer.MAX_VALUE);
+		return this.getPath();
+	}
+
+	/**
+	 * Begins a new search between two tiles; any previous search is abandoned.
+	 * No tiles are expanded until step() is called.
+	 *
+	 * Tile costs must not change until the search finishes.
+	 *
+	 * @param startIndex packed index of the tile to begin the search at.
+	 * @param goalIndex packed index of the tile to end the search at.
+	 */
+	public void start(final int startIndex, final int goalIndex) {
+		// invalidate the state of the previous search
+		this.searchStamp++;
+		this.openHeap.clear();
+		this.openHeap.resetNumOperations();
+		this.numExpanded = 0;
+		this.goalIndex = goalIndex;
+		this.status = SearchStatus.IN_PROGRESS;
+
+		final double startHeuristic = this.grid.heuristic(startIndex, goalIndex);
+		this.costTo[startIndex] = 0;
+		this.heuristics[startIndex] = startHeuristic;
+		this.parents[startIndex] = GridAStar.NO_PARENT;
+		this.depths[startIndex] = 1;
+		this.seenStamps[startIndex] = this.searchStamp;
+		this.openHeap.push(startIndex, startHeuristic, startHeuristic);
+	}
+
+	/**
+	 * Returns the status of the current search.
+	 */
+	public SearchStatus getStatus() {
+		return this.status;
+	}
+
+	/**
+	 * Continues the current search for at most `maxExpansions` tile expansions.
+	 * Does nothing if the search has already finished.
+	 *
+	 * @param maxExpansions must be positive.
+	 * @return the status of the search after stepping.
+	 */
+	public SearchStatus step(final int maxExpansions) {
+		assert maxExpansions > 0 : "maxExpansions: " + maxExpansions;
+		for (int i = 0; (i < maxExpansions) && (this.status == SearchStatus.IN_PROGRESS); ++i) {
+			this.expandNext();
+		}
+		return this.status;
+	}
+
+	/**
+	 * Continues the current search until it finishes or fewer than `bytecodeReserve` bytecodes
+	 * remain in the current round.
+	 * Does nothing if the search has already finished.
+	 *
+	 * @param bytecodeReserve the number of bytecodes to leave for the rest of the round.
+	 *     Should exceed the cost of a single expansion (a few hundred bytecodes).
+	 * @return the status of the search after stepping.
+	 */
+	public SearchStatus stepWithinBytecodes(final int bytecodeReserve) {
+		while ((this.status == SearchStatus.IN_PROGRESS) && (Clock.getBytecodesLeft() > bytecodeReserve)) {
+			this.expandNext();
+		}
+		return this.status;
+	}
+
+	/**
+	 * Returns the path found by the current search.
+	 * See {@link GridAStar#search(int, int)} for the contents of the path.
+	 *
+	 * Search must not be IN_PROGRESS.
+	 */
+	public int[] getPath() {
+		assert this.status != SearchStatus.IN_PROGRESS : "search still in progress";
+		return (this.status == SearchStatus.FOUND) ? this.getIndexPath(this.goalIndex) : GridAStar.EMPTY_PATH;
+	}
+
+	/**
+	 * Returns the length of the path found by the current search (i.e. of getPath()) without building it.
+	 *
+	 * Search must not be IN_PROGRESS.
+	 */
+	public int getPathLength() {
+		assert this.status != SearchStatus.IN_PROGRESS : "search still in progress";
+		return (this.status == SearchStatus.FOUND) ? this.depths[this.goalIndex] : 0;
+	}
+
+	/**
+	 * Pops and expands the tile of least estimated cost.
+	 * Sets `status` if the search finishes.
+	 */
+	private void expandNext() {
+		if (this.openHeap.isEmpty()) {
+			// reach here only if no path was found
+			this.status = SearchStatus.NO_PATH;
+			return;
+		}
+
+		final SearchGrid grid = this.grid;
+		final int stamp = this.searchStamp;
+
+		final int popped = this.openHeap.pop();
+		this.closedStamps[popped] = stamp;
+		if (popped == this.goalIndex) {
+			// found the goal; ready to return a path.
+			this.status = SearchStatus.FOUND;
+			return;
+		}
+		this.numExpanded++;
+		final int poppedX = grid.getX(popped);
+		final int poppedY = grid.getY(popped);
+		final double poppedCostTo = this.costTo[popped];
+		final int expandedDepth = this.depths[popped] + 1;
+		for (int i = 0; i < SearchGrid.NUM_NEIGHBORS; ++i) {
+			final int x = poppedX + SearchGrid.NEIGHBOR_DX[i];
+			final int y = poppedY + SearchGrid.NEIGHBOR_DY[i];
+			if (!grid.inBounds(x, y)) {
+				continue;
+			}
+			final int expanded = grid.pack(x, y);
+			if ((this.closedStamps[expanded] == stamp) || !grid.isPassable(expanded)) {
+				// don't want to add it to openHeap or update its costs
+				continue;
+			}
+			final double expandedCostTo = poppedCostTo + grid.stepCost(i, expanded);
+			if (this.seenStamps[expanded] == stamp) {
+				// openHeap contains the tile; check if we've arrived along a more-optimal path.
+				if (expandedCostTo < this.costTo[expanded]) {
+					this.costTo[expanded] = expandedCostTo;
+					this.parents[expanded] = popped;
+					this.depths[expanded] = expandedDepth;
+					final double expandedHeuristic = this.heuristics[expanded];
+					this.openHeap.update(expanded, expandedCostTo + expandedHeuristic, expandedHeuristic);
+				}
+			} else {
+				// we haven't seen this tile yet.
+				final double expandedHeuristic = grid.heuristic(expanded, this.goalIndex);
+				this.costTo[expanded] = expandedCostTo;
+				this.heuristics[expanded] = expandedHeuristic;
+				this.parents[expanded] = popped;
+				this.depths[expanded] = expandedDepth;
+				this.seenStamps[expanded] = stamp;
+				this.openHeap.push(expanded, expandedCostTo + expandedHeuristic, expandedHeuristic);
+			}
+		}
+	}
+
+	/**
+	 * Returns the cost of the path found by the current search to `index`.
+	 * @param index must be the final element of a path returned by the current search.
+	 */
+	public double getPathCost(final int index) {
+		assert this.closedStamps[index] == this.searchStamp : "index not closed by the current search: " + index;
+		return this.costTo[index];
+	}
+}
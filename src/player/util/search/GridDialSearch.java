@@ -0,0 +1,249 @@
+package player.util.search;
+
+/**
+ * Implements A* over a SearchGrid with integer step costs, using a bucket queue (Dial's algorithm)
+ * rather than a binary heap.
+ *
+ * Every step cost is quantized to an integer (round(cost * costScale)). The open set is a ring of buckets
+ * indexed by estimated total cost; because the (octile) heuristic is consistent, every pushed estimate
+ * lies within 2 * maxStepCost of the least estimate in the open set, so a ring of 2 * maxStepCost + 1
+ * buckets never collides. Pushes, updates, and pops are all O(1) (pops amortized over the ring).
+ *
+ * In Battlecode, the cooldown of a move is inversely proportional to the passability of the destination
+ * tile, so tile costs of (1 / passability) lie on [1, 10]; a costScale of 10 resolves them to one decimal place.
+ */
+public class GridDialSearch {
+
+	// terminates bucket lists; also the parent of the start tile
+	private static final int NONE = -1;
+	// returned when no path exists
+	private static final int[] EMPTY_PATH = new int[0];
+
+	private final SearchGrid grid;
+	private final double costScale;
+	private final int maxStepCost;
+
+	// bucketHeads[estimate % numBuckets] is the first tile of a doubly-linked list (through nextTiles/prevTiles)
+	private final int numBuckets;
+	private final int[] bucketHeads;
+	private final int[] nextTiles;
+	private final int[] prevTiles;
+	private int numOpen;
+	private int minEstimate;  // no open tile has a lesser estimate
+
+	private final int[] costTo;  // least known (quantized) cost from the start tile
+	private final int[] estimates;  // costTo + heuristic
+	private final int[] parents;  // the parent that gives costTo
+	private final int[] seenStamps;  // == searchStamp iff costTo/estimates/parents are valid
+	private final int[] closedStamps;  // == searchStamp iff the tile has been popped
+	private int searchStamp;
+	private int numExpanded;
+
+	// heuristic step costs (no greater than any quantized straight/diagonal step cost)
+	private int minStraightCost;
+	private int minDiagonalCost;
+
+	/**
+	 * Searches over a grid. Tile costs may change between (but not during) searches.
+	 *
+	 * @param costScale step costs are multiplied by this, then rounded. Every quantized step cost must be positive.
+	 * @param maxTileCost the greatest passable tile cost that will ever be searched over.
+	 */
+	public GridDialSearch(final SearchGrid grid, final double costScale, final double maxTileCost) {
+		assert costScale > 0 : "costScale: " + costScale;
+		this.grid = grid;
+		this.costScale = costScale;
+		this.maxStepCost = (int)Math.round(maxTileCost * grid.diagonalWeight * costScale);
+		assert this.maxStepCost > 0 : "maxStepCost: " + this.maxStepCost;
+		this.numBuckets = (2 * this.maxStepCost) + 1;
+		this.bucketHeads = new int[this.numBuckets];
+		for (int i = 0; i < this.numBuckets; ++i) {
+			this.bucketHeads[i] = GridDialSearch.NONE;
+		}
+		this.nextTiles = new int[grid.numTiles];
+		this.prevTiles = new int[grid.numTiles];
+		this.numOpen = 0;
+		this.minEstimate = 0;
+		this.costTo = new int[grid.numTiles];
+		this.estimates = new int[grid.numTiles];
+		this.parents = new int[grid.numTiles];
+		this.seenStamps = new int[grid.numTiles];
+		this.closedStamps = new int[grid.numTiles];
+		this.searchStamp = 0;
+		this.numExpanded = 0;
+		this.minStraightCost = 0;
+		this.minDiagonalCost = 0;
+	}
+
+	/**
+	 * Returns the number of tiles expanded by the most recent search.
+	 */
+	public int getNumExpanded() {
+		return this.numExpanded;
+	}
+
+	/**
+	 * Returns the quantized cost of moving onto a tile.
+	 * @param neighborNum the index into SearchGrid.NEIGHBOR_DX/NEIGHBOR_DY of the move.
+	 */
+	private int getStepCost(final int neighborNum, final int toIndex) {
+		final int stepCost = (int)Math.round(this.grid.stepCost(neighborNum, toIndex) * this.costScale);
+		assert (stepCost > 0) && (stepCost <= this.maxStepCost) : "stepCost: " + stepCost;
+		return stepCost;
+	}
+
+	/**
+	 * Returns the quantized octile distance between two tiles.
+	 */
+	private int heuristic(final int fromIndex, final int toIndex) {
+		final SearchGrid grid = this.grid;
+		final int dx = Math.abs(grid.getX(fromIndex) - grid.getX(toIndex));
+		final int dy = Math.abs(grid.getY(fromIndex) - grid.getY(toIndex));
+		final int numDiagonal = Math.min(dx, dy);
+		final int numStraight = Math.max(dx, dy) - numDiagonal;
+		return (numDiagonal * this.minDiagonalCost) + (numStraight * this.minStraightCost);
+	}
+
+	private void pushOpen(final int index) {
+		final int bucket = this.estimates[index] % this.numBuckets;
+		final int head = this.bucketHeads[bucket];
+		this.nextTiles[index] = head;
+		this.prevTiles[index] = GridDialSearch.NONE;
+		if (head != GridDialSearch.NONE) {
+			this.prevTiles[head] = index;
+		}
+		this.bucketHeads[bucket] = index;
+		this.numOpen++;
+	}
+
+	private void removeOpen(final int index) {
+		final int prev = this.prevTiles[index];
+		final int next = this.nextTiles[index];
+		if (prev != GridDialSearch.NONE) {
+			this.nextTiles[prev] = next;
+		} else {
+			this.bucketHeads[this.estimates[index] % this.numBuckets] = next;
+		}
+		if (next != GridDialSearch.NONE) {
+			this.prevTiles[next] = prev;
+		}
+		this.numOpen--;
+	}
+
+	/**
+	 * Removes and returns an open tile of least estimate.
+	 * Note: ties are popped last-in-first-out (i.e. favoring the most recently reached tiles).
+	 */
+	private int popOpen() {
+		assert this.numOpen > 0 : "open set is empty";
+		while (this.bucketHeads[this.minEstimate % this.numBuckets] == GridDialSearch.NONE) {
+			this.minEstimate++;
+		}
+		final int popped = this.bucketHeads[this.minEstimate % this.numBuckets];
+		this.removeOpen(popped);
+		return popped;
+	}
+
+	/**
+	 * Returns the packed path from the start tile to `index`.
+	 * Note: the path includes both the start tile and `index`.
+	 */
+	private int[] getIndexPath(final int index) {
+		int length = 0;
+		for (int ptr = index; ptr != GridDialSearch.NONE; ptr = this.parents[ptr]) {
+			length++;
+		}
+		// just walk the parents backwards to fill the path
+		final int[] path = new int[length];
+		int ptr = index;
+		for (int i = length - 1; i >= 0; --i) {
+			path[i] = ptr;
+			ptr = this.parents[ptr];
+		}
+		return path;
+	}
+
+	/**
+	 * Returns a least-(quantized-)cost path between two tiles.
+	 * See {@link GridAStar#search(int, int)} for the contents of the path.
+	 */
+	public int[] search(final int startIndex, final int goalIndex) {
+		final SearchGrid grid = this.grid;
+
+		// invalidate the state of the previous search
+		this.searchStamp++;
+		final int stamp = this.searchStamp;
+		for (int i = 0; i < this.numBuckets; ++i) {
+			this.bucketHeads[i] = GridDialSearch.NONE;
+		}
+		this.numOpen = 0;
+		this.numExpanded = 0;
+		// the least quantized step costs; diagonals never cost more than two straight steps.
+		this.minStraightCost = (int)Math.round(grid.getMinCost() * this.costScale);
+		this.minDiagonalCost = Math.min(
+				(int)Math.round(grid.getMinCost() * grid.diagonalWeight * this.costScale), 2 * this.minStraightCost);
+
+		final int startHeuristic = this.heuristic(startIndex, goalIndex);
+		this.costTo[startIndex] = 0;
+		this.estimates[startIndex] = startHeuristic;
+		this.parents[startIndex] = GridDialSearch.NONE;
+		this.seenStamps[startIndex] = stamp;
+		this.minEstimate = startHeuristic;
+		this.pushOpen(startIndex);
+
+		while (this.numOpen > 0) {
+			final int popped = this.popOpen();
+			this.closedStamps[popped] = stamp;
+			if (popped == goalIndex) {
+				// found the goal; ready to return a path.
+				return this.getIndexPath(popped);
+			}
+			this.numExpanded++;
+			final int poppedX = grid.getX(popped);
+			final int poppedY = grid.getY(popped);
+			final int poppedCostTo = this.costTo[popped];
+			for (int i = 0; i < SearchGrid.NUM_NEIGHBORS; ++i) {
+				final int x = poppedX + SearchGrid.NEIGHBOR_DX[i];
+				final int y = poppedY + SearchGrid.NEIGHBOR_DY[i];
+				if (!grid.inBounds(x, y)) {
+					continue;
+				}
+				final int expanded = grid.pack(x, y);
+				if ((this.closedStamps[expanded] == stamp) || !grid.isPassable(expanded)) {
+					// don't want to add it to the open set or update its costs
+					continue;
+				}
+				final int expandedCostTo = poppedCostTo + this.getStepCost(i, expanded);
+				if (this.seenStamps[expanded] == stamp) {
+					// the open set contains the tile; check if we've arrived along a more-optimal path.
+					if (expandedCostTo < this.costTo[expanded]) {
+						this.removeOpen(expanded);
+						this.estimates[expanded] += expandedCostTo - this.costTo[expanded];
+						this.costTo[expanded] = expandedCostTo;
+						this.parents[expanded] = popped;
+						this.pushOpen(expanded);
+					}
+				} else {
+					// we haven't seen this tile yet.
+					this.costTo[expanded] = expandedCostTo;
+					this.estimates[expanded] = expandedCostTo + this.heuristic(expanded, goalIndex);
+					this.parents[expanded] = popped;
+					this.seenStamps[expanded] = stamp;
+					this.pushOpen(expanded);
+				}
+			}
+		}
+		// reach here only if no path was found
+		return GridDialSearch.EMPTY_PATH;
+	}
+
+	/**
+	 * Returns the quantized cost (i.e. the sum of round(step cost * costScale)) of the path found by the
+	 * most recent search to `index`.
+	 * @param index must be the final element of a path returned by the most recent search.
+	 */
+	public int getPathCost(final int index) {
+		assert this.closedStamps[index] == this.searchStamp : "index not closed by the most recent search: " + index;
+		return this.costTo[index];
+	}
+}
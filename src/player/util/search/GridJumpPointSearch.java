@@ -0,0 +1,320 @@
+package player.util.search;
+
+/**
+ * Implements Jump Point Search over a SearchGrid.
+ *
+ * Within a uniform region (every passable tile of equal cost), many least-cost paths are
+ * symmetric; JPS expands only one of them by jumping along straight/diagonal runs of tiles and
+ * pushing only the tiles where a run must stop (jump points) onto the open set.
+ *
+ * Off-grid and impassable tiles are treated as the obstacles of classic JPS. Passable tiles of a different
+ * cost are not: jumps stop at the first tile next to one, and such tiles are expanded into all eight of
+ * their neighbors (as in {@link GridAStar}), so changes in passability are never skipped.
+ * Hence the returned paths cost the same as those returned by GridAStar.
+ */
+public class GridJumpPointSearch {
+
+	// parent of the start tile
+	private static final int NO_PARENT = -1;
+	// returned from a jump that found no jump point
+	private static final int NO_JUMP_POINT = -1;
+	// returned when no path exists
+	private static final int[] EMPTY_PATH = new int[0];
+
+	private final SearchGrid grid;
+	private final IndexedMinHeap openHeap;
+	private final double[] costTo;  // least known cost from the start tile
+	private final double[] heuristics;  // estimated cost to the goal tile
+	private final int[] parents;  // the parent (jump point) that gives costTo
+	private final int[] seenStamps;  // == searchStamp iff costTo/heuristics/parents are valid
+	private final int[] closedStamps;  // == searchStamp iff the tile has been popped from openHeap
+	private int searchStamp;
+	private int numExpanded;
+	private int goalIndex;
+
+	/**
+	 * Searches over a grid. Tile costs may change between (but not during) searches.
+	 */
+	public GridJumpPointSearch(final SearchGrid grid) {
+		this.grid = grid;
+		this.openHeap = new IndexedMinHeap(grid.numTiles);
+		this.costTo = new double[grid.numTiles];
+		this.heuristics = new double[grid.numTiles];
+		this.parents = new int[grid.numTiles];
+		this.seenStamps = new int[grid.numTiles];
+		this.closedStamps = new int[grid.numTiles];
+		this.searchStamp = 0;
+		this.numExpanded = 0;
+		this.goalIndex = 0;
+	}
+
+	/**
+	 * Returns the number of tiles (jump points) expanded by the most recent search.
+	 */
+	public int getNumExpanded() {
+		return this.numExpanded;
+	}
+
+	/**
+	 * Returns the number of open-set heap operations (pushes, updates, pops) made by the most recent search.
+	 */
+	public int getNumHeapOperations() {
+		return this.openHeap.getNumOperations();
+	}
+
+	/**
+	 * Returns true iff (x, y) can never be moved onto (i.e. lies off the grid or is impassable).
+	 */
+	private boolean isBlocked(final int x, final int y) {
+		return !this.grid.inBounds(x, y) || !this.grid.isPassable(this.grid.pack(x, y));
+	}
+
+	/**
+	 * Returns true iff some neighbor of the passable tile (x, y) is passable but costs a different
+	 * amount than (x, y) (i.e. passability changes here).
+	 */
+	private boolean hasIrregularNeighbor(final int x, final int y) {
+		final SearchGrid grid = this.grid;
+		final double cost = grid.getCost(grid.pack(x, y));
+		for (int i = 0; i < SearchGrid.NUM_NEIGHBORS; ++i) {
+			final int neighborX = x + SearchGrid.NEIGHBOR_DX[i];
+			final int neighborY = y + SearchGrid.NEIGHBOR_DY[i];
+			if (grid.inBounds(neighborX, neighborY)) {
+				final double neighborCost = grid.getCost(grid.pack(neighborX, neighborY));
+				if ((neighborCost != cost) && (neighborCost != SearchGrid.IMPASSABLE)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true iff a robot arriving at (x, y) while travelling in the direction (dx, dy) has a
+	 * "forced" neighbor: a tile that is reached most cheaply through (x, y) because an adjacent
+	 * tile is blocked.
+	 */
+	private boolean hasForcedNeighbor(final int x, final int y, final int dx, final int dy) {
+		if (dx == 0) {
+			return (this.isBlocked(x + 1, y) && !this.isBlocked(x + 1, y + dy)) ||
+				   (this.isBlocked(x - 1, y) && !this.isBlocked(x - 1, y + dy));
+		} else if (dy == 0) {
+			return (this.isBlocked(x, y + 1) && !this.isBlocked(x + dx, y + 1)) ||
+				   (this.isBlocked(x, y - 1) && !this.isBlocked(x + dx, y - 1));
+		} else {
+			return (this.isBlocked(x - dx, y) && !this.isBlocked(x - dx, y + dy)) ||
+				   (this.isBlocked(x, y - dy) && !this.isBlocked(x + dx, y - dy));
+		}
+	}
+
+	/**
+	 * Steps from (x, y) in the direction (dx, dy) until a jump point is found.
+	 *
+	 * A jump point is the first tile along the run that is either:
+	 *     (1) the goal, or
+	 *     (2) next to a tile of different cost, or
+	 *     (3) has a forced neighbor, or
+	 *     (4) (diagonal runs only) the origin of a straight run that finds a jump point.
+	 *
+	 * @param dx must lie on [-1, 1]
+	 * @param dy must lie on [-1, 1]; dx and dy must not both be zero.
+	 * @return the packed index of the jump point; else NO_JUMP_POINT if the run becomes blocked first.
+	 */
+	private int jump(int x, int y, final int dx, final int dy) {
+		final boolean isDiagonal = (dx != 0) && (dy != 0);
+		while (true) {
+			x += dx;
+			y += dy;
+			if (this.isBlocked(x, y)) {
+				return GridJumpPointSearch.NO_JUMP_POINT;
+			}
+			final int index = this.grid.pack(x, y);
+			if ((index == this.goalIndex) || this.hasIrregularNeighbor(x, y) || this.hasForcedNeighbor(x, y, dx, dy)) {
+				return index;
+			}
+			if (isDiagonal &&
+				((this.jump(x, y, dx, 0) != GridJumpPointSearch.NO_JUMP_POINT) ||
+				 (this.jump(x, y, 0, dy) != GridJumpPointSearch.NO_JUMP_POINT))) {
+				return index;
+			}
+		}
+	}
+
+	/**
+	 * Adds a successor tile to the open set, or updates its costs if we've arrived along a more-optimal path.
+	 *
+	 * @param parent the expanded tile.
+	 * @param successor a tile that lies along a straight/diagonal run from `parent`.
+	 * @param costTo the cost of the run's path from the start tile to `successor`.
+	 */
+	private void relax(final int parent, final int successor, final double costTo) {
+		final int stamp = this.searchStamp;
+		if (this.closedStamps[successor] == stamp) {
+			return;
+		}
+		if (this.seenStamps[successor] == stamp) {
+			if (costTo < this.costTo[successor]) {
+				this.costTo[successor] = costTo;
+				this.parents[successor] = parent;
+				final double heuristic = this.heuristics[successor];
+				this.openHeap.update(successor, costTo + heuristic, heuristic);
+			}
+		} else {
+			final double heuristic = this.grid.heuristic(successor, this.goalIndex);
+			this.costTo[successor] = costTo;
+			this.heuristics[successor] = heuristic;
+			this.parents[successor] = parent;
+			this.seenStamps[successor] = stamp;
+			this.openHeap.push(successor, costTo + heuristic, heuristic);
+		}
+	}
+
+	/**
+	 * Jumps from a tile in the direction (dx, dy) and relaxes the resulting jump point.
+	 */
+	private void jumpAndRelax(final int popped, final int x, final int y, final int dx, final int dy) {
+		final int jumpPoint = this.jump(x, y, dx, dy);
+		if (jumpPoint != GridJumpPointSearch.NO_JUMP_POINT) {
+			final SearchGrid grid = this.grid;
+			final int numSteps = Math.max(Math.abs(grid.getX(jumpPoint) - x), Math.abs(grid.getY(jumpPoint) - y));
+			// `popped` has no irregular neighbors, so the run costs the same as `popped` throughout.
+			final double tileCost = grid.getCost(popped);
+			final double stepCost = ((dx != 0) && (dy != 0)) ? (tileCost * grid.diagonalWeight) : tileCost;
+			this.relax(popped, jumpPoint, this.costTo[popped] + (numSteps * stepCost));
+		}
+	}
+
+	/**
+	 * Generates the successors of a popped tile.
+	 */
+	private void expand(final int popped) {
+		final SearchGrid grid = this.grid;
+		final int x = grid.getX(popped);
+		final int y = grid.getY(popped);
+		final int parent = this.parents[popped];
+
+		if (this.hasIrregularNeighbor(x, y)) {
+			// passability changes here; expand into every neighbor.
+			for (int i = 0; i < SearchGrid.NUM_NEIGHBORS; ++i) {
+				final int neighborX = x + SearchGrid.NEIGHBOR_DX[i];
+				final int neighborY = y + SearchGrid.NEIGHBOR_DY[i];
+				if (!this.isBlocked(neighborX, neighborY)) {
+					final int neighbor = grid.pack(neighborX, neighborY);
+					this.relax(popped, neighbor, this.costTo[popped] + grid.stepCost(i, neighbor));
+				}
+			}
+		} else if (parent == GridJumpPointSearch.NO_PARENT) {
+			// start tile; jump in every direction.
+			for (int i = 0; i < SearchGrid.NUM_NEIGHBORS; ++i) {
+				this.jumpAndRelax(popped, x, y, SearchGrid.NEIGHBOR_DX[i], SearchGrid.NEIGHBOR_DY[i]);
+			}
+		} else {
+			// jump only toward the "natural" and "forced" neighbors of the travel direction.
+			// (all other neighbors are reached at least as cheaply without passing through `popped`)
+			final int dx = Integer.signum(x - grid.getX(parent));
+			final int dy = Integer.signum(y - grid.getY(parent));
+			if (dx == 0) {
+				if (this.isBlocked(x + 1, y)) {
+					this.jumpAndRelax(popped, x, y, 1, dy);
+				}
+				if (this.isBlocked(x - 1, y)) {
+					this.jumpAndRelax(popped, x, y, -1, dy);
+				}
+			} else if (dy == 0) {
+				if (this.isBlocked(x, y + 1)) {
+					this.jumpAndRelax(popped, x, y, dx, 1);
+				}
+				if (this.isBlocked(x, y - 1)) {
+					this.jumpAndRelax(popped, x, y, dx, -1);
+				}
+			} else {
+				this.jumpAndRelax(popped, x, y, dx, 0);
+				this.jumpAndRelax(popped, x, y, 0, dy);
+				if (this.isBlocked(x - dx, y)) {
+					this.jumpAndRelax(popped, x, y, -dx, dy);
+				}
+				if (this.isBlocked(x, y - dy)) {
+					this.jumpAndRelax(popped, x, y, dx, -dy);
+				}
+			}
+			this.jumpAndRelax(popped, x, y, dx, dy);
+		}
+	}
+
+	/**
+	 * Returns the full packed path (every tile, not just jump points) from the start tile to `index`.
+	 * Note: the path includes both the start tile and `index`.
+	 */
+	private int[] getIndexPath(final int index) {
+		final SearchGrid grid = this.grid;
+		// consecutive jump points always lie along a straight/diagonal run.
+		int length = 1;
+		for (int ptr = index; this.parents[ptr] != GridJumpPointSearch.NO_PARENT; ptr = this.parents[ptr]) {
+			final int parent = this.parents[ptr];
+			length += Math.max(Math.abs(grid.getX(ptr) - grid.getX(parent)), Math.abs(grid.getY(ptr) - grid.getY(parent)));
+		}
+		// walk the jump points backwards, filling in each run
+		final int[] path = new int[length];
+		int i = length - 1;
+		path[i] = index;
+		for (int ptr = index; this.parents[ptr] != GridJumpPointSearch.NO_PARENT; ptr = this.parents[ptr]) {
+			final int parent = this.parents[ptr];
+			final int parentX = grid.getX(parent);
+			final int parentY = grid.getY(parent);
+			final int dx = Integer.signum(grid.getX(ptr) - parentX);
+			final int dy = Integer.signum(grid.getY(ptr) - parentY);
+			int x = grid.getX(ptr);
+			int y = grid.getY(ptr);
+			while ((x != parentX) || (y != parentY)) {
+				x -= dx;
+				y -= dy;
+				i--;
+				path[i] = grid.pack(x, y);
+			}
+		}
+		assert i == 0 : "path not filled; i: " + i;
+		return path;
+	}
+
+	/**
+	 * Returns a least-cost path between two tiles.
+	 * See {@link GridAStar#search(int, int)} for the contents of the path.
+	 */
+	public int[] search(final int startIndex, final int goalIndex) {
+		// invalidate the state of the previous search
+		this.searchStamp++;
+		this.openHeap.clear();
+		this.openHeap.resetNumOperations();
+		this.numExpanded = 0;
+		this.goalIndex = goalIndex;
+
+		final double startHeuristic = this.grid.heuristic(startIndex, goalIndex);
+		this.costTo[startIndex] = 0;
+		this.heuristics[startIndex] = startHeuristic;
+		this.parents[startIndex] = GridJumpPointSearch.NO_PARENT;
+		this.seenStamps[startIndex] = this.searchStamp;
+		this.openHeap.push(startIndex, startHeuristic, startHeuristic);
+
+		while (!this.openHeap.isEmpty()) {
+			final int popped = this.openHeap.pop();
+			this.closedStamps[popped] = this.searchStamp;
+			if (popped == goalIndex) {
+				// found the goal; ready to return a path.
+				return this.getIndexPath(popped);
+			}
+			this.numExpanded++;
+			this.expand(popped);
+		}
+		// reach here only if no path was found
+		return GridJumpPointSearch.EMPTY_PATH;
+	}
+
+	/**
+	 * Returns the cost of the path found by the most recent search to `index`.
+	 * @param index must be the final element of a path returned by the most recent search.
+	 */
+	public double getPathCost(final int index) {
+		assert this.closedStamps[index] == this.searchStamp : "index not closed by the most recent search: " + index;
+		return this.costTo[index];
+	}
+}
@@ -0,0 +1,525 @@
+package player.util.search;
+
+/**
+ * Implements hierarchical path-finding A* (HPA*) over a SearchGrid.
+ *
+ * The grid is divided into square clusters. Wherever two adjacent clusters share a run of passable
+ * border tiles, one or two "entrances" are placed along the run; the least costs between every pair of
+ * entrances within each cluster are precomputed. Searches then run over the (much smaller) abstract graph
+ * of entrances, and only the next leg of the abstract path needs to be refined into tiles (see refineNext()).
+ *
+ * When tile costs change, only the affected clusters are recomputed (see markTileChanged()).
+ * Note: abstract paths are near-optimal, not optimal (entrances are only placed at a few border tiles).
+ * Paths that can only pass between two clusters diagonally (i.e. around a blocked border tile) are not found.
+ *
+ * See "Near Optimal Hierarchical Path-Finding" (Botea, Muller, and Schaeffer, 2004).
+ */
+public class HierarchicalAStar {
+
+	// cluster side length that suits Battlecode's (at most) 64x64 maps
+	public static final int DEFAULT_CLUSTER_SIZE = 8;
+
+	// border runs at least this long get an entrance at each end; shorter runs get one in the middle.
+	private static final int MIN_DOUBLE_ENTRANCE_RUN = 6;
+
+	// parent of the abstract start node
+	private static final int NO_PARENT = -1;
+	// returned when no path exists
+	private static final int[] EMPTY_PATH = new int[0];
+
+	private final SearchGrid grid;
+	private final int clusterSize;
+	private final int numClustersX;
+	private final int numClustersY;
+	private final int numClusters;
+	private final int maxEntrances;  // per cluster
+
+	// entrances of each cluster: the tile inside the cluster, and the adjacent tile across the border
+	private final int[][] entranceTiles;
+	private final int[][] partnerTiles;
+	private final int[] numEntrances;
+	// intraCosts[cluster][(i * numEntrances) + j] == least cost from entrance i to entrance j within the cluster
+	private final double[][] intraCosts;
+	private final boolean[] dirtyClusters;
+	private int numDirtyClusters;
+
+	// cluster-bounded Dijkstra state
+	private final IndexedMinHeap clusterHeap;
+	private final double[] clusterCosts;
+	private final int[] clusterStamps;  // == clusterStamp iff clusterCosts is valid
+	private int clusterStamp;
+
+	// abstract search state; abstract node ids are (cluster * maxEntrances) + entrance, then START_ID/GOAL_ID.
+	private final int startId;
+	private final int goalId;
+	private final IndexedMinHeap abstractHeap;
+	private final double[] abstractCostTo;
+	private final int[] abstractParents;
+	private final int[] abstractSeenStamps;
+	private final int[] abstractClosedStamps;
+	private int abstractStamp;
+	private final double[] startCosts;  // least cost from the start tile to each entrance of its cluster
+	private final double[] goalCosts;  // least cost from each entrance of the goal's cluster to the goal tile
+	private int numExpanded;
+
+	/**
+	 * Searches over a grid. Every cluster is initially dirty (i.e. built on the first search).
+	 *
+	 * @param clusterSize side length of each (square) cluster. Must be at least 2.
+	 */
+	public HierarchicalAStar(final SearchGrid grid, final int clusterSize) {
+		assert clusterSize >= 2 : "clusterSize: " + clusterSize;
+		this.grid = grid;
+		this.clusterSize = clusterSize;
+		this.numClustersX = (grid.width + clusterSize - 1) / clusterSize;
+		this.numClustersY = (grid.height + clusterSize - 1) / clusterSize;
+		this.numClusters = this.numClustersX * this.numClustersY;
+		// each border run is followed by a non-passable tile, so a border holds at most clusterSize + 1 entrances.
+		this.maxEntrances = 4 * (clusterSize + 1);
+
+		this.entranceTiles = new int[this.numClusters][this.maxEntrances];
+		this.partnerTiles = new int[this.numClusters][this.maxEntrances];
+		this.numEntrances = new int[this.numClusters];
+		this.intraCosts = new double[this.numClusters][];
+		this.dirtyClusters = new boolean[this.numClusters];
+		for (int i = 0; i < this.numClusters; ++i) {
+			this.dirtyClusters[i] = true;
+		}
+		this.numDirtyClusters = this.numClusters;
+
+		this.clusterHeap = new IndexedMinHeap(grid.numTiles);
+		this.clusterCosts = new double[grid.numTiles];
+		this.clusterStamps = new int[grid.numTiles];
+		this.clusterStamp = 0;
+
+		final int numAbstractNodes = (this.numClusters * this.maxEntrances) + 2;
+		this.startId = numAbstractNodes - 2;
+		this.goalId = numAbstractNodes - 1;
+		this.abstractHeap = new IndexedMinHeap(numAbstractNodes);
+		this.abstractCostTo = new double[numAbstractNodes];
+		this.abstractParents = new int[numAbstractNodes];
+		this.abstractSeenStamps = new int[numAbstractNodes];
+		this.abstractClosedStamps = new int[numAbstractNodes];
+		this.abstractStamp = 0;
+		this.startCosts = new double[this.maxEntrances];
+		this.goalCosts = new double[this.maxEntrances];
+		this.numExpanded = 0;
+	}
+
+	/**
+	 * See {@link HierarchicalAStar#HierarchicalAStar(SearchGrid, int)}. Uses DEFAULT_CLUSTER_SIZE.
+	 */
+	public HierarchicalAStar(final SearchGrid grid) {
+		this(grid, HierarchicalAStar.DEFAULT_CLUSTER_SIZE);
+	}
+
+	/**
+	 * Returns the number of abstract nodes expanded by the most recent search.
+	 */
+	public int getNumExpanded() {
+		return this.numExpanded;
+	}
+
+	public int getNumDirtyClusters() {
+		return this.numDirtyClusters;
+	}
+
+	private int getClusterOf(final int x, final int y) {
+		return ((y / this.clusterSize) * this.numClustersX) + (x / this.clusterSize);
+	}
+
+	private void markDirty(final int x, final int y) {
+		if (this.grid.inBounds(x, y)) {
+			final int cluster = this.getClusterOf(x, y);
+			if (!this.dirtyClusters[cluster]) {
+				this.dirtyClusters[cluster] = true;
+				this.numDirtyClusters++;
+			}
+		}
+	}
+
+	/**
+	 * Records that a tile's cost has changed (i.e. after SearchGrid.setCost()).
+	 * Every cluster whose entrances/costs depend on the tile is recomputed before the next search.
+	 */
+	public void markTileChanged(final int index) {
+		final int x = this.grid.getX(index);
+		final int y = this.grid.getY(index);
+		this.markDirty(x, y);
+		// border tiles also determine the entrances of the cluster across the border
+		final int offsetX = x % this.clusterSize;
+		final int offsetY = y % this.clusterSize;
+		if (offsetX == 0) {
+			this.markDirty(x - 1, y);
+		}
+		if (offsetX == (this.clusterSize - 1)) {
+			this.markDirty(x + 1, y);
+		}
+		if (offsetY == 0) {
+			this.markDirty(x, y - 1);
+		}
+		if (offsetY == (this.clusterSize - 1)) {
+			this.markDirty(x, y + 1);
+		}
+	}
+
+	/**
+	 * Recomputes at most `maxClusters` dirty clusters (so the work can be spread across several rounds).
+	 *
+	 * @param maxClusters must be positive.
+	 * @return the number of clusters that remain dirty.
+	 */
+	public int rebuildDirtyClusters(final int maxClusters) {
+		assert maxClusters > 0 : "maxClusters: " + maxClusters;
+		int numRebuilt = 0;
+		for (int cluster = 0; (cluster < this.numClusters) && (numRebuilt < maxClusters); ++cluster) {
+			if (this.dirtyClusters[cluster]) {
+				this.rebuildCluster(cluster);
+				this.dirtyClusters[cluster] = false;
+				this.numDirtyClusters--;
+				numRebuilt++;
+			}
+		}
+		return this.numDirtyClusters;
+	}
+
+	/**
+	 * Adds the entrances along a run of passable border tile pairs.
+	 *
+	 * Note: both clusters that share a border scan it in the same order, so they place matching entrances.
+	 *
+	 * @param runStart the border coordinate of the first pair in the run.
+	 * @param runLength the number of pairs in the run.
+	 * @param isVertical true iff the border runs along y (i.e. the clusters lie side-by-side in x).
+	 * @param inside the x (vertical) or y (horizontal) coordinate of this cluster's border tiles.
+	 * @param outside the x (vertical) or y (horizontal) coordinate of the other cluster's border tiles.
+	 */
+	private void addRunEntrances(final int cluster, final int runStart, final int runLength,
+								 final boolean isVertical, final int inside, final int outside) {
+		if (runLength == 0) {
+			return;
+		}
+		final SearchGrid grid = this.grid;
+		final int first;
+		final int last;
+		if (runLength < HierarchicalAStar.MIN_DOUBLE_ENTRANCE_RUN) {
+			first = runStart + (runLength / 2);
+			last = first;
+		} else {
+			first = runStart;
+			last = runStart + runLength - 1;
+		}
+		for (int coord = first; coord <= last; coord += Math.max(1, last - first)) {
+			final int numEntrances = this.numEntrances[cluster];
+			this.entranceTiles[cluster][numEntrances] = isVertical ? grid.pack(inside, coord) : grid.pack(coord, inside);
+			this.partnerTiles[cluster][numEntrances] = isVertical ? grid.pack(outside, coord) : grid.pack(coord, outside);
+			this.numEntrances[cluster] = numEntrances + 1;
+		}
+	}
+
+	/**
+	 * Places the entrances along one border of a cluster.
+	 * See addRunEntrances() for the parameters.
+	 *
+	 * @param borderMin the least border coordinate of the cluster.
+	 * @param borderMax the greatest border coordinate of the cluster (exclusive).
+	 */
+	private void scanBorder(final int cluster, final boolean isVertical, final int inside, final int outside,
+							final int borderMin, final int borderMax) {
+		final SearchGrid grid = this.grid;
+		if (isVertical ? !grid.inBounds(outside, borderMin) : !grid.inBounds(borderMin, outside)) {
+			// no cluster lies across this border
+			return;
+		}
+		int runStart = borderMin;
+		for (int coord = borderMin; coord < borderMax; ++coord) {
+			final int insideTile = isVertical ? grid.pack(inside, coord) : grid.pack(coord, inside);
+			final int outsideTile = isVertical ? grid.pack(outside, coord) : grid.pack(coord, outside);
+			if (!grid.isPassable(insideTile) || !grid.isPassable(outsideTile)) {
+				this.addRunEntrances(cluster, runStart, coord - runStart, isVertical, inside, outside);
+				runStart = coord + 1;
+			}
+		}
+		this.addRunEntrances(cluster, runStart, borderMax - runStart, isVertical, inside, outside);
+	}
+
+	/**
+	 * Runs Dijkstra's algorithm from a tile, never leaving the tile's cluster.
+	 * Afterwards, clusterCosts holds the least cost of every reached tile (see getClusterCost()).
+	 *
+	 * @param isReversed if true, computes the least costs *to* sourceIndex rather than from it.
+	 */
+	private void clusterDijkstra(final int sourceIndex, final boolean isReversed) {
+		final SearchGrid grid = this.grid;
+		final IndexedMinHeap heap = this.clusterHeap;
+		final int cluster = this.getClusterOf(grid.getX(sourceIndex), grid.getY(sourceIndex));
+		final int xMin = (cluster % this.numClustersX) * this.clusterSize;
+		final int yMin = (cluster / this.numClustersX) * this.clusterSize;
+		final int xMax = Math.min(xMin + this.clusterSize, grid.width);
+		final int yMax = Math.min(yMin + this.clusterSize, grid.height);
+
+		this.clusterStamp++;
+		final int stamp = this.clusterStamp;
+		heap.clear();
+		this.clusterCosts[sourceIndex] = 0;
+		this.clusterStamps[sourceIndex] = stamp;
+		heap.push(sourceIndex, 0, 0);
+		while (!heap.isEmpty()) {
+			final int popped = heap.pop();
+			final double poppedCost = this.clusterCosts[popped];
+			final int poppedX = grid.getX(popped);
+			final int poppedY = grid.getY(popped);
+			for (int i = 0; i < SearchGrid.NUM_NEIGHBORS; ++i) {
+				final int x = poppedX + SearchGrid.NEIGHBOR_DX[i];
+				final int y = poppedY + SearchGrid.NEIGHBOR_DY[i];
+				if ((x < xMin) || (x >= xMax) || (y < yMin) || (y >= yMax)) {
+					continue;
+				}
+				final int neighbor = grid.pack(x, y);
+				if (!grid.isPassable(neighbor)) {
+					continue;
+				}
+				// reversed: the move runs from `neighbor` onto `popped`
+				final double cost = poppedCost + (isReversed ? grid.stepCost(i, popped) : grid.stepCost(i, neighbor));
+				if (this.clusterStamps[neighbor] != stamp) {
+					this.clusterCosts[neighbor] = cost;
+					this.clusterStamps[neighbor] = stamp;
+					heap.push(neighbor, cost, 0);
+				} else if ((cost < this.clusterCosts[neighbor]) && heap.contains(neighbor)) {
+					this.clusterCosts[neighbor] = cost;
+					heap.update(neighbor, cost, 0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the cost found by the most recent clusterDijkstra(); else +inf if the tile was not reached.
+	 */
+	private double getClusterCost(final int index) {
+		return (this.clusterStamps[index] == this.clusterStamp) ? this.clusterCosts[index] : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Recomputes the entrances of a cluster and the least costs between them.
+	 */
+	private void rebuildCluster(final int cluster) {
+		final int xMin = (cluster % this.numClustersX) * this.clusterSize;
+		final int yMin = (cluster / this.numClustersX) * this.clusterSize;
+		final int xMax = Math.min(xMin + this.clusterSize, this.grid.width);
+		final int yMax = Math.min(yMin + this.clusterSize, this.grid.height);
+
+		this.numEntrances[cluster] = 0;
+		this.scanBorder(cluster, true, xMin, xMin - 1, yMin, yMax);
+		this.scanBorder(cluster, true, xMax - 1, xMax, yMin, yMax);
+		this.scanBorder(cluster, false, yMin, yMin - 1, xMin, xMax);
+		this.scanBorder(cluster, false, yMax - 1, yMax, xMin, xMax);
+
+		final int numEntrances = this.numEntrances[cluster];
+		final double[] costs = new double[numEntrances * numEntrances];
+		for (int i = 0; i < numEntrances; ++i) {
+			this.clusterDijkstra(this.entranceTiles[cluster][i], false);
+			for (int j = 0; j < numEntrances; ++j) {
+				costs[(i * numEntrances) + j] = this.getClusterCost(this.entranceTiles[cluster][j]);
+			}
+		}
+		this.intraCosts[cluster] = costs;
+	}
+
+	private int getAbstractTile(final int id) {
+		return this.entranceTiles[id / this.maxEntrances][id % this.maxEntrances];
+	}
+
+	/**
+	 * Adds an abstract node to the open set, or updates its costs if we've arrived along a more-optimal path.
+	 */
+	private void relax(final int parentId, final int id, final double costTo, final int goalIndex) {
+		final int stamp = this.abstractStamp;
+		if (this.abstractClosedStamps[id] == stamp) {
+			return;
+		}
+		final double heuristic = (id == this.goalId) ? 0 : this.grid.heuristic(this.getAbstractTile(id), goalIndex);
+		if (this.abstractSeenStamps[id] == stamp) {
+			if (costTo < this.abstractCostTo[id]) {
+				this.abstractCostTo[id] = costTo;
+				this.abstractParents[id] = parentId;
+				this.abstractHeap.update(id, costTo + heuristic, heuristic);
+			}
+		} else {
+			this.abstractCostTo[id] = costTo;
+			this.abstractParents[id] = parentId;
+			this.abstractSeenStamps[id] = stamp;
+			this.abstractHeap.push(id, costTo + heuristic, heuristic);
+		}
+	}
+
+	/**
+	 * Returns the abstract path between two tiles: the start tile, then the entrances the path passes
+	 * through, then the goal tile.
+	 * Rebuilds every dirty cluster first.
+	 *
+	 * @param startIndex packed index of the tile to begin the search at. Must be passable.
+	 * @param goalIndex packed index of the tile to end the search at. Must be passable.
+	 * @return packed indices of each waypoint such that the first element is startIndex and the final
+	 *     element is goalIndex. Each sequential waypoint can be reached from the waypoint before it
+	 *     (see refineNext()).
+	 *
+	 *     Returns an array of length 1 [startIndex] if startIndex == goalIndex.
+	 *     Returns an empty array if there is no path from startIndex to goalIndex.
+	 */
+	public int[] search(final int startIndex, final int goalIndex) {
+		if (this.numDirtyClusters > 0) {
+			this.rebuildDirtyClusters(this.numClusters);
+		}
+		this.abstractStamp++;
+		this.abstractHeap.clear();
+		this.numExpanded = 0;
+		if (startIndex == goalIndex) {
+			this.abstractCostTo[this.goalId] = 0;
+			this.abstractClosedStamps[this.goalId] = this.abstractStamp;
+			return new int[] {startIndex};
+		}
+		final SearchGrid grid = this.grid;
+		final int startCluster = this.getClusterOf(grid.getX(startIndex), grid.getY(startIndex));
+		final int goalCluster = this.getClusterOf(grid.getX(goalIndex), grid.getY(goalIndex));
+
+		// connect the start and goal tiles to the entrances of their clusters
+		this.clusterDijkstra(goalIndex, true);
+		for (int i = 0; i < this.numEntrances[goalCluster]; ++i) {
+			this.goalCosts[i] = this.getClusterCost(this.entranceTiles[goalCluster][i]);
+		}
+		final double directCost = this.getClusterCost(startIndex);
+		this.clusterDijkstra(startIndex, false);
+		for (int i = 0; i < this.numEntrances[startCluster]; ++i) {
+			this.startCosts[i] = this.getClusterCost(this.entranceTiles[startCluster][i]);
+		}
+
+		this.abstractCostTo[this.startId] = 0;
+		this.abstractParents[this.startId] = HierarchicalAStar.NO_PARENT;
+		this.abstractSeenStamps[this.startId] = this.abstractStamp;
+		this.abstractHeap.push(this.startId, 0, 0);
+
+		while (!this.abstractHeap.isEmpty()) {
+			final int popped = this.abstractHeap.pop();
+			this.abstractClosedStamps[popped] = this.abstractStamp;
+			if (popped == this.goalId) {
+				return this.getWaypoints(startIndex, goalIndex);
+			}
+			this.numExpanded++;
+			final double poppedCostTo = this.abstractCostTo[popped];
+			if (popped == this.startId) {
+				if (directCost != Double.POSITIVE_INFINITY) {
+					// start and goal share a cluster (and are connected within it)
+					this.relax(popped, this.goalId, directCost, goalIndex);
+				}
+				final int base = startCluster * this.maxEntrances;
+				for (int i = 0; i < this.numEntrances[startCluster]; ++i) {
+					if (this.startCosts[i] != Double.POSITIVE_INFINITY) {
+						this.relax(popped, base + i, this.startCosts[i], goalIndex);
+					}
+				}
+				continue;
+			}
+			final int cluster = popped / this.maxEntrances;
+			final int entrance = popped % this.maxEntrances;
+			final int numEntrances = this.numEntrances[cluster];
+			final int base = cluster * this.maxEntrances;
+			// within the cluster
+			final double[] costs = this.intraCosts[cluster];
+			for (int j = 0; j < numEntrances; ++j) {
+				final double cost = costs[(entrance * numEntrances) + j];
+				if ((j != entrance) && (cost != Double.POSITIVE_INFINITY)) {
+					this.relax(popped, base + j, poppedCostTo + cost, goalIndex);
+				}
+			}
+			if ((cluster == goalCluster) && (this.goalCosts[entrance] != Double.POSITIVE_INFINITY)) {
+				this.relax(popped, this.goalId, poppedCostTo + this.goalCosts[entrance], goalIndex);
+			}
+			// across the border
+			final int partnerId = this.getPartnerId(cluster, entrance);
+			final int partnerTile = this.partnerTiles[cluster][entrance];
+			// border crossings are always orthogonal
+			this.relax(popped, partnerId, poppedCostTo + grid.getCost(partnerTile), goalIndex);
+		}
+		// reach here only if no path was found
+		return HierarchicalAStar.EMPTY_PATH;
+	}
+
+	/**
+	 * Returns the abstract node id of the entrance on the other side of a border.
+	 */
+	private int getPartnerId(final int cluster, final int entrance) {
+		final SearchGrid grid = this.grid;
+		final int tile = this.entranceTiles[cluster][entrance];
+		final int partnerTile = this.partnerTiles[cluster][entrance];
+		final int partnerCluster = this.getClusterOf(grid.getX(partnerTile), grid.getY(partnerTile));
+		for (int i = 0; i < this.numEntrances[partnerCluster]; ++i) {
+			if ((this.entranceTiles[partnerCluster][i] == partnerTile) && (this.partnerTiles[partnerCluster][i] == tile)) {
+				return (partnerCluster * this.maxEntrances) + i;
+			}
+		}
+		throw new IllegalStateException("unmatched entrance: " + tile);
+	}
+
+	/**
+	 * Returns the waypoints from the start tile to the goal tile.
+	 * Note: the start/goal tiles may themselves be entrances, and a corner tile may be two entrances;
+	 * each tile appears only once.
+	 */
+	private int[] getWaypoints(final int startIndex, final int goalIndex) {
+		int length = 2;
+		int prevTile = goalIndex;
+		for (int id = this.abstractParents[this.goalId]; id != this.startId; id = this.abstractParents[id]) {
+			final int tile = this.getAbstractTile(id);
+			if ((tile != prevTile) && (tile != startIndex)) {
+				length++;
+			}
+			prevTile = tile;
+		}
+		final int[] waypoints = new int[length];
+		waypoints[0] = startIndex;
+		waypoints[length - 1] = goalIndex;
+		int i = length - 2;
+		prevTile = goalIndex;
+		for (int id = this.abstractParents[this.goalId]; id != this.startId; id = this.abstractParents[id]) {
+			final int tile = this.getAbstractTile(id);
+			if ((tile != prevTile) && (tile != startIndex)) {
+				waypoints[i] = tile;
+				i--;
+			}
+			prevTile = tile;
+		}
+		assert i == 0 : "waypoints not filled; i: " + i;
+		return waypoints;
+	}
+
+	/**
+	 * Returns the cost of the abstract path returned by the most recent successful search().
+	 */
+	public double getPathCost() {
+		assert this.abstractClosedStamps[this.goalId] == this.abstractStamp : "most recent search found no path";
+		return this.abstractCostTo[this.goalId];
+	}
+
+	/**
+	 * Refines the next leg of an abstract path (i.e. up to the first waypoint outside the start tile's cluster)
+	 * into tiles.
+	 *
+	 * @param gridAStar must search over the same grid.
+	 * @param waypoints a non-empty result of search().
+	 * @return see {@link GridAStar#search(int, int)}.
+	 */
+	public int[] refineNext(final GridAStar gridAStar, final int[] waypoints) {
+		final SearchGrid grid = this.grid;
+		final int startIndex = waypoints[0];
+		final int startCluster = this.getClusterOf(grid.getX(startIndex), grid.getY(startIndex));
+		int next = waypoints[waypoints.length - 1];
+		for (int i = 1; i < waypoints.length; ++i) {
+			if (this.getClusterOf(grid.getX(waypoints[i]), grid.getY(waypoints[i])) != startCluster) {
+				next = waypoints[i];
+				break;
+			}
+		}
+		return gridAStar.search(startIndex, next);
+	}
+}
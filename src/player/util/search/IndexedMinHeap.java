@@ -0,0 +1,200 @@
+package player.util.search;
+
+/**
+ * Binary min-heap of the integers on [0, capacity) (i.e. packed tile indices).
+ *
+ * Each contained item has a primary key and a secondary key; items are ordered by primary key,
+ * then by secondary key. Because the heap tracks the position of every item, an item's keys
+ * can be updated in O(log n) (see update()).
+ *
+ * Like GridAStar's arrays, `positions` is valid only for items whose stamp matches the current one, so
+ * neither construction nor clear() touches every item.
+ */
+class IndexedMinHeap {
+
+	// stamp of an item that is not contained in the heap; stamps begin after it.
+	private static final int ABSENT_STAMP = 0;
+
+	private final int[] heap;  // items in heap order
+	private final int[] positions;  // index into `heap` of each item; valid iff its stamp is current
+	private final int[] positionStamps;  // == stamp iff the item is contained
+	private int stamp;
+	private final double[] primaryKeys;  // indexed by item
+	private final double[] secondaryKeys;  // indexed by item
+	private int size;
+	private int numOperations;  // pushes, updates, and removals since the last resetNumOperations()
+
+	/**
+	 * Stores items on [0, capacity).
+	 */
+	public IndexedMinHeap(final int capacity) {
+		this.heap = new int[capacity];
+		this.positions = new int[capacity];
+		this.positionStamps = new int[capacity];
+		this.stamp = IndexedMinHeap.ABSENT_STAMP + 1;
+		this.primaryKeys = new double[capacity];
+		this.secondaryKeys = new double[capacity];
+		this.size = 0;
+		this.numOperations = 0;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	public boolean contains(final int item) {
+		return this.positionStamps[item] == this.stamp;
+	}
+
+	/**
+	 * Returns the number of pushes, updates, and removals (including pops) since the last
+	 * call to resetNumOperations().
+	 */
+	public int getNumOperations() {
+		return this.numOperations;
+	}
+
+	public void resetNumOperations() {
+		this.numOperations = 0;
+	}
+
+	/**
+	 * Removes every item.
+	 * Note: runs in O(1).
+	 */
+	public void clear() {
+		this.stamp++;
+		this.size = 0;
+	}
+
+	/**
+	 * Adds an item to the heap.
+	 * @param item must not be contained.
+	 */
+	public void push(final int item, final double primaryKey, final double secondaryKey) {
+		assert !this.contains(item) : "item already contained: " + item;
+		this.primaryKeys[item] = primaryKey;
+		this.secondaryKeys[item] = secondaryKey;
+		this.heap[this.size] = item;
+		this.positions[item] = this.size;
+		this.positionStamps[item] = this.stamp;
+		this.size++;
+		this.numOperations++;
+		this.siftUp(this.size - 1);
+	}
+
+	/**
+	 * Changes the keys of a contained item (either increased or decreased).
+	 * @param item must be contained.
+	 */
+	public void update(final int item, final double primaryKey, final double secondaryKey) {
+		assert this.contains(item) : "item not contained: " + item;
+		this.primaryKeys[item] = primaryKey;
+		this.secondaryKeys[item] = secondaryKey;
+		this.numOperations++;
+		final int position = this.positions[item];
+		this.siftUp(position);
+		this.siftDown(this.positions[item]);
+	}
+
+	/**
+	 * Returns the item of least keys.
+	 * Heap must be non-empty.
+	 */
+	public int peek() {
+		assert this.size > 0 : "cannot peek on an empty heap";
+		return this.heap[0];
+	}
+
+	public double peekPrimaryKey() {
+		return this.primaryKeys[this.peek()];
+	}
+
+	public double peekSecondaryKey() {
+		return this.secondaryKeys[this.peek()];
+	}
+
+	/**
+	 * Removes and returns the item of least keys.
+	 * Heap must be non-empty.
+	 */
+	public int pop() {
+		final int popped = this.peek();
+		this.remove(popped);
+		return popped;
+	}
+
+	/**
+	 * Removes an item from the heap.
+	 * @param item must be contained.
+	 */
+	public void remove(final int item) {
+		assert this.contains(item) : "item not contained: " + item;
+		final int position = this.positions[item];
+		this.numOperations++;
+		this.size--;
+		this.positionStamps[item] = IndexedMinHeap.ABSENT_STAMP;
+		if (position != this.size) {
+			// fill the hole with the final item
+			final int last = this.heap[this.size];
+			this.heap[position] = last;
+			this.positions[last] = position;
+			this.siftUp(position);
+			this.siftDown(this.positions[last]);
+		}
+	}
+
+	/**
+	 * Returns true iff itemA should lie above itemB.
+	 */
+	private boolean less(final int itemA, final int itemB) {
+		final double primaryA = this.primaryKeys[itemA];
+		final double primaryB = this.primaryKeys[itemB];
+		return (primaryA < primaryB) ||
+			   ((primaryA == primaryB) && (this.secondaryKeys[itemA] < this.secondaryKeys[itemB]));
+	}
+
+	private void siftUp(int position) {
+		final int item = this.heap[position];
+		while (position > 0) {
+			final int parentPosition = (position - 1) >> 1;
+			final int parent = this.heap[parentPosition];
+			if (!this.less(item, parent)) {
+				break;
+			}
+			// move the parent down into the hole
+			this.heap[position] = parent;
+			this.positions[parent] = position;
+			position = parentPosition;
+		}
+		this.heap[position] = item;
+		this.positions[item] = position;
+	}
+
+	private void siftDown(int position) {
+		final int item = this.heap[position];
+		final int half = this.size >> 1;  // positions at/after this are leaves
+		while (position < half) {
+			int childPosition = (position << 1) + 1;
+			int child = this.heap[childPosition];
+			final int rightPosition = childPosition + 1;
+			if ((rightPosition < this.size) && this.less(this.heap[rightPosition], child)) {
+				childPosition = rightPosition;
+				child = this.heap[childPosition];
+			}
+			if (!this.less(child, item)) {
+				break;
+			}
+			// move the child up into the hole
+			this.heap[position] = child;
+			this.positions[child] = position;
+			position = childPosition;
+		}
+		this.heap[position] = item;
+		this.positions[item] = position;
+	}
+}
@@ -0,0 +1,120 @@
+package player.util.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Caches search results (paths) by their final element (i.e. destination).
+ *
+ * A cached path also answers queries from every element along it: the remainder of a least-cost
+ * path is itself a least-cost path, so a robot that lies on a cached path to its goal reuses the
+ * path's suffix instead of searching again.
+ *
+ * Holds at most `capacity` paths; the least-recently used path is evicted first.
+ */
+public class PathCache<T> {
+
+	// a few paths of ~64 elements each; small enough for a single robot's heap.
+	public static final int DEFAULT_CAPACITY = 8;
+
+	private final Map<T, List<T>> pathMap;  // maps destinations to paths; iterates least- to most-recently used
+	private int numHits;
+	private int numMisses;
+
+	/**
+	 * @param capacity the maximum number of cached paths. Must be positive.
+	 */
+	public PathCache(final int capacity) {
+		assert capacity > 0 : "capacity: " + capacity;
+		// access-ordered, so the eldest entry is the least-recently used
+		this.pathMap = new LinkedHashMap<T, List<T>>(capacity, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<T, List<T>> eldest) {
+				return this.size() > capacity;
+			}
+		};
+		this.numHits = 0;
+		this.numMisses = 0;
+	}
+
+	/**
+	 * Holds at most DEFAULT_CAPACITY paths.
+	 */
+	public PathCache() {
+		this(PathCache.DEFAULT_CAPACITY);
+	}
+
+	public int getNumHits() {
+		return this.numHits;
+	}
+
+	public int getNumMisses() {
+		return this.numMisses;
+	}
+
+	/**
+	 * Caches a path, replacing any other path to the same destination.
+	 * @param path must be non-empty. Its final element is the destination.
+	 */
+	public void put(final List<T> path) {
+		assert !path.isEmpty() : "cannot cache an empty path";
+		// copy into an ArrayList; subList() is then constant-time
+		this.pathMap.put(path.get(path.size() - 1), new ArrayList<>(path));
+	}
+
+	/**
+	 * Removes the cached path (if any) to a destination (e.g. if the path is no longer valid).
+	 */
+	public void invalidate(final T goalObj) {
+		this.pathMap.remove(goalObj);
+	}
+
+	public void clear() {
+		this.pathMap.clear();
+	}
+
+	/**
+	 * Returns the suffix of the cached path to goalObj that begins at currentObj.
+	 * Counts a hit if the suffix exists; else counts a miss.
+	 *
+	 * @return an *immutable* List whose first element is currentObj and final element is goalObj;
+	 *     else an empty Optional if no cached path to goalObj passes through currentObj.
+	 */
+	public Optional<List<T>> get(final T currentObj, final T goalObj) {
+		final List<T> path = this.pathMap.get(goalObj);
+		if (path != null) {
+			final int index = path.indexOf(currentObj);
+			if (index >= 0) {
+				this.numHits++;
+				return Optional.of(Collections.unmodifiableList(path.subList(index, path.size())));
+			}
+		}
+		this.numMisses++;
+		return Optional.empty();
+	}
+
+	/**
+	 * Returns a path from startObj to goalObj; searches only if no cached path can be reused.
+	 *
+	 * @param search runs the search from startObj to goalObj (e.g. AStar.aStarSearch()). Non-empty results are cached.
+	 * @return see get(); on a miss, whatever `search` returns.
+	 */
+	public List<T> getOrSearch(final T startObj, final T goalObj, final Supplier<List<T>> search) {
+		final Optional<List<T>> cachedPath = this.get(startObj, goalObj);
+		if (cachedPath.isPresent()) {
+			return cachedPath.get();
+		}
+		final List<T> path = search.get();
+		if (!path.isEmpty()) {
+			this.put(path);
+		}
+		return path;
+	}
+}
@@ -0,0 +1,204 @@
+package player.util.search;
+
+/**
+ * A rectangular grid of tile costs; the shared representation used by all grid-specialized searches.
+ *
+ * Tiles are identified by "packed" indices on [0, numTiles), where:
+ *     index = (y * width) + x
+ *
+ * Moving onto a tile costs the tile's cost. Diagonal moves cost the tile's cost multiplied by diagonalWeight.
+ *
+ * A tile's stored cost is valid only if its stamp matches the current fill; every other tile costs the
+ * fill cost. So neither construction nor fill() touches every tile.
+ */
+public class SearchGrid {
+
+	// cost of a tile that can never be moved onto
+	public static final double IMPASSABLE = Double.POSITIVE_INFINITY;
+
+	// Battlecode charges the same cooldown for diagonal and orthogonal moves.
+	public static final double BATTLECODE_DIAGONAL_WEIGHT = 1.0;
+	// diagonal moves cost their Euclidian length.
+	public static final double EUCLIDIAN_DIAGONAL_WEIGHT = Math.sqrt(2);
+
+	// number of tiles adjacent to each tile
+	public static final int NUM_NEIGHBORS = 8;
+	// x/y offsets of each adjacent tile; ordered as UtilBattlecode.OFF_CENTER_DIRECTIONS
+	// (N, NE, E, SE, S, SW, W, NW), so odd indices are diagonal.
+	public static final int[] NEIGHBOR_DX = {0, 1, 1, 1, 0, -1, -1, -1};
+	public static final int[] NEIGHBOR_DY = {1, 1, 0, -1, -1, -1, 0, 1};
+
+	public final int width;
+	public final int height;
+	public final int numTiles;
+	public final double diagonalWeight;
+
+	private final double[] costs;  // valid iff the tile's stamp == fillStamp
+	private final int[] costStamps;
+	private int fillStamp;
+	// the cost of every tile not set since the last fill
+	private double fillCost;
+	// no greater than any passable tile cost ever stored; keeps heuristics admissible.
+	private double minCost;
+	// incremented every time a tile cost changes
+	private int version;
+
+	private void assertRepCheck() {
+		assert (this.width > 0) && (this.height > 0) : "width: " + this.width + ", height: " + this.height;
+		assert this.numTiles == (this.width * this.height) : "numTiles: " + this.numTiles;
+		assert (this.diagonalWeight >= 1.0) && (this.diagonalWeight < 2.0) : "diagonalWeight: " + this.diagonalWeight;
+		assert this.minCost > 0 : "minCost: " + this.minCost;
+	}
+
+	/**
+	 * Stores the cost of every tile of a width x height grid.
+	 *
+	 * @param defaultCost the initial cost of every tile. Must be positive.
+	 * @param diagonalWeight the multiplier applied to the cost of diagonal moves.
+	 *     Must lie on [1, 2).
+	 */
+	public SearchGrid(final int width, final int height, final double defaultCost, final double diagonalWeight) {
+		assert defaultCost > 0 : "defaultCost: " + defaultCost;
+		this.width = width;
+		this.height = height;
+		this.numTiles = width * height;
+		this.diagonalWeight = diagonalWeight;
+		this.costs = new double[this.numTiles];
+		// zeroed by allocation, so no tile has been set
+		this.costStamps = new int[this.numTiles];
+		this.fillStamp = 1;
+		this.fillCost = defaultCost;
+		this.minCost = defaultCost;
+		this.version = 0;
+		this.assertRepCheck();
+	}
+
+	/**
+	 * See {@link SearchGrid#SearchGrid(int, int, double, double)}.
+	 * Every tile initially costs 1.0; diagonal moves are weighted as in Battlecode.
+	 */
+	public SearchGrid(final int width, final int height) {
+		this(width, height, 1.0, SearchGrid.BATTLECODE_DIAGONAL_WEIGHT);
+	}
+
+	/**
+	 * Returns the packed index of the tile at (x, y).
+	 * @param x must lie on [0, width)
+	 * @param y must lie on [0, height)
+	 */
+	public int pack(final int x, final int y) {
+		assert this.inBounds(x, y) : "(" + x + ", " + y + ")";
+		return (y * this.width) + x;
+	}
+
+	public int getX(final int index) {
+		return index % this.width;
+	}
+
+	public int getY(final int index) {
+		return index / this.width;
+	}
+
+	/**
+	 * Returns true iff (x, y) lies on the grid.
+	 */
+	public boolean inBounds(final int x, final int y) {
+		return (x >= 0) && (x < this.width) && (y >= 0) && (y < this.height);
+	}
+
+	/**
+	 * Returns the cost of moving (orthogonally) onto a tile.
+	 */
+	public double getCost(final int index) {
+		return (this.costStamps[index] == this.fillStamp) ? this.costs[index] : this.fillCost;
+	}
+
+	public boolean isPassable(final int index) {
+		return this.getCost(index) != SearchGrid.IMPASSABLE;
+	}
+
+	/**
+	 * Sets the cost of moving (orthogonally) onto a tile.
+	 *
+	 * @param cost must be positive. May be IMPASSABLE.
+	 */
+	public void setCost(final int index, final double cost) {
+		assert cost > 0 : "cost: " + cost;
+		if (this.getCost(index) != cost) {
+			this.costs[index] = cost;
+			this.costStamps[index] = this.fillStamp;
+			if (cost < this.minCost) {
+				this.minCost = cost;
+			}
+			this.version++;
+		}
+	}
+
+	/**
+	 * Sets the cost of every tile (e.g. before reusing the grid for a new search).
+	 * Note: runs in O(1).
+	 *
+	 * @param cost must be positive. May be IMPASSABLE.
+	 */
+	public void fill(final double cost) {
+		assert cost > 0 : "cost: " + cost;
+		this.fillStamp++;
+		this.fillCost = cost;
+		if (cost < this.minCost) {
+			this.minCost = cost;
+		}
+		this.version++;
+	}
+
+	/**
+	 * See {@link SearchGrid#setCost(int, double)}.
+	 */
+	public void setCost(final int x, final int y, final double cost) {
+		this.setCost(this.pack(x, y), cost);
+	}
+
+	/**
+	 * Returns a lower bound on the cost of every passable tile.
+	 */
+	public double getMinCost() {
+		return this.minCost;
+	}
+
+	/**
+	 * Returns a value that changes every time any tile cost changes.
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Returns the cost of moving from a tile onto the adjacent tile `toIndex`.
+	 *
+	 * @param neighborNum the index into NEIGHBOR_DX/NEIGHBOR_DY of the move.
+	 */
+	public double stepCost(final int neighborNum, final int toIndex) {
+		// odd neighbors are diagonal
+		final double cost = this.getCost(toIndex);
+		return ((neighborNum & 1) == 0) ? cost : (cost * this.diagonalWeight);
+	}
+
+	/**
+	 * Returns the octile distance between two tiles (i.e. the cost of the least-cost path between them
+	 * if every tile cost 1.0).
+	 */
+	public double octileDistance(final int fromIndex, final int toIndex) {
+		final int dx = Math.abs(this.getX(fromIndex) - this.getX(toIndex));
+		final int dy = Math.abs(this.getY(fromIndex) - this.getY(toIndex));
+		final int numDiagonal = Math.min(dx, dy);
+		final int numStraight = Math.max(dx, dy) - numDiagonal;
+		return (numDiagonal * this.diagonalWeight) + numStraight;
+	}
+
+	/**
+	 * Returns the octile distance between two tiles, weighted by getMinCost().
+	 * This is both admissible and consistent for every path over the grid.
+	 */
+	public double heuristic(final int fromIndex, final int toIndex) {
+		return this.minCost * this.octileDistance(fromIndex, toIndex);
+	}
+}
@@ -0,0 +1,13 @@
+package player.util.search;
+
+/**
+ * Progress of a search that can be suspended and resumed across rounds.
+ */
+public enum SearchStatus {
+	// the search has not finished; step it again to continue.
+	IN_PROGRESS,
+	// the search has finished and found a path.
+	FOUND,
+	// the search has finished without finding a path.
+	NO_PATH
+}
@@ -0,0 +1,93 @@
+package util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.Test;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+import battlecode.common.RobotInfo;
+import battlecode.common.RobotType;
+import battlecode.common.Team;
+import player.handlers.robots.EnlightenmentCenterHandler;
+import player.util.battlecode.flag.Flag;
+import player.util.battlecode.flag.types.EnemySightedFlag;
+
+public class EnlightenmentCenterHandlerTest {
+
+	/**
+	 * ~~~ Test Partitions ~~~
+	 * stale Targets
+	 *     - flag unchanged (still reported) past the stale age: kept
+	 *     - flag replaced (no longer reported) past the stale age: dropped
+	 */
+
+	private static final MapLocation EC_MAP_LOC = new MapLocation(10040, 23001);
+	private static final MapLocation ENEMY_MAP_LOC = EnlightenmentCenterHandlerTest.EC_MAP_LOC.translate(12, -7);
+	private static final int SENDER_ID = 10123;
+
+	/**
+	 * A RobotController for an Enlightenment Center that senses one teammate and never builds.
+	 * Answers every other query with false/zero/null.
+	 */
+	private static class ControllerState {
+		int roundNum = 1;
+		int senderRawFlag = Flag.EMPTY_FLAG;
+
+		RobotController makeController() {
+			final RobotInfo sender = new RobotInfo(EnlightenmentCenterHandlerTest.SENDER_ID, Team.A, RobotType.MUCKRAKER,
+					1, 1, EnlightenmentCenterHandlerTest.EC_MAP_LOC.translate(10, -5));
+			return (RobotController)Proxy.newProxyInstance(RobotController.class.getClassLoader(),
+					new Class<?>[] {RobotController.class}, (proxy, method, args) -> {
+				switch (method.getName()) {
+					case "getType": return RobotType.ENLIGHTENMENT_CENTER;
+					case "getTeam": return Team.A;
+					case "getLocation": return EnlightenmentCenterHandlerTest.EC_MAP_LOC;
+					case "getRoundNum": return this.roundNum;
+					case "senseNearbyRobots": return new RobotInfo[] {sender};
+					case "canSenseRobot": return true;
+					case "senseRobot": return sender;
+					case "getFlag": return this.senderRawFlag;
+					default: break;
+				}
+				final Class<?> returnType = method.getReturnType();
+				if (returnType == boolean.class) {
+					return false;
+				} else if (returnType == int.class) {
+					return 0;
+				} else if (returnType == double.class) {
+					return 0.0;
+				}
+				return null;
+			});
+		}
+	}
+
+	/**
+	 * Covers all stale Target partitions.
+	 */
+	@Test
+	public void staleTargetTest() {
+		final ControllerState state = new ControllerState();
+		final RobotController rc = state.makeController();
+		final EnlightenmentCenterHandler handler = new EnlightenmentCenterHandler();
+		state.senderRawFlag = Flag.encode(new EnemySightedFlag(RobotType.ENLIGHTENMENT_CENTER,
+				EnlightenmentCenterHandlerTest.ENEMY_MAP_LOC));
+
+		// the same flag stays posted for well past the stale age
+		for (; state.roundNum <= 120; ++state.roundNum) {
+			handler.handle(rc);
+			assertEquals(1, handler.getNumTargets());
+		}
+
+		// the sender stops reporting; the Target ages out
+		state.senderRawFlag = Flag.EMPTY_FLAG;
+		final int lastReportedRoundNum = state.roundNum - 1;
+		for (; state.roundNum <= (lastReportedRoundNum + 60); ++state.roundNum) {
+			handler.handle(rc);
+		}
+		assertEquals(0, handler.getNumTargets());
+	}
+}
@@ -0,0 +1,142 @@
+package util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotType;
+import player.util.battlecode.flag.Flag;
+import player.util.battlecode.flag.FlagOutbox;
+import player.util.battlecode.flag.RawFlag;
+import player.util.battlecode.flag.types.EmptyFlag;
+import player.util.battlecode.flag.types.EnemySightedFlag;
+import player.util.battlecode.flag.types.EnemySightedNearbyFlag;
+import player.util.battlecode.flag.types.TargetMissingFlag;
+
+public class FlagOutboxTest {
+
+	/**
+	 * ~~~ Test Partitions ~~~
+	 * nextRawFlag
+	 *     - empty, one message, several messages
+	 *     - priorities differ, priorities tie
+	 *     - message posted for one round, several rounds
+	 *     - posted message preempted, not
+	 * post
+	 *     - identical message pending (merged), not
+	 *     - outbox full, not
+	 * age-out
+	 *     - posted within its wait, not
+	 * no message pending
+	 *     - posted flag sender-relative (cleared), not (left up)
+	 */
+
+	private static final MapLocation MAP_LOC = new MapLocation(10040, 23001);
+
+	/**
+	 * Covers priority, tie, multi-round, and preemption partitions.
+	 */
+	@Test
+	public void priorityTest() {
+		final FlagOutbox outbox = new FlagOutbox();
+		assertFalse(outbox.nextRawFlag(0).isPresent());
+
+		final TargetMissingFlag missingFlag = new TargetMissingFlag(FlagOutboxTest.MAP_LOC);
+		final EnemySightedFlag firstSightedFlag = new EnemySightedFlag(RobotType.MUCKRAKER, FlagOutboxTest.MAP_LOC);
+		final EnemySightedFlag secondSightedFlag = new EnemySightedFlag(RobotType.SLANDERER, FlagOutboxTest.MAP_LOC);
+
+		// the sighting arrives last, but cannot displace the missing target
+		outbox.post(missingFlag, FlagOutbox.Priority.HIGH, 3, 0, 1);
+		outbox.post(firstSightedFlag, FlagOutbox.Priority.LOW, 1, 5, 1);
+		outbox.post(secondSightedFlag, FlagOutbox.Priority.LOW, 1, 5, 1);
+		assertEquals(Flag.encode(missingFlag), outbox.nextRawFlag(1).getAsInt());
+		assertEquals(Flag.encode(missingFlag), outbox.nextRawFlag(2).getAsInt());
+
+		// preempt; then resume
+		final TargetMissingFlag urgentFlag = new TargetMissingFlag(FlagOutboxTest.MAP_LOC.translate(1, 0));
+		outbox.post(urgentFlag, FlagOutbox.Priority.HIGH, 1, 0, 3);
+		outbox.post(urgentFlag, FlagOutbox.Priority.HIGH, 1, 0, 3);
+		assertEquals(1, outbox.getNumMerged());
+		// ties go to the earliest posted; the urgent flag arrived later
+		assertEquals(Flag.encode(missingFlag), outbox.nextRawFlag(3).getAsInt());
+		assertEquals(0, outbox.getNumExpired());
+		// the urgent flag waited past its round
+		assertEquals(Flag.encode(firstSightedFlag), outbox.nextRawFlag(4).getAsInt());
+		assertEquals(1, outbox.getNumExpired());
+		assertEquals(Flag.encode(secondSightedFlag), outbox.nextRawFlag(5).getAsInt());
+		assertFalse(outbox.nextRawFlag(6).isPresent());
+		assertEquals(5, outbox.getNumPosted());
+		assertEquals(0, outbox.getDepth());
+	}
+
+	/**
+	 * Covers preemption of a posted message by one of higher priority.
+	 */
+	@Test
+	public void preemptTest() {
+		final FlagOutbox outbox = new FlagOutbox();
+		final TargetMissingFlag missingFlag = new TargetMissingFlag(FlagOutboxTest.MAP_LOC);
+		final EnemySightedFlag sightedFlag = new EnemySightedFlag(RobotType.POLITICIAN, FlagOutboxTest.MAP_LOC);
+		outbox.post(sightedFlag, FlagOutbox.Priority.LOW, 2, 0, 0);
+		assertEquals(Flag.encode(sightedFlag), outbox.nextRawFlag(0).getAsInt());
+		outbox.post(missingFlag, FlagOutbox.Priority.HIGH, 1, 0, 1);
+		assertEquals(Flag.encode(missingFlag), outbox.nextRawFlag(1).getAsInt());
+		// started messages do not age out
+		assertEquals(Flag.encode(sightedFlag), outbox.nextRawFlag(2).getAsInt());
+		assertEquals(0, outbox.getNumExpired());
+		assertEquals(0, outbox.getDepth());
+	}
+
+	/**
+	 * Covers no-message partitions; decodes as a listener would after the sender has moved.
+	 */
+	@Test
+	public void senderRelativeTest() {
+		final FlagOutbox outbox = new FlagOutbox();
+		final MapLocation enemyMapLoc = FlagOutboxTest.MAP_LOC.translate(3, -2);
+		final MapLocation movedMapLoc = FlagOutboxTest.MAP_LOC.translate(1, 1);
+		outbox.post(new EnemySightedNearbyFlag(RobotType.MUCKRAKER, enemyMapLoc, FlagOutboxTest.MAP_LOC),
+				FlagOutbox.Priority.LOW, 1);
+		final int postedRawFlag = outbox.nextRawFlag(1).getAsInt();
+		assertEquals(enemyMapLoc, RawFlag.EnemySightedNearby.getMapLoc(postedRawFlag, FlagOutboxTest.MAP_LOC));
+
+		// the sender moves and posts nothing; left up, the flag would locate a phantom enemy
+		assertNotEquals(enemyMapLoc, RawFlag.EnemySightedNearby.getMapLoc(postedRawFlag, movedMapLoc));
+		final int clearedRawFlag = outbox.nextRawFlag(2).getAsInt();
+		assertEquals(Flag.EMPTY_FLAG, clearedRawFlag);
+		assertTrue(Flag.decode(clearedRawFlag) instanceof EmptyFlag);
+		assertFalse(outbox.nextRawFlag(3).isPresent());
+
+		// an absolute flag stays up
+		outbox.post(new EnemySightedFlag(RobotType.MUCKRAKER, enemyMapLoc), FlagOutbox.Priority.LOW, 4);
+		assertTrue(outbox.nextRawFlag(4).isPresent());
+		assertFalse(outbox.nextRawFlag(5).isPresent());
+	}
+
+	/**
+	 * Covers full-outbox partitions.
+	 */
+	@Test
+	public void capacityTest() {
+		final FlagOutbox outbox = new FlagOutbox(2);
+		final TargetMissingFlag missingFlag = new TargetMissingFlag(FlagOutboxTest.MAP_LOC);
+		final EnemySightedFlag firstSightedFlag = new EnemySightedFlag(RobotType.MUCKRAKER, FlagOutboxTest.MAP_LOC);
+		final EnemySightedFlag secondSightedFlag = new EnemySightedFlag(RobotType.SLANDERER, FlagOutboxTest.MAP_LOC);
+		outbox.post(firstSightedFlag, FlagOutbox.Priority.LOW, 1, 5, 0);
+		outbox.post(secondSightedFlag, FlagOutbox.Priority.LOW, 1, 5, 0);
+		// full; the newest of the lowest priority is dropped (i.e. the new one)
+		outbox.post(new EnemySightedFlag(RobotType.POLITICIAN, FlagOutboxTest.MAP_LOC), FlagOutbox.Priority.LOW, 1, 5, 0);
+		assertEquals(1, outbox.getNumDropped());
+		// full; a higher priority displaces the newest low one
+		outbox.post(missingFlag, FlagOutbox.Priority.NORMAL, 1, 5, 0);
+		assertEquals(2, outbox.getNumDropped());
+		assertEquals(2, outbox.getDepth());
+		assertEquals(Flag.encode(missingFlag), outbox.nextRawFlag(0).getAsInt());
+		assertEquals(Flag.encode(firstSightedFlag), outbox.nextRawFlag(1).getAsInt());
+		assertFalse(outbox.nextRawFlag(2).isPresent());
+	}
+}
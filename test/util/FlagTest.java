@@ -1,6 +1,8 @@
 package util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
@@ -10,12 +12,16 @@ import org.junit.Test;
 import battlecode.common.MapLocation;
 import battlecode.common.RobotType;
 import player.util.battlecode.flag.Flag;
+import player.util.battlecode.flag.RawFlag;
 import player.util.battlecode.flag.types.AttackAssignmentFlag;
+import player.util.battlecode.flag.types.EmptyFlag;
+import player.util.battlecode.flag.types.EnemiesSightedNearbyFlag;
 import player.util.battlecode.flag.types.EnemySightedFlag;
+import player.util.battlecode.flag.types.EnemySightedNearbyFlag;
+import player.util.battlecode.flag.types.FragmentFlag;
 import player.util.battlecode.flag.types.PatrolAssignmentFlag;
 import player.util.battlecode.flag.types.TargetMissingFlag;
-
-// TODO(theimer): make a separate test file for IFlagFields!!
+import player.util.battlecode.flag.util.UtilFlag.FlagOpCode;
 
 public class FlagTest {
 
@@ -33,6 +39,21 @@ public class FlagTest {
 	 *             - EC, POLITICIAN, SLANDERER, MUCKRAKER
 	 *     TargetMissingFlag
 	 *         mapLoc
+	 *     EnemySightedNearbyFlag
+	 *         offset (each dimension)
+	 *             - min, negative, zero, positive, max
+	 *             - out of range
+	 *     EnemiesSightedNearbyFlag
+	 *         - sightings independent (distinct types, offsets)
+	 * Flag.decode dispatch
+	 *     - every FlagOpCode
+	 * RawFlag
+	 *     encode
+	 *         - identical bits to the field-based codec it replaced (golden values)
+	 *     accessors
+	 *         - same values as encoded
+	 *     mapLoc reference
+	 *         - reference suffix bits above / below the encoded suffix bits
 	 */
 
 	/*
@@ -96,4 +117,127 @@ public class FlagTest {
 		final TargetMissingFlag decodedFlag = (TargetMissingFlag)Flag.decode(flagBits);
 		assertEquals(mapLoc, decodedFlag.getMapLoc(refMapLoc));
 	}
+
+	/**
+	 * Covers all EnemySightedNearbyFlag partitions.
+	 */
+	@Test
+	public void enemySightedNearbyFlagTest() {
+		final MapLocation senderMapLoc = new MapLocation(15076, 20875);
+		final int minOffset = RawFlag.EnemySightedNearby.MAP_LOC_MIN_OFFSET;
+		final int maxOffset = RawFlag.EnemySightedNearby.MAP_LOC_MAX_OFFSET;
+		for (final int dx : Arrays.asList(minOffset, -3, 0, 2, maxOffset)) {
+			for (final int dy : Arrays.asList(minOffset, -1, 0, 5, maxOffset)) {
+				final MapLocation mapLoc = senderMapLoc.translate(dx, dy);
+				assertTrue(EnemySightedNearbyFlag.isInRange(mapLoc, senderMapLoc));
+				for (final RobotType robotType : RobotType.values()) {
+					final int flagBits = Flag.encode(new EnemySightedNearbyFlag(robotType, mapLoc, senderMapLoc));
+					final EnemySightedNearbyFlag decodedFlag = (EnemySightedNearbyFlag)Flag.decode(flagBits);
+					assertEquals(robotType, decodedFlag.getRobotType());
+					assertEquals(mapLoc, decodedFlag.getMapLoc(senderMapLoc));
+				}
+			}
+		}
+		assertFalse(EnemySightedNearbyFlag.isInRange(senderMapLoc.translate(minOffset - 1, 0), senderMapLoc));
+		assertFalse(EnemySightedNearbyFlag.isInRange(senderMapLoc.translate(0, maxOffset + 1), senderMapLoc));
+	}
+
+	/**
+	 * Covers all EnemiesSightedNearbyFlag partitions.
+	 */
+	@Test
+	public void enemiesSightedNearbyFlagTest() {
+		final MapLocation senderMapLoc = new MapLocation(15076, 20875);
+		final MapLocation firstMapLoc = senderMapLoc.translate(RawFlag.EnemiesSightedNearby.FIRST_MAP_LOC_MIN_OFFSET, 6);
+		final MapLocation secondMapLoc = senderMapLoc.translate(RawFlag.EnemiesSightedNearby.SECOND_MAP_LOC_MAX_OFFSET, -2);
+		for (final RobotType firstRobotType : RobotType.values()) {
+			for (final RobotType secondRobotType : RobotType.values()) {
+				final int flagBits = Flag.encode(new EnemiesSightedNearbyFlag(firstRobotType, firstMapLoc,
+						secondRobotType, secondMapLoc, senderMapLoc));
+				final EnemiesSightedNearbyFlag decodedFlag = (EnemiesSightedNearbyFlag)Flag.decode(flagBits);
+				assertEquals(firstRobotType, decodedFlag.getFirstRobotType());
+				assertEquals(firstMapLoc, decodedFlag.getFirstMapLoc(senderMapLoc));
+				assertEquals(secondRobotType, decodedFlag.getSecondRobotType());
+				assertEquals(secondMapLoc, decodedFlag.getSecondMapLoc(senderMapLoc));
+			}
+		}
+	}
+
+	/**
+	 * Covers all RawFlag partitions.
+	 * The expected bits were produced by the field-based codec that RawFlag replaced (BaseFlag and the
+	 * IFlagField classes), so they pin the bit layout listeners already decode.
+	 */
+	@Test
+	public void goldenRawFlagTest() {
+		final MapLocation mapLoc = new MapLocation(15076, 20875);
+		// reference suffix bits lie above (x) / below (y) the encoded suffix bits, and vice-versa
+		final List<MapLocation> refMapLocList = Arrays.asList(new MapLocation(15078, 20843), new MapLocation(15040, 20900));
+
+		assertEquals(0x000000, Flag.encode(new EmptyFlag()));
+
+		final List<Integer> degreesList = Arrays.asList(0, 90, 180, 270, 359, 45);
+		final List<Integer> patrolGoldenList = Arrays.asList(0x000001, 0x0002d1, 0x0005a1, 0x000871, 0x000b39, 0x000169);
+		for (int i = 0; i < degreesList.size(); ++i) {
+			final int degrees = degreesList.get(i);
+			final int flagBits = patrolGoldenList.get(i);
+			assertEquals(flagBits, Flag.encode(new PatrolAssignmentFlag(degrees)));
+			assertEquals(flagBits, RawFlag.PatrolAssignment.encode(degrees));
+			assertEquals(FlagOpCode.ASSIGN_PATROL, RawFlag.getOpCode(flagBits));
+			assertEquals(degrees, RawFlag.PatrolAssignment.getOutboundDegrees(flagBits));
+		}
+
+		final int attackBits = 0x002f24;
+		assertEquals(attackBits, Flag.encode(new AttackAssignmentFlag(mapLoc)));
+		assertEquals(attackBits, RawFlag.AttackAssignment.encode(mapLoc));
+		assertEquals(FlagOpCode.ASSIGN_ATTACK, RawFlag.getOpCode(attackBits));
+
+		final int missingBits = 0x002f22;
+		assertEquals(missingBits, Flag.encode(new TargetMissingFlag(mapLoc)));
+		assertEquals(missingBits, RawFlag.TargetMissing.encode(mapLoc));
+		assertEquals(FlagOpCode.TARGET_MISSING, RawFlag.getOpCode(missingBits));
+
+		// ordered as RobotType.values()
+		final List<Integer> sightedGoldenList = Arrays.asList(0x00bc83, 0x00bc8b, 0x00bc93, 0x00bc9b);
+		assertEquals(RobotType.values().length, sightedGoldenList.size());
+		for (final RobotType robotType : RobotType.values()) {
+			final int sightedBits = sightedGoldenList.get(robotType.ordinal());
+			assertEquals(sightedBits, Flag.encode(new EnemySightedFlag(robotType, mapLoc)));
+			assertEquals(sightedBits, RawFlag.EnemySighted.encode(robotType, mapLoc));
+			assertEquals(FlagOpCode.ENEMY_SIGHTED, RawFlag.getOpCode(sightedBits));
+			assertEquals(robotType, RawFlag.EnemySighted.getRobotType(sightedBits));
+		}
+
+		for (final MapLocation refMapLoc : refMapLocList) {
+			assertEquals(mapLoc, RawFlag.AttackAssignment.getMapLoc(attackBits, refMapLoc));
+			assertEquals(mapLoc, RawFlag.TargetMissing.getMapLoc(missingBits, refMapLoc));
+			for (final int sightedBits : sightedGoldenList) {
+				assertEquals(mapLoc, RawFlag.EnemySighted.getMapLoc(sightedBits, refMapLoc));
+			}
+		}
+	}
+
+	/**
+	 * Covers Flag.decode dispatch partitions.
+	 */
+	@Test
+	public void decodeDispatchTest() {
+		final MapLocation mapLoc = new MapLocation(15076, 20875);
+		final List<Flag.IFlag> flagList = Arrays.asList(
+				new EmptyFlag(),
+				new PatrolAssignmentFlag(90),
+				new TargetMissingFlag(mapLoc),
+				new EnemySightedFlag(RobotType.MUCKRAKER, mapLoc),
+				new AttackAssignmentFlag(mapLoc),
+				new FragmentFlag(3, true, 0xbeef),
+				new EnemySightedNearbyFlag(RobotType.POLITICIAN, mapLoc.translate(-3, 2), mapLoc),
+				new EnemiesSightedNearbyFlag(RobotType.SLANDERER, mapLoc.translate(1, 1), RobotType.MUCKRAKER, mapLoc, mapLoc));
+		assertEquals(FlagOpCode.values().length, flagList.size());
+		for (final Flag.IFlag flag : flagList) {
+			final int flagBits = Flag.encode(flag);
+			assertEquals(flag.getClass(), Flag.decode(flagBits).getClass());
+			assertEquals(flagBits, Flag.decode(flagBits).encode());
+		}
+		assertEquals(Flag.EMPTY_FLAG, Flag.encode(new EmptyFlag()));
+	}
 }
@@ -0,0 +1,178 @@
+package util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+import player.util.battlecode.flag.Flag;
+import player.util.battlecode.flag.fragment.FragmentReassembler;
+import player.util.battlecode.flag.fragment.FragmentSender;
+import player.util.battlecode.flag.types.PatrolAssignmentFlag;
+
+public class FragmentTest {
+
+	/**
+	 * ~~~ Test Partitions ~~~
+	 * message length
+	 *     - one word, MAX_NUM_WORDS words
+	 * reassembly
+	 *     - complete
+	 *     - fragment missed; message interrupted by another flag
+	 *     - reading begins mid-message
+	 *     - flag read twice
+	 * partial messages
+	 *     - below the cap, above the cap (eviction)
+	 * throughput
+	 *     - rounds per kilobit; rounds per message
+	 */
+
+	private static final int SENDER_ID = 10001;
+
+	/**
+	 * Returns a message of `numWords` distinct words.
+	 */
+	private static int[] makeMessage(final int numWords, final int seed) {
+		final int[] words = new int[numWords];
+		for (int i = 0; i < numWords; ++i) {
+			words[i] = ((seed * 31) + (i * 977)) & 0xffff;
+		}
+		return words;
+	}
+
+	/**
+	 * Covers complete reassembly, message length, and repeated-read partitions.
+	 */
+	@Test
+	public void roundTripTest() {
+		final FragmentSender sender = new FragmentSender();
+		final FragmentReassembler reassembler = new FragmentReassembler();
+		final int[] shortMessage = FragmentTest.makeMessage(1, 1);
+		final int[] longMessage = FragmentTest.makeMessage(FragmentSender.MAX_NUM_WORDS, 2);
+		sender.send(shortMessage);
+		sender.send(longMessage);
+		assertEquals(1 + FragmentSender.MAX_NUM_WORDS, sender.getNumFragmentsQueued());
+
+		final int shortRawFlag = sender.nextRawFlag();
+		assertArrayEquals(shortMessage, reassembler.read(FragmentTest.SENDER_ID, shortRawFlag).get());
+		// the same flag, read again (e.g. the sender skipped a round)
+		assertFalse(reassembler.read(FragmentTest.SENDER_ID, shortRawFlag).isPresent());
+
+		Optional<int[]> received = Optional.empty();
+		while (!sender.isIdle()) {
+			final int rawFlag = sender.nextRawFlag();
+			assertFalse(received.isPresent());
+			received = reassembler.read(FragmentTest.SENDER_ID, rawFlag);
+			// repeats are ignored
+			assertFalse(reassembler.read(FragmentTest.SENDER_ID, rawFlag).isPresent());
+		}
+		assertArrayEquals(longMessage, received.get());
+		assertEquals(2, reassembler.getNumCompleted());
+		assertEquals(0, reassembler.getNumDropped());
+		assertEquals(0, reassembler.getNumPartialMessages());
+	}
+
+	/**
+	 * Covers missed-fragment, interrupted, and mid-message partitions.
+	 */
+	@Test
+	public void dropTest() {
+		final FragmentSender sender = new FragmentSender();
+		final FragmentReassembler reassembler = new FragmentReassembler();
+		sender.send(FragmentTest.makeMessage(4, 3));
+		sender.send(FragmentTest.makeMessage(4, 4));
+		sender.send(FragmentTest.makeMessage(4, 5));
+
+		// miss the second fragment of the first message
+		reassembler.read(FragmentTest.SENDER_ID, sender.nextRawFlag());
+		sender.nextRawFlag();
+		assertFalse(reassembler.read(FragmentTest.SENDER_ID, sender.nextRawFlag()).isPresent());
+		assertEquals(1, reassembler.getNumDropped());
+		// the rest of the first message is ignored
+		assertFalse(reassembler.read(FragmentTest.SENDER_ID, sender.nextRawFlag()).isPresent());
+		assertEquals(1, reassembler.getNumDropped());
+
+		// interrupt the second message with another flag
+		reassembler.read(FragmentTest.SENDER_ID, sender.nextRawFlag());
+		reassembler.read(FragmentTest.SENDER_ID, Flag.encode(new PatrolAssignmentFlag(90)));
+		assertEquals(2, reassembler.getNumDropped());
+		for (int i = 0; i < 3; ++i) {
+			assertFalse(reassembler.read(FragmentTest.SENDER_ID, sender.nextRawFlag()).isPresent());
+		}
+
+		// the third message is unaffected
+		Optional<int[]> received = Optional.empty();
+		while (!sender.isIdle()) {
+			received = reassembler.read(FragmentTest.SENDER_ID, sender.nextRawFlag());
+		}
+		assertArrayEquals(FragmentTest.makeMessage(4, 5), received.get());
+		assertEquals(2, reassembler.getNumDropped());
+		assertEquals(1, reassembler.getNumCompleted());
+	}
+
+	/**
+	 * Covers partial-message cap partitions.
+	 */
+	@Test
+	public void evictionTest() {
+		final int maxPartialMessages = 2;
+		final FragmentReassembler reassembler = new FragmentReassembler(maxPartialMessages);
+		final FragmentSender[] senders = new FragmentSender[maxPartialMessages + 1];
+		for (int i = 0; i < senders.length; ++i) {
+			senders[i] = new FragmentSender();
+			senders[i].send(FragmentTest.makeMessage(2, i));
+		}
+
+		// every sender posts its first fragment; the first sender's partial message is evicted
+		for (int i = 0; i < senders.length; ++i) {
+			reassembler.read(FragmentTest.SENDER_ID + i, senders[i].nextRawFlag());
+			assertEquals(Math.min(i + 1, maxPartialMessages), reassembler.getNumPartialMessages());
+		}
+		assertEquals(1, reassembler.getNumEvicted());
+
+		// every sender posts its final fragment
+		for (int i = 0; i < senders.length; ++i) {
+			final Optional<int[]> received = reassembler.read(FragmentTest.SENDER_ID + i, senders[i].nextRawFlag());
+			assertEquals(i > 0, received.isPresent());
+		}
+		assertEquals(2, reassembler.getNumCompleted());
+	}
+
+	/**
+	 * Covers throughput partitions: one fragment (NUM_WORD_BITS bits) is delivered per round.
+	 */
+	@Test
+	public void throughputTest() {
+		final int numKilobits = 4;
+		final int numMessageBits = FragmentSender.MAX_NUM_MESSAGE_BITS;
+		final int numMessages = (numKilobits * 1024) / numMessageBits;
+		final FragmentSender sender = new FragmentSender();
+		final FragmentReassembler reassembler = new FragmentReassembler();
+		for (int i = 0; i < numMessages; ++i) {
+			sender.send(FragmentTest.makeMessage(FragmentSender.MAX_NUM_WORDS, i));
+		}
+
+		// each round, the sender posts one fragment and the reader reads it
+		int round = 0;
+		int messageStartRound = 0;
+		int numBitsReceived = 0;
+		while (!sender.isIdle()) {
+			round++;
+			final Optional<int[]> received = reassembler.read(FragmentTest.SENDER_ID, sender.nextRawFlag());
+			if (received.isPresent()) {
+				numBitsReceived += received.get().length * FragmentSender.NUM_WORD_BITS;
+				// latency: rounds from the first fragment to the last
+				assertEquals(FragmentSender.MAX_NUM_WORDS, round - messageStartRound);
+				messageStartRound = round;
+			}
+		}
+		assertEquals(numKilobits * 1024, numBitsReceived);
+		final double roundsPerKilobit = round / (double)numKilobits;
+		assertEquals(1024.0 / FragmentSender.NUM_WORD_BITS, roundsPerKilobit, 0);
+		assertTrue(reassembler.getNumDropped() == 0);
+	}
+}
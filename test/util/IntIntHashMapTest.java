@@ -0,0 +1,85 @@
+package util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import player.util.general.IntIntHashMap;
+
+public class IntIntHashMapTest {
+
+	/**
+	 * ~~~ Test Partitions ~~~
+	 * put
+	 *     - new key, existing key
+	 *     - causes growth, does not
+	 * get / containsKey
+	 *     - contained, not contained
+	 * remove
+	 *     - contained, not contained
+	 *     - later entries of the probe run shifted back, not
+	 * keys
+	 *     - negative, zero, positive
+	 */
+
+	/**
+	 * Covers put, get, containsKey, and remove (excluding probe-run partitions).
+	 */
+	@Test
+	public void basicTest() {
+		final IntIntHashMap map = new IntIntHashMap();
+		assertTrue(map.isEmpty());
+		map.put(10123, 5);
+		map.put(0, -7);
+		map.put(-42, 0);
+		assertEquals(3, map.size());
+		assertEquals(5, map.get(10123, -1));
+		assertEquals(-7, map.get(0, -1));
+		assertEquals(0, map.get(-42, -1));
+		assertEquals(-1, map.get(10124, -1));
+		assertFalse(map.containsKey(10124));
+
+		map.put(10123, 6);
+		assertEquals(3, map.size());
+		assertEquals(6, map.get(10123, -1));
+
+		assertTrue(map.remove(0));
+		assertFalse(map.remove(0));
+		assertFalse(map.containsKey(0));
+		assertEquals(2, map.size());
+	}
+
+	/**
+	 * Covers growth and probe-run partitions; compares against a HashMap.
+	 */
+	@Test
+	public void matchesHashMapTest() {
+		final Random random = new Random(2021);
+		final IntIntHashMap map = new IntIntHashMap(4);
+		final Map<Integer, Integer> expectedMap = new HashMap<>();
+		for (int i = 0; i < 20000; ++i) {
+			// robot-Id-like keys in a narrow range, so probe runs collide often
+			final int key = 10000 + random.nextInt(300);
+			if (random.nextInt(3) == 0) {
+				assertEquals(expectedMap.remove(key) != null, map.remove(key));
+			} else {
+				final int value = random.nextInt();
+				expectedMap.put(key, value);
+				map.put(key, value);
+			}
+			assertEquals(expectedMap.size(), map.size());
+		}
+		for (int key = 10000; key < 10300; ++key) {
+			assertEquals(expectedMap.containsKey(key), map.containsKey(key));
+			if (expectedMap.containsKey(key)) {
+				assertEquals((int)expectedMap.get(key), map.get(key, 0));
+			}
+		}
+	}
+}
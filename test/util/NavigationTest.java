@@ -0,0 +1,48 @@
+package util;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import player.handlers.common.NavigationHandler;
+import player.handlers.common.PathMoverHandler;
+
+public class NavigationTest {
+
+	/**
+	 * ~~~ Test Partitions ~~~
+	 * tier thresholds
+	 *     - each covers the measured cost of its round (dispatch, step, planning)
+	 *     - ordered GREEDY < BUG < A_STAR
+	 *     - A_STAR fits in the smallest bytecode limit of a robot that moves
+	 */
+
+	// the bytecode limit of a Slanderer; the least of any robot that moves.
+	private static final int MIN_BYTECODE_LIMIT = 7500;
+
+	/**
+	 * Covers all tier threshold partitions.
+	 */
+	@Test
+	public void tierThresholdTest() {
+		assertTrue(NavigationHandler.GREEDY_BYTECODES
+				>= (NavigationHandler.DISPATCH_BYTECODES + NavigationHandler.GREEDY_STEP_BYTECODES));
+		assertTrue(NavigationHandler.BUG_BYTECODES
+				>= (NavigationHandler.DISPATCH_BYTECODES + NavigationHandler.BUG_STEP_BYTECODES));
+		// BUG is A_STAR's reserve while planning; a planned step may follow the plan instead
+		assertTrue(NavigationHandler.BUG_BYTECODES
+				>= (NavigationHandler.DISPATCH_BYTECODES + PathMoverHandler.PLANNED_STEP_BYTECODES));
+
+		// planning makes progress: checks the path, begins a search, and senses or expands a tile
+		assertTrue(PathMoverHandler.MIN_PLAN_STEPS > 0);
+		final int minPlanBytecodes = PathMoverHandler.CHECK_PATH_BYTECODES + PathMoverHandler.START_SEARCH_BYTECODES
+				+ (PathMoverHandler.MIN_PLAN_STEPS
+						* Math.max(PathMoverHandler.SENSE_TILE_BYTECODES, PathMoverHandler.EXPANSION_BYTECODES));
+		assertTrue(PathMoverHandler.MIN_PLAN_BYTECODES >= minPlanBytecodes);
+		assertTrue(NavigationHandler.A_STAR_BYTECODES >= (NavigationHandler.BUG_BYTECODES + minPlanBytecodes));
+
+		assertTrue(NavigationHandler.GREEDY_BYTECODES < NavigationHandler.BUG_BYTECODES);
+		assertTrue(NavigationHandler.BUG_BYTECODES < NavigationHandler.A_STAR_BYTECODES);
+		assertTrue(NavigationHandler.A_STAR_BYTECODES < NavigationTest.MIN_BYTECODE_LIMIT);
+	}
+}
@@ -0,0 +1,65 @@
+package util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotType;
+import player.util.battlecode.flag.util.RecentReportCache;
+
+public class RecentReportCacheTest {
+
+	/**
+	 * ~~~ Test Partitions ~~~
+	 * isRecent
+	 *     - never reported
+	 *     - reported within the TTL, at the TTL
+	 *     - same location but another RobotType
+	 *     - re-reported (TTL restarts), re-reported within the same round
+	 * capacity
+	 *     - below, above (the least-recently reported is evicted)
+	 */
+
+	private static final MapLocation MAP_LOC = new MapLocation(30064, 10000);
+
+	/**
+	 * Covers all isRecent partitions.
+	 */
+	@Test
+	public void ttlTest() {
+		final RecentReportCache cache = new RecentReportCache(4, 3);
+		assertFalse(cache.isRecent(RobotType.MUCKRAKER, RecentReportCacheTest.MAP_LOC, 0));
+		cache.markReported(RobotType.MUCKRAKER, RecentReportCacheTest.MAP_LOC, 0);
+		assertTrue(cache.isRecent(RobotType.MUCKRAKER, RecentReportCacheTest.MAP_LOC, 2));
+		assertFalse(cache.isRecent(RobotType.MUCKRAKER, RecentReportCacheTest.MAP_LOC, 3));
+		assertFalse(cache.isRecent(RobotType.POLITICIAN, RecentReportCacheTest.MAP_LOC, 1));
+		cache.markReported(RobotType.MUCKRAKER, RecentReportCacheTest.MAP_LOC, 2);
+		assertTrue(cache.isRecent(RobotType.MUCKRAKER, RecentReportCacheTest.MAP_LOC, 4));
+		assertEquals(2, cache.getNumHits());
+		assertEquals(3, cache.getNumMisses());
+		assertEquals(1, cache.size());
+	}
+
+	/**
+	 * Covers capacity partitions.
+	 */
+	@Test
+	public void capacityTest() {
+		final RecentReportCache cache = new RecentReportCache(2, 100);
+		final MapLocation otherMapLoc = RecentReportCacheTest.MAP_LOC.translate(-1, 1);
+		cache.markReported(RobotType.SLANDERER, RecentReportCacheTest.MAP_LOC, 0);
+		cache.markReported(RobotType.SLANDERER, otherMapLoc, 1);
+		// re-reporting makes it the most-recently reported
+		cache.markReported(RobotType.SLANDERER, RecentReportCacheTest.MAP_LOC, 2);
+		// a repeat within the same round is a single report
+		cache.markReported(RobotType.SLANDERER, RecentReportCacheTest.MAP_LOC, 2);
+		cache.markReported(RobotType.ENLIGHTENMENT_CENTER, otherMapLoc, 3);
+		assertEquals(2, cache.size());
+		assertTrue(cache.isRecent(RobotType.SLANDERER, RecentReportCacheTest.MAP_LOC, 4));
+		assertFalse(cache.isRecent(RobotType.SLANDERER, otherMapLoc, 4));
+		assertTrue(cache.isRecent(RobotType.ENLIGHTENMENT_CENTER, otherMapLoc, 4));
+	}
+}
@@ -1,9 +1,11 @@
 package util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static player.util.math.UtilMath.intCoordInBounds;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -19,6 +21,16 @@ import org.junit.Test;
 
 import player.util.math.IntVec2D;
 import player.util.search.AStar;
+import player.util.search.BfsGenerator;
+import player.util.search.DStarLite;
+import player.util.search.FlowField;
+import player.util.search.GridAStar;
+import player.util.search.GridDialSearch;
+import player.util.search.GridJumpPointSearch;
+import player.util.search.HierarchicalAStar;
+import player.util.search.PathCache;
+import player.util.search.SearchGrid;
+import player.util.search.SearchStatus;
 
 public class SearchTest {
 
@@ -32,6 +44,65 @@ public class SearchTest {
 	 *         -no valid path, valid path
 	 *         -result is length 1 (start == end), result > length 1
 	 *     TODO(theimer): endgame is one node; endgame encompasses multiple nodes
+	 * aStar (primitive overload):
+	 *     pathOut
+	 *         -initially empty, reused from a previous search
+	 *     result
+	 *         -no valid path, identical to aStar
+	 * gridAStar:
+	 *     grid
+	 *         -all tiles passable, some tiles impassable
+	 *     result
+	 *         -no valid path, valid path
+	 *         -result is length 1 (start == end), result > length 1
+	 *         -identical to aStar on the equivalent expand/cost/heuristic
+	 *     stepping
+	 *         -search() all at once, step() across several calls
+ *     reuse
+	 *         -new search on the same grid after fill() (open set and costs reset)
+	 * gridDialSearch:
+	 *     grid
+	 *         -varied (passability) costs with impassable tiles
+	 *     result
+	 *         -no valid path, same (quantized) cost as gridAStar
+	 * gridJumpPointSearch:
+	 *     grid
+	 *         -uniform costs, mixed costs with impassable tiles
+	 *     result
+	 *         -same cost as gridAStar
+	 *         -fewer heap operations than gridAStar, no fewer
+	 * bidirectionalSearch:
+	 *     result
+	 *         -no valid path, valid path
+	 *         -result is length 1 (start == end), result > length 1
+	 *         -same cost as aStar
+	 * bfsGenerator:
+	 *     depth limit
+	 *         -none, limited
+	 *     grid
+	 *         -all tiles passable, some tiles unreachable
+	 * pathCache:
+	 *     lookup
+	 *         -miss (no path to goal), miss (not on path), hit at path start, hit mid-path
+	 *     eviction
+	 *         -least-recently used path evicted at capacity
+	 * hierarchicalAStar:
+	 *     grid
+	 *         -all clusters connected, tile change disconnects the goal
+	 *     result
+	 *         -no valid path, valid path no cheaper than gridAStar
+	 * flowField:
+	 *     building
+	 *         -all at once, step() across several calls
+	 *     lookup
+	 *         -from the goal, from a finished tile, from an unreachable tile
+	 *     goals
+	 *         -one goal, several goals (incl. a duplicate)
+	 * dStarLite:
+	 *     changes
+	 *         -none, tile costs change after the start moves
+	 *     result
+	 *         -same cost as gridAStar, no valid path
 	 */
 
 	/*==== Common Functions ====================================================================*/
@@ -114,6 +185,27 @@ public class SearchTest {
 		};
 	}
 
+	// grids ---------------------------------------------------------
+
+	/**
+	 * Returns a width x height SearchGrid whose tiles all cost 1.0 and whose moves cost their Euclidian length
+	 * (i.e. the grid equivalent of SearchTest::cost).
+	 */
+	static SearchGrid makeEuclidianGrid(final int width, final int height) {
+		return new SearchGrid(width, height, 1.0, SearchGrid.EUCLIDIAN_DIAGONAL_WEIGHT);
+	}
+
+	/**
+	 * Converts a path of packed grid indices into a List of IntVec2D.
+	 */
+	static List<IntVec2D> unpackPath(final SearchGrid grid, final int[] path) {
+		final List<IntVec2D> coordList = new ArrayList<>();
+		for (final int index : path) {
+			coordList.add(new IntVec2D(grid.getX(index), grid.getY(index)));
+		}
+		return coordList;
+	}
+
 	/*==== Unit Tests ==========================================================================*/
 
 	/**
@@ -247,4 +339,577 @@ public class SearchTest {
 		assertTrue(pathIsConnected(result, expand));
 	}
 
+	/**
+	 * Covers:
+	 *     grid- all tiles passable
+	 *     result- length > 1, valid path, identical to aStar
+	 */
+	@Test
+	public void gridAStarOpenMatchesAStar() {
+		final int xMax = 10;
+		final int yMax = 10;
+		final IntVec2D startCoord = new IntVec2D(0, 0);
+		final IntVec2D goalCoord = new IntVec2D(xMax/2, yMax/2);
+		final Function<IntVec2D, Set<IntVec2D>> expand = makeExpandFunc(0, xMax, 0, yMax, (coord, expandedCoord) -> true);
+		final List<IntVec2D> expected = AStar.aStarSearch(startCoord, makeEndgamePred(goalCoord), expand,
+				SearchTest::cost, makeHeuristicFunc(goalCoord));
+
+		final SearchGrid grid = makeEuclidianGrid(xMax, yMax);
+		final int[] result = new GridAStar(grid).search(grid.pack(startCoord.x, startCoord.y), grid.pack(goalCoord.x, goalCoord.y));
+		assertTrue(result.length > 1);
+		assertEquals(expected, unpackPath(grid, result));
+	}
+
+	/**
+	 * Covers:
+	 *     grid- some tiles impassable
+	 *     result- length > 1, valid path, identical to aStar
+	 */
+	@Test
+	public void gridAStarCorridorMatchesAStar() {
+		final int xMax = 5;
+		final int yMax = 5;
+		final IntVec2D startCoord = new IntVec2D(0, 0);
+		final IntVec2D goalCoord = new IntVec2D(xMax - 1, yMax - 1);
+		final BiPredicate<IntVec2D, IntVec2D> edgeFilter =
+				(coord, expandedCoord) -> (coord.y == 0) || (coord.x == (xMax - 1));
+		final Function<IntVec2D, Set<IntVec2D>> expand = makeExpandFunc(0, xMax, 0, yMax, edgeFilter);
+		final List<IntVec2D> expected = AStar.aStarSearch(startCoord, makeEndgamePred(goalCoord), expand,
+				SearchTest::cost, makeHeuristicFunc(goalCoord));
+
+		// only the bottom row and rightmost column are passable.
+		final SearchGrid grid = makeEuclidianGrid(xMax, yMax);
+		for (int x = 0; x < xMax; ++x) {
+			for (int y = 1; y < yMax; ++y) {
+				if (x != (xMax - 1)) {
+					grid.setCost(x, y, SearchGrid.IMPASSABLE);
+				}
+			}
+		}
+		final int[] result = new GridAStar(grid).search(grid.pack(startCoord.x, startCoord.y), grid.pack(goalCoord.x, goalCoord.y));
+		assertTrue(result.length > 1);
+		assertEquals(expected, unpackPath(grid, result));
+	}
+
+	/**
+	 * Covers:
+	 *     grid- some tiles impassable
+	 *     result- no valid path
+	 */
+	@Test
+	public void gridAStarNoPath() {
+		final int xMax = 10;
+		final int yMax = 10;
+		final SearchGrid grid = makeEuclidianGrid(xMax, yMax);
+		for (int y = 0; y < yMax; ++y) {
+			grid.setCost(xMax / 2, y, SearchGrid.IMPASSABLE);
+		}
+		final int[] result = new GridAStar(grid).search(grid.pack(0, 0), grid.pack(xMax - 1, yMax - 1));
+		assertEquals(0, result.length);
+	}
+
+	/**
+	 * Covers:
+	 *     result- length == 1
+	 */
+	@Test
+	public void gridAStarStartInEndgame() {
+		final SearchGrid grid = makeEuclidianGrid(10, 10);
+		final int startIndex = grid.pack(3, 4);
+		final int[] result = new GridAStar(grid).search(startIndex, startIndex);
+		assertEquals(Arrays.asList(new IntVec2D(3, 4)), unpackPath(grid, result));
+	}
+
+	/**
+	 * Covers:
+	 *     stepping- step() across several calls
+	 *     result- length > 1, valid path
+	 */
+	@Test
+	public void gridAStarSteppedMatchesSearch() {
+		final SearchGrid grid = makeEuclidianGrid(20, 20);
+		// wall with a single gap forces a long detour
+		for (int y = 0; y < 19; ++y) {
+			grid.setCost(10, y, SearchGrid.IMPASSABLE);
+		}
+		final int startIndex = grid.pack(0, 0);
+		final int goalIndex = grid.pack(19, 0);
+		final GridAStar gridAStar = new GridAStar(grid);
+		final int[] expected = gridAStar.search(startIndex, goalIndex);
+
+		gridAStar.start(startIndex, goalIndex);
+		assertEquals(SearchStatus.IN_PROGRESS, gridAStar.getStatus());
+		int numSteps = 0;
+		while (gridAStar.step(3) == SearchStatus.IN_PROGRESS) {
+			numSteps++;
+		}
+		assertTrue(numSteps > 1);
+		assertEquals(SearchStatus.FOUND, gridAStar.getStatus());
+		assertTrue(Arrays.equals(expected, gridAStar.getPath()));
+		assertEquals(expected.length, gridAStar.getPathLength());
+	}
+
+	/**
+	 * Covers:
+	 *     reuse- new search on the same grid after fill()
+	 *     result- no valid path, then valid path
+	 */
+	@Test
+	public void gridAStarReusedAfterFill() {
+		final SearchGrid grid = makeEuclidianGrid(10, 10);
+		for (int y = 0; y < 10; ++y) {
+			grid.setCost(5, y, SearchGrid.IMPASSABLE);
+		}
+		final GridAStar gridAStar = new GridAStar(grid);
+		final int startIndex = grid.pack(0, 4);
+		final int goalIndex = grid.pack(9, 4);
+		assertEquals(0, gridAStar.search(startIndex, goalIndex).length);
+		assertEquals(0, gridAStar.getPathLength());
+
+		grid.fill(1.0);
+		assertTrue(grid.isPassable(grid.pack(5, 4)));
+		assertEquals(1.0, grid.getCost(grid.pack(5, 0)), 0.0);
+		grid.setCost(5, 4, 3.0);
+		assertEquals(3.0, grid.getCost(grid.pack(5, 4)), 0.0);
+		final int[] path = gridAStar.search(startIndex, goalIndex);
+		assertEquals(10, path.length);
+		assertTrue(packedPathIsConnected(grid, path));
+		assertFalse(Arrays.stream(path).anyMatch(index -> index == grid.pack(5, 4)));
+	}
+
+	/**
+	 * Returns true iff each sequential tile of a packed path is adjacent to the tile before it.
+	 */
+	private static boolean packedPathIsConnected(final SearchGrid grid, final int[] path) {
+		for (int i = 1; i < path.length; ++i) {
+			final int dx = Math.abs(grid.getX(path[i]) - grid.getX(path[i - 1]));
+			final int dy = Math.abs(grid.getY(path[i]) - grid.getY(path[i - 1]));
+			if (Math.max(dx, dy) != 1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Covers:
+	 *     grid- uniform costs
+	 *     result- same cost as gridAStar, fewer heap operations than gridAStar
+	 */
+	@Test
+	public void gridJumpPointSearchOpenMatchesGridAStarCost() {
+		final SearchGrid grid = makeEuclidianGrid(30, 30);
+		final int startIndex = grid.pack(2, 1);
+		final int goalIndex = grid.pack(27, 20);
+		final GridAStar gridAStar = new GridAStar(grid);
+		final int[] expected = gridAStar.search(startIndex, goalIndex);
+		final GridJumpPointSearch jps = new GridJumpPointSearch(grid);
+		final int[] result = jps.search(startIndex, goalIndex);
+		assertEquals(startIndex, result[0]);
+		assertEquals(goalIndex, result[result.length - 1]);
+		assertTrue(packedPathIsConnected(grid, result));
+		assertEquals(gridAStar.getPathCost(goalIndex), jps.getPathCost(goalIndex), 1e-9);
+		assertEquals(expected.length, result.length);
+		assertTrue(jps.getNumHeapOperations() < gridAStar.getNumHeapOperations());
+	}
+
+	/**
+	 * Covers:
+	 *     grid- mixed costs with impassable tiles
+	 *     result- same cost as gridAStar
+	 */
+	@Test
+	public void gridJumpPointSearchMixedCostsMatchesGridAStarCost() {
+		final SearchGrid grid = makeEuclidianGrid(20, 20);
+		// wall with a single gap, then a band of expensive tiles
+		for (int y = 0; y < 19; ++y) {
+			grid.setCost(6, y, SearchGrid.IMPASSABLE);
+		}
+		for (int x = 10; x < 15; ++x) {
+			for (int y = 5; y < 20; ++y) {
+				grid.setCost(x, y, 3.0);
+			}
+		}
+		final int startIndex = grid.pack(0, 0);
+		final int goalIndex = grid.pack(19, 17);
+		final GridAStar gridAStar = new GridAStar(grid);
+		gridAStar.search(startIndex, goalIndex);
+		final GridJumpPointSearch jps = new GridJumpPointSearch(grid);
+		final int[] result = jps.search(startIndex, goalIndex);
+		assertEquals(startIndex, result[0]);
+		assertEquals(goalIndex, result[result.length - 1]);
+		assertTrue(packedPathIsConnected(grid, result));
+		assertEquals(gridAStar.getPathCost(goalIndex), jps.getPathCost(goalIndex), 1e-9);
+	}
+
+	/**
+	 * Covers:
+	 *     changes- none, tile costs change after the start moves
+	 *     result- same cost as gridAStar
+	 */
+	@Test
+	public void dStarLiteRepairMatchesGridAStarCost() {
+		final SearchGrid grid = makeEuclidianGrid(20, 20);
+		// wall with a single gap forces a long detour
+		for (int y = 0; y < 19; ++y) {
+			grid.setCost(10, y, SearchGrid.IMPASSABLE);
+		}
+		final int goalIndex = grid.pack(19, 0);
+		final DStarLite dStarLite = new DStarLite(grid);
+		dStarLite.start(grid.pack(0, 0), goalIndex);
+		assertEquals(SearchStatus.FOUND, dStarLite.replan());
+		final int numInitialExpanded = dStarLite.getNumExpanded();
+
+		// move once, then "sense" a small obstacle ahead
+		final int startIndex = dStarLite.getPath()[1];
+		dStarLite.updateStart(startIndex);
+		dStarLite.updateTileCost(grid.pack(1, 2), SearchGrid.IMPASSABLE);
+		dStarLite.updateTileCost(grid.pack(2, 2), SearchGrid.IMPASSABLE);
+		assertEquals(SearchStatus.FOUND, dStarLite.replan());
+		final int[] result = dStarLite.getPath();
+		assertEquals(startIndex, result[0]);
+		assertEquals(goalIndex, result[result.length - 1]);
+		assertTrue(packedPathIsConnected(grid, result));
+		final GridAStar gridAStar = new GridAStar(grid);
+		gridAStar.search(startIndex, goalIndex);
+		assertEquals(gridAStar.getPathCost(goalIndex), dStarLite.getPathCost(), 1e-9);
+		// only the tiles near the obstacle are repaired
+		assertTrue(dStarLite.getNumExpanded() < (numInitialExpanded / 4));
+	}
+
+	/**
+	 * Covers:
+	 *     changes- tile costs change after the start moves
+	 *     result- no valid path
+	 */
+	@Test
+	public void dStarLiteNoPath() {
+		final int xMax = 10;
+		final int yMax = 10;
+		final SearchGrid grid = makeEuclidianGrid(xMax, yMax);
+		final DStarLite dStarLite = new DStarLite(grid);
+		dStarLite.start(grid.pack(0, 0), grid.pack(xMax - 1, yMax - 1));
+		assertEquals(SearchStatus.FOUND, dStarLite.replan());
+		for (int y = 0; y < yMax; ++y) {
+			dStarLite.updateTileCost(grid.pack(xMax / 2, y), SearchGrid.IMPASSABLE);
+		}
+		assertEquals(SearchStatus.NO_PATH, dStarLite.replan());
+		assertEquals(0, dStarLite.getPath().length);
+	}
+
+	/**
+	 * Returns the sum of SearchTest::cost over every sequential pair of a path.
+	 */
+	static double pathCost(final List<IntVec2D> path) {
+		double sum = 0;
+		for (int i = 0; i < (path.size() - 1); ++i) {
+			sum += cost(path.get(i), path.get(i+1));
+		}
+		return sum;
+	}
+
+	/**
+	 * Covers:
+	 *     result- length > 1, valid path, same cost as aStar
+	 */
+	@Test
+	public void bidirectionalSearchMatchesAStarCost() {
+		final int xMax = 20;
+		final int yMax = 20;
+		final IntVec2D startCoord = new IntVec2D(0, 0);
+		final IntVec2D goalCoord = new IntVec2D(xMax - 1, 0);
+		// wall with a single gap forces a long detour
+		final Predicate<IntVec2D> isWall = coord -> (coord.x == (xMax / 2)) && (coord.y < (yMax - 1));
+		final Function<IntVec2D, Set<IntVec2D>> expand =
+				makeExpandFunc(0, xMax, 0, yMax, (coord, expandedCoord) -> !isWall.test(expandedCoord));
+		final List<IntVec2D> expected = AStar.aStarSearch(startCoord, makeEndgamePred(goalCoord), expand,
+				SearchTest::cost, makeHeuristicFunc(goalCoord));
+		final List<IntVec2D> result = AStar.bidirectionalSearch(startCoord, goalCoord, expand,
+				SearchTest::cost, SearchTest::cost);
+		assertEquals(startCoord, result.get(0));
+		assertEquals(goalCoord, result.get(result.size()-1));
+		assertTrue(pathIsConnected(result, expand));
+		assertEquals(pathCost(expected), pathCost(result), 1e-9);
+	}
+
+	/**
+	 * Covers:
+	 *     result- no valid path, length == 1
+	 */
+	@Test
+	public void bidirectionalSearchNoPathAndStartIsGoal() {
+		final int xMax = 10;
+		final int yMax = 10;
+		final Function<IntVec2D, Set<IntVec2D>> expand =
+				makeExpandFunc(0, xMax, 0, yMax, (coord, expandedCoord) -> expandedCoord.x != (xMax / 2));
+		final IntVec2D startCoord = new IntVec2D(0, 0);
+		assertEquals(Collections.emptyList(),
+				AStar.bidirectionalSearch(startCoord, new IntVec2D(xMax - 1, 0), expand, SearchTest::cost, SearchTest::cost));
+		assertEquals(Arrays.asList(startCoord),
+				AStar.bidirectionalSearch(startCoord, startCoord, expand, SearchTest::cost, SearchTest::cost));
+	}
+
+	/**
+	 * Covers:
+	 *     depth limit- none, limited
+	 *     grid- all tiles passable, some tiles unreachable
+	 */
+	@Test
+	public void bfsGeneratorDepthsAndReachability() {
+		final int xMax = 10;
+		final int yMax = 10;
+		final SearchGrid grid = makeEuclidianGrid(xMax, yMax);
+		final int startIndex = grid.pack(2, 3);
+		final BfsGenerator generator = new BfsGenerator(grid);
+
+		// open grid: every tile is generated once, at its Chebyshev distance from the start
+		generator.start(startIndex);
+		int lastDepth = 0;
+		while (generator.hasNext()) {
+			final int index = generator.next();
+			final int depth = generator.getDepth();
+			assertEquals(Math.max(Math.abs(grid.getX(index) - 2), Math.abs(grid.getY(index) - 3)), depth);
+			assertTrue(depth >= lastDepth);
+			lastDepth = depth;
+		}
+		assertEquals(grid.numTiles, generator.getNumPopped());
+
+		// limited depth
+		generator.start(startIndex, 1);
+		while (generator.hasNext()) {
+			generator.next();
+		}
+		assertEquals(9, generator.getNumPopped());
+
+		// a wall makes the right half unreachable
+		for (int y = 0; y < yMax; ++y) {
+			grid.setCost(xMax / 2, y, SearchGrid.IMPASSABLE);
+		}
+		generator.start(startIndex);
+		while (generator.hasNext()) {
+			assertTrue(grid.getX(generator.next()) < (xMax / 2));
+		}
+		assertEquals((xMax / 2) * yMax, generator.getNumPopped());
+		assertTrue(!generator.isVisited(grid.pack(xMax - 1, 0)));
+	}
+
+	/**
+	 * Covers:
+	 *     lookup- every partition
+	 *     eviction- least-recently used path evicted at capacity
+	 */
+	@Test
+	public void pathCacheSuffixAndEviction() {
+		final PathCache<Integer> cache = new PathCache<>(2);
+		final List<Integer> pathToFour = Arrays.asList(0, 1, 2, 3, 4);
+		final List<Integer> pathToNine = Arrays.asList(5, 9);
+		final List<Integer> pathToSeven = Arrays.asList(6, 7);
+
+		assertEquals(pathToFour, cache.getOrSearch(0, 4, () -> pathToFour));
+		assertEquals(0, cache.getNumHits());
+		assertEquals(1, cache.getNumMisses());
+		assertEquals(pathToFour, cache.get(0, 4).get());
+		assertEquals(Arrays.asList(2, 3, 4), cache.getOrSearch(2, 4, () -> Collections.emptyList()));
+		assertTrue(!cache.get(8, 4).isPresent());
+		assertEquals(2, cache.getNumHits());
+		assertEquals(2, cache.getNumMisses());
+
+		// pathToFour was used more recently than pathToNine, so pathToNine is evicted first.
+		cache.put(pathToNine);
+		cache.get(1, 4);
+		cache.put(pathToSeven);
+		assertTrue(cache.get(3, 4).isPresent());
+		assertTrue(cache.get(6, 7).isPresent());
+		assertTrue(!cache.get(5, 9).isPresent());
+	}
+
+	/**
+	 * Covers:
+	 *     grid- all clusters connected, tile change disconnects the goal
+	 *     result- no valid path, valid path no cheaper than gridAStar
+	 */
+	@Test
+	public void hierarchicalAStarWaypointsAndRefinement() {
+		final int size = 32;
+		final SearchGrid grid = makeEuclidianGrid(size, size);
+		// wall with a single gap forces a long detour
+		for (int y = 0; y < (size - 1); ++y) {
+			grid.setCost(size / 2, y, SearchGrid.IMPASSABLE);
+		}
+		final int startIndex = grid.pack(0, 0);
+		final int goalIndex = grid.pack(size - 1, 0);
+		final HierarchicalAStar hierarchicalAStar = new HierarchicalAStar(grid, 8);
+		final int[] waypoints = hierarchicalAStar.search(startIndex, goalIndex);
+		assertEquals(startIndex, waypoints[0]);
+		assertEquals(goalIndex, waypoints[waypoints.length - 1]);
+		assertEquals(0, hierarchicalAStar.getNumDirtyClusters());
+
+		final GridAStar gridAStar = new GridAStar(grid);
+		gridAStar.search(startIndex, goalIndex);
+		assertTrue(hierarchicalAStar.getPathCost() >= gridAStar.getPathCost(goalIndex));
+		assertTrue(hierarchicalAStar.getPathCost() <= (1.25 * gridAStar.getPathCost(goalIndex)));
+
+		// the refined leg leaves the start tile's (8x8) cluster
+		final int[] leg = hierarchicalAStar.refineNext(gridAStar, waypoints);
+		assertEquals(startIndex, leg[0]);
+		final int legEnd = leg[leg.length - 1];
+		assertTrue((grid.getX(legEnd) >= 8) || (grid.getY(legEnd) >= 8));
+
+		// close the gap
+		final int gapIndex = grid.pack(size / 2, size - 1);
+		grid.setCost(gapIndex, SearchGrid.IMPASSABLE);
+		hierarchicalAStar.markTileChanged(gapIndex);
+		assertTrue(hierarchicalAStar.getNumDirtyClusters() > 0);
+		assertEquals(0, hierarchicalAStar.search(startIndex, goalIndex).length);
+	}
+
+	/**
+	 * Covers:
+	 *     pathOut- initially empty, reused from a previous search
+	 *     result- no valid path, identical to aStar
+	 */
+	@Test
+	public void aStarPrimitiveMatchesAStar() {
+		final int xMax = 10;
+		final int yMax = 10;
+		final IntVec2D startCoord = new IntVec2D(0, 0);
+		final IntVec2D goalCoord = new IntVec2D(xMax - 1, 3);
+		final Function<IntVec2D, Set<IntVec2D>> expand =
+				makeExpandFunc(0, xMax, 0, yMax, (coord, expandedCoord) -> (expandedCoord.x != 4) || (expandedCoord.y == 9));
+		final List<IntVec2D> expected = AStar.aStarSearch(startCoord, makeEndgamePred(goalCoord), expand,
+				SearchTest::cost, makeHeuristicFunc(goalCoord));
+
+		final List<IntVec2D> pathOut = new ArrayList<>();
+		assertTrue(AStar.aStarSearch(startCoord, makeEndgamePred(goalCoord), expand,
+				SearchTest::cost, coord -> cost(coord, goalCoord), pathOut));
+		assertEquals(expected, pathOut);
+
+		// unreachable goal; pathOut is emptied
+		final IntVec2D unreachableCoord = new IntVec2D(xMax, yMax);
+		assertTrue(!AStar.aStarSearch(startCoord, makeEndgamePred(unreachableCoord), expand,
+				SearchTest::cost, coord -> cost(coord, unreachableCoord), pathOut));
+		assertEquals(0, pathOut.size());
+	}
+
+	/**
+	 * Covers:
+	 *     grid- varied (passability) costs with impassable tiles
+	 *     result- no valid path, same (quantized) cost as gridAStar
+	 */
+	@Test
+	public void gridDialSearchMatchesGridAStarCost() {
+		final int xMax = 16;
+		final int yMax = 16;
+		final SearchGrid grid = new SearchGrid(xMax, yMax, 1.0, SearchGrid.BATTLECODE_DIAGONAL_WEIGHT);
+		// costs of (1 / passability) on [1, 10], in tenths
+		for (int i = 0; i < grid.numTiles; ++i) {
+			grid.setCost(i, 1.0 + (((i * 37) % 91) / 10.0));
+		}
+		for (int y = 2; y < yMax; ++y) {
+			grid.setCost(8, y, SearchGrid.IMPASSABLE);
+		}
+		final int startIndex = grid.pack(0, yMax - 1);
+		final int goalIndex = grid.pack(xMax - 1, yMax - 1);
+		final GridAStar gridAStar = new GridAStar(grid);
+		gridAStar.search(startIndex, goalIndex);
+		final GridDialSearch gridDialSearch = new GridDialSearch(grid, 10, 10.0);
+		final int[] result = gridDialSearch.search(startIndex, goalIndex);
+		assertEquals(startIndex, result[0]);
+		assertEquals(goalIndex, result[result.length - 1]);
+		assertTrue(packedPathIsConnected(grid, result));
+		assertEquals(Math.round(gridAStar.getPathCost(goalIndex) * 10), gridDialSearch.getPathCost(goalIndex));
+
+		// close the gap
+		grid.setCost(8, 0, SearchGrid.IMPASSABLE);
+		grid.setCost(8, 1, SearchGrid.IMPASSABLE);
+		assertEquals(0, gridDialSearch.search(startIndex, goalIndex).length);
+	}
+
+	/**
+	 * Covers:
+	 *     building- all at once, step() across several calls
+	 *     lookup- every partition
+	 *     goals- one goal
+	 */
+	@Test
+	public void flowFieldMatchesGridAStarCost() {
+		final int xMax = 20;
+		final int yMax = 20;
+		final SearchGrid grid = makeEuclidianGrid(xMax, yMax);
+		// wall with a single gap forces a long detour; the bottom-right corner is walled off.
+		for (int y = 0; y < (yMax - 1); ++y) {
+			grid.setCost(10, y, SearchGrid.IMPASSABLE);
+		}
+		grid.setCost(xMax - 2, 0, SearchGrid.IMPASSABLE);
+		grid.setCost(xMax - 2, 1, SearchGrid.IMPASSABLE);
+		grid.setCost(xMax - 1, 1, SearchGrid.IMPASSABLE);
+		final int goalIndex = grid.pack(0, 0);
+		final int unreachableIndex = grid.pack(xMax - 1, 0);
+
+		final FlowField flowField = new FlowField(grid);
+		flowField.start(goalIndex);
+		int numSteps = 0;
+		while (flowField.step(10) == SearchStatus.IN_PROGRESS) {
+			numSteps++;
+		}
+		assertTrue(numSteps > 1);
+		assertEquals(FlowField.NO_NEIGHBOR, flowField.getNextNeighborNum(goalIndex));
+		assertEquals(FlowField.NO_NEIGHBOR, flowField.getNextNeighborNum(unreachableIndex));
+		assertTrue(!flowField.isFinished(unreachableIndex));
+
+		// follow the field from the far side of the wall
+		final int startIndex = grid.pack(xMax - 1, 2);
+		final GridAStar gridAStar = new GridAStar(grid);
+		gridAStar.search(startIndex, goalIndex);
+		assertEquals(gridAStar.getPathCost(goalIndex), flowField.getCostToGoal(startIndex), 1e-9);
+		double cost = 0;
+		int index = startIndex;
+		for (int neighborNum = flowField.getNextNeighborNum(index); neighborNum != FlowField.NO_NEIGHBOR;
+				neighborNum = flowField.getNextNeighborNum(index)) {
+			index = grid.pack(grid.getX(index) + SearchGrid.NEIGHBOR_DX[neighborNum], grid.getY(index) + SearchGrid.NEIGHBOR_DY[neighborNum]);
+			cost += grid.stepCost(neighborNum, index);
+		}
+		assertEquals(goalIndex, index);
+		assertEquals(gridAStar.getPathCost(goalIndex), cost, 1e-9);
+	}
+
+	/**
+	 * Covers:
+	 *     building- all at once
+	 *     lookup- from a goal, from a finished tile
+	 *     goals- several goals (incl. a duplicate)
+	 */
+	@Test
+	public void flowFieldLabelsNearestOfSeveralGoals() {
+		final int xMax = 16;
+		final int yMax = 16;
+		final SearchGrid grid = makeEuclidianGrid(xMax, yMax);
+		// costly band through the middle, so nearest-by-cost differs from nearest-by-distance
+		for (int y = 0; y < yMax; ++y) {
+			grid.setCost(6, y, 10);
+		}
+		final int[] goalIndices = {grid.pack(0, 0), grid.pack(12, 3), grid.pack(7, 15), grid.pack(0, 0)};
+
+		final FlowField flowField = new FlowField(grid);
+		flowField.start(goalIndices);
+		assertEquals(SearchStatus.FOUND, flowField.step(grid.numTiles + 1));
+		assertEquals(grid.numTiles, flowField.getNumExpanded());
+		assertEquals(0, flowField.getNearestGoal(goalIndices[0]));
+		assertEquals(FlowField.NO_NEIGHBOR, flowField.getNextNeighborNum(goalIndices[1]));
+
+		// the labeled goal must be the cheapest of the per-goal searches, at the same cost
+		final GridAStar gridAStar = new GridAStar(grid);
+		for (int index = 0; index < grid.numTiles; ++index) {
+			double leastCost = Double.POSITIVE_INFINITY;
+			for (final int goalIndex : goalIndices) {
+				gridAStar.search(index, goalIndex);
+				leastCost = Math.min(leastCost, gridAStar.getPathCost(goalIndex));
+			}
+			assertEquals(leastCost, flowField.getCostToGoal(index), 1e-9);
+			final int nearestGoalIndex = goalIndices[flowField.getNearestGoal(index)];
+			gridAStar.search(index, nearestGoalIndex);
+			assertEquals(leastCost, gridAStar.getPathCost(nearestGoalIndex), 1e-9);
+		}
+	}
+
 }
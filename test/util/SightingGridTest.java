@@ -0,0 +1,65 @@
+package util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import battlecode.common.MapLocation;
+import player.util.battlecode.SightingGrid;
+import player.util.battlecode.UtilBattlecode;
+
+public class SightingGridTest {
+
+	/**
+	 * ~~~ Test Partitions ~~~
+	 * testAndSetReported
+	 *     - tile not yet reported this round, already reported
+	 *     - reported during an earlier round
+	 *     - tiles differ by MAX_WORLD_WIDTH (same grid cell), by less
+	 * clearReported
+	 *     - reported, not
+	 * last-updated round
+	 *     - never updated, updated
+	 */
+
+	/**
+	 * Covers all testAndSetReported and clearReported partitions.
+	 */
+	@Test
+	public void reportedTest() {
+		final SightingGrid grid = new SightingGrid();
+		final MapLocation mapLoc = new MapLocation(10063, 20000);
+		final MapLocation adjacentMapLoc = mapLoc.translate(1, 0);  // wraps to column 0
+		assertFalse(grid.testAndSetReported(mapLoc, 7));
+		assertTrue(grid.testAndSetReported(mapLoc, 7));
+		assertFalse(grid.testAndSetReported(adjacentMapLoc, 7));
+		// a whole world away; the same cell
+		assertTrue(grid.testAndSetReported(mapLoc.translate(UtilBattlecode.MAX_WORLD_WIDTH, -UtilBattlecode.MAX_WORLD_WIDTH), 7));
+		assertEquals(2, grid.getNumDuplicates());
+
+		grid.clearReported(mapLoc, 7);
+		grid.clearReported(mapLoc.translate(0, 1), 7);
+		assertFalse(grid.testAndSetReported(mapLoc, 7));
+		assertTrue(grid.testAndSetReported(adjacentMapLoc, 7));
+
+		// a new round
+		assertFalse(grid.testAndSetReported(mapLoc, 8));
+		assertFalse(grid.testAndSetReported(adjacentMapLoc, 8));
+		assertEquals(3, grid.getNumDuplicates());
+	}
+
+	/**
+	 * Covers last-updated round partitions.
+	 */
+	@Test
+	public void lastUpdatedRoundTest() {
+		final SightingGrid grid = new SightingGrid();
+		final MapLocation mapLoc = new MapLocation(30000, 10001);
+		assertEquals(SightingGrid.NEVER, grid.getLastUpdatedRound(mapLoc));
+		grid.setLastUpdatedRound(mapLoc, 42);
+		assertEquals(42, grid.getLastUpdatedRound(mapLoc));
+		assertEquals(SightingGrid.NEVER, grid.getLastUpdatedRound(mapLoc.translate(0, 1)));
+	}
+}